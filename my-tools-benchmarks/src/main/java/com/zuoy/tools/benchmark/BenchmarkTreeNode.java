@@ -0,0 +1,133 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.tree.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 性能测试使用的树节点
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class BenchmarkTreeNode implements TreeNode<BenchmarkTreeNode> {
+
+    public static final Comparator<BenchmarkTreeNode> SORT_COMPARATOR = Comparator.comparingInt(BenchmarkTreeNode::getSort);
+
+    private final String id;
+
+    private final String parentId;
+
+    private final String path;
+
+    private final int sort;
+
+    private List<BenchmarkTreeNode> children;
+
+    private Integer level;
+
+    private Boolean isLeaf;
+
+    public BenchmarkTreeNode(String id, String parentId, String path, int sort) {
+        this.id = id;
+        this.parentId = parentId;
+        this.path = path;
+        this.sort = sort;
+    }
+
+    /**
+     * 生成树形数据
+     *
+     * @param shape 树的形状：chain 单链，star 一个根节点下挂载所有节点，balanced 四叉树
+     * @param size  节点数量
+     * @return 无结构集合，父节点总是在孩子节点之前
+     */
+    public static List<BenchmarkTreeNode> create(String shape, int size) {
+        List<BenchmarkTreeNode> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BenchmarkTreeNode parent = null;
+            if (i > 0) {
+                switch (shape) {
+                    case "chain":
+                        parent = nodes.get(i - 1);
+                        break;
+                    case "star":
+                        parent = nodes.get(0);
+                        break;
+                    default:
+                        parent = nodes.get((i - 1) / 4);
+                }
+            }
+            String id = String.valueOf(i);
+            // 单链的全路径过长，只保留父节点
+            String path = parent == null ? id : "chain".equals(shape) ? parent.id + "/" + id : parent.path + "/" + id;
+            nodes.add(new BenchmarkTreeNode(id, parent == null ? null : parent.id, path, (int) ((i * 2654435761L) % 1000)));
+        }
+        return nodes;
+    }
+
+    /**
+     * 清空孩子节点，恢复为无结构数据
+     */
+    public static void reset(List<BenchmarkTreeNode> nodes) {
+        for (BenchmarkTreeNode node : nodes) {
+            node.children = null;
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getParentId() {
+        return parentId;
+    }
+
+    @Override
+    public void setChildren(List<BenchmarkTreeNode> children) {
+        this.children = children;
+    }
+
+    @Override
+    public List<BenchmarkTreeNode> getChildren() {
+        return children;
+    }
+
+    @Override
+    public void setLevel(Integer level) {
+        this.level = level;
+    }
+
+    @Override
+    public Integer getLevel() {
+        return level;
+    }
+
+    @Override
+    public void setIsLeaf(Boolean isLeaf) {
+        this.isLeaf = isLeaf;
+    }
+
+    @Override
+    public Boolean getIsLeaf() {
+        return isLeaf;
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String getSplit() {
+        return "/";
+    }
+
+    public int getSort() {
+        return sort;
+    }
+}
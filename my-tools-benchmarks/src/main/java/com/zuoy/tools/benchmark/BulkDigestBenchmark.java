@@ -0,0 +1,70 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.Md5Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Md5Utils}批量摘要与逐个调用encode的性能对比，数据为随机的短字符串
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkDigestBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private String[] keys;
+
+    @Setup
+    public void createKeys() {
+        Random random = new Random(size);
+        keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "user:" + random.nextInt(Integer.MAX_VALUE) + ":session";
+        }
+    }
+
+    @Benchmark
+    public String[] encodeLoop() {
+        String[] result = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = Md5Utils.encode(keys[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String[] encodeAll() {
+        return Md5Utils.encodeAll(keys);
+    }
+
+    @Benchmark
+    public byte[] digestAll() {
+        return Md5Utils.digestAll(keys);
+    }
+
+    @Benchmark
+    public long[] digestAllToLongs() {
+        return Md5Utils.digestAllToLongs(keys);
+    }
+}
@@ -0,0 +1,88 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.BusinessCalendar;
+import com.zuoy.tools.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BusinessCalendar}加减工作日与逐天调用addDay的性能对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessCalendarBenchmark {
+
+    @Param({"5", "60"})
+    private int days;
+
+    private BusinessCalendar calendar;
+
+    private Date date;
+
+    private LocalDate localDate;
+
+    @Setup
+    public void createCalendar() {
+        List<LocalDate> holidays = new ArrayList<>();
+        for (int year = 2015; year <= 2025; year++) {
+            for (int day = 0; day < 7; day++) {
+                holidays.add(LocalDate.of(year, 10, 1).plusDays(day));
+                holidays.add(LocalDate.of(year, 5, 1).plusDays(day % 3));
+            }
+        }
+        calendar = DateUtils.businessCalendar(holidays, Collections.emptyList());
+        localDate = LocalDate.of(2019, 9, 20);
+        date = DateUtils.dateFrom(localDate);
+    }
+
+    @Benchmark
+    public LocalDate addBusinessDays() {
+        return calendar.addBusinessDays(localDate, days);
+    }
+
+    @Benchmark
+    public Date addBusinessDaysToDate() {
+        return calendar.addBusinessDays(date, days);
+    }
+
+    @Benchmark
+    public Date addDayLoop() {
+        Date current = date;
+        int left = days;
+        while (left > 0) {
+            current = DateUtils.addDay(current, 1);
+            if (calendar.isBusinessDay(current)) {
+                left--;
+            }
+        }
+        return current;
+    }
+
+    @Benchmark
+    public long businessDaysBetween() {
+        return calendar.businessDaysBetween(localDate, localDate.plusDays(days));
+    }
+}
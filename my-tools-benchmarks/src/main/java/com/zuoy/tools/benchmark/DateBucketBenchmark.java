@@ -0,0 +1,77 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.DateUtils;
+import com.zuoy.tools.enums.DateGranularityEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateUtils#bucketIndexes(long[], long, long, DateGranularityEnum)}与逐个调用getMonthFirstDay分组的性能对比，
+ * 数据为一年内随机排序的时间
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateBucketBenchmark {
+
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+
+    private static final long START = 1546272000000L;
+
+    @Param({"100000"})
+    private int size;
+
+    private long[] millis;
+
+    private long[] monthStarts;
+
+    @Setup
+    public void createColumn() {
+        Random random = new Random(size);
+        millis = new long[size];
+        for (int i = 0; i < size; i++) {
+            millis[i] = START + (long) (random.nextDouble() * YEAR_MILLIS);
+        }
+        monthStarts = DateUtils.range(START, START + YEAR_MILLIS, DateGranularityEnum.MONTH).toArray();
+    }
+
+    @Benchmark
+    public int[] bucketIndexes() {
+        return DateUtils.bucketIndexes(millis, START, START + YEAR_MILLIS, DateGranularityEnum.MONTH);
+    }
+
+    @Benchmark
+    public int[] monthFirstDayLoop() {
+        int[] result = new int[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            long monthStart = DateUtils.getDate(DateUtils.getMonthFirstDay(new Date(millis[i]))).getTime();
+            result[i] = Arrays.binarySearch(monthStarts, monthStart);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] dayRange() {
+        return DateUtils.range(START, START + YEAR_MILLIS, DateGranularityEnum.DAY).toArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateUtils}日期截断与加减的性能测试
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateCalendarBenchmark {
+
+    private Date date;
+
+    private Date endDate;
+
+    @Setup
+    public void createDate() {
+        date = new Date(1571365845123L);
+        endDate = new Date(1602988245123L);
+    }
+
+    @Benchmark
+    public Date getDate() {
+        return DateUtils.getDate(date);
+    }
+
+    @Benchmark
+    public Date addDay() {
+        return DateUtils.addDay(date, 40);
+    }
+
+    @Benchmark
+    public Date addMonth() {
+        return DateUtils.addMonth(date, 5);
+    }
+
+    @Benchmark
+    public Date getMonthFirstDay() {
+        return DateUtils.getMonthFirstDay(date);
+    }
+
+    @Benchmark
+    public Date getSeasonLastDay() {
+        return DateUtils.getSeasonLastDay(date);
+    }
+
+    @Benchmark
+    public Date getYearFirstDay() {
+        return DateUtils.getYearFirstDay(date);
+    }
+
+    @Benchmark
+    public long getBetweenDay() {
+        return DateUtils.getBetweenDay(date, endDate);
+    }
+}
@@ -0,0 +1,45 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.DateUtils;
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程获取当前时间字符串的性能测试，与每次格式化对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class DateClockBenchmark {
+
+    @Benchmark
+    public String nowDateTimeFormat() {
+        return DateUtils.nowDateTimeFormat();
+    }
+
+    @Benchmark
+    public String nowDateFormat() {
+        return DateUtils.nowDateFormat();
+    }
+
+    @Benchmark
+    public String formatEachTime() {
+        return DateUtils.formatDate(DateTime.now().toDate(), DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+    }
+}
@@ -0,0 +1,94 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.DateUtils;
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateUtils}批量转换与逐个调用单值方法的性能对比，数据为一年内随机排序的时间
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateColumnBenchmark {
+
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private long[] millis;
+
+    private String[] texts;
+
+    @Setup
+    public void createColumn() {
+        Random random = new Random(size);
+        millis = new long[size];
+        for (int i = 0; i < size; i++) {
+            millis[i] = 1546272000000L + (long) (random.nextDouble() * YEAR_MILLIS);
+        }
+        texts = DateUtils.formatDates(millis, DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+    }
+
+    @Benchmark
+    public String[] formatDates() {
+        return DateUtils.formatDates(millis, DatePatternEnum.YYYY_MM_DD_HH_MM_SS, parallel);
+    }
+
+    @Benchmark
+    public String[] formatDateLoop() {
+        String[] result = new String[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            result[i] = DateUtils.formatDate(new Date(millis[i]), DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] parseDates() {
+        return DateUtils.parseDates(texts, DatePatternEnum.YYYY_MM_DD_HH_MM_SS, parallel);
+    }
+
+    @Benchmark
+    public long[] truncateToDay() {
+        return DateUtils.truncateToDay(millis, parallel);
+    }
+
+    @Benchmark
+    public long[] getDateLoop() {
+        long[] result = new long[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            result[i] = DateUtils.getDate(new Date(millis[i])).getTime();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] monthFirstDay() {
+        return DateUtils.monthFirstDay(millis, parallel);
+    }
+}
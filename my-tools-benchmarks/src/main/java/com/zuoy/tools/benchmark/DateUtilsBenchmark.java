@@ -0,0 +1,62 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.DateUtils;
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateUtils}格式化与解析的性能测试，覆盖所有{@link DatePatternEnum}
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    @Param({"YYYY_MM", "YYYYMM", "YYYY_MM_ZH",
+            "YYYY_MM_DD", "YYYYMMDD", "YYYY_MM_DD_ZH",
+            "HH_MM_SS", "HHMMSS", "HH_MM_SS_ZH",
+            "YYYY_MM_DD_HH_MM_SS", "YYYYMMDDHHMMSS", "YYYY_MM_DD_HH_MM_SS_ZH",
+            "YYYY_MM_DD_HH_MM_SS_SSS", "YYYYMMDDHHMMSSS",
+            "YYYY_MM_DD_HH_MM_ZH",
+            "YYMMDD"})
+    private DatePatternEnum pattern;
+
+    private Date date;
+
+    private String text;
+
+    @Setup
+    public void createDate() {
+        date = new Date(1571365845123L);
+        text = DateUtils.formatDate(date, pattern);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateUtils.formatDate(date, pattern);
+    }
+
+    @Benchmark
+    public Date parseDate() {
+        return DateUtils.parseDate(text, pattern);
+    }
+}
@@ -0,0 +1,110 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.IrreversibleCypherUtil;
+import com.zuoy.tools.Md5Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.Base64Utils;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Md5Utils}与{@link IrreversibleCypherUtil}的性能测试
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DigestBenchmark {
+
+    @Param({"16", "256"})
+    private int length;
+
+    private String text;
+
+    private byte[] bytes;
+
+    private final char[] hex = new char[Md5Utils.HEX_LENGTH];
+
+    @Setup
+    public void createText() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        text = builder.toString();
+        bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String md5Encode() {
+        return Md5Utils.encode(text);
+    }
+
+    /**
+     * 每次创建MessageDigest的写法，作为对比
+     */
+    @Benchmark
+    public String md5EncodeGetInstance() throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[Md5Utils.HEX_LENGTH];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = Character.forDigit(digest[i] >>> 4 & 0xf, 16);
+            chars[i * 2 + 1] = Character.forDigit(digest[i] & 0xf, 16);
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public String md5EncodeBytes() {
+        return Md5Utils.encode(bytes);
+    }
+
+    @Benchmark
+    public char[] md5EncodeToHex() {
+        Md5Utils.encode(text, hex, 0);
+        return hex;
+    }
+
+    @Benchmark
+    public String irreversibleEncodeToString() {
+        return IrreversibleCypherUtil.encodeToString(text);
+    }
+
+    /**
+     * 逐轮使用String、DigestUtils和Base64Utils的写法，作为对比
+     */
+    @Benchmark
+    public String irreversibleEncodeToStringLegacy() {
+        String hash = String.valueOf(text.hashCode());
+        String tempHash = hash.length() == 1 ? hash.substring(1) : hash.substring(0, 2);
+        int count = Math.abs(Integer.parseInt(tempHash) / 2) + 1;
+        String result = text;
+        for (int i = 0; i <= count; i++) {
+            if ((i & 1) == 1) {
+                result = new String(Base64Utils.encode(result.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+            } else {
+                result = DigestUtils.md5DigestAsHex(result.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.Md5Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Md5Utils}文件摘要的性能测试，临时文件在页缓存中，对比输入流、通道、内存映射和分段并行的树形摘要
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileDigestBenchmark {
+
+    private static final long SEGMENT_SIZE = 16L * 1024 * 1024;
+
+    @Param({"134217728"})
+    private int fileSize;
+
+    private Path file;
+
+    @Setup
+    public void createFile() throws IOException {
+        file = Files.createTempFile("md5-benchmark", ".bin");
+        byte[] block = new byte[1024 * 1024];
+        new Random(fileSize).nextBytes(block);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (long written = 0; written < fileSize; written += block.length) {
+                channel.write(ByteBuffer.wrap(block, 0, (int) Math.min(block.length, fileSize - written)));
+            }
+        }
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public byte[] inputStream() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Md5Utils.digest(in);
+        }
+    }
+
+    @Benchmark
+    public byte[] channel() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return Md5Utils.digest((ReadableByteChannel) channel);
+        }
+    }
+
+    @Benchmark
+    public byte[] mapped() throws IOException {
+        return Md5Utils.digest(file);
+    }
+
+    @Benchmark
+    public byte[] tree() throws IOException {
+        return Md5Utils.digestTree(file, SEGMENT_SIZE);
+    }
+}
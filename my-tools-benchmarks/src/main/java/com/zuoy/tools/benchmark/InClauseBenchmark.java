@@ -0,0 +1,60 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.InClause;
+import com.zuoy.tools.SqlUtil;
+import com.zuoy.tools.enums.InStrategyEnum;
+import com.zuoy.tools.enums.SqlDialectEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个值一个绑定参数的in条件构造方式的性能测试，最大的size为{@link SqlDialectEnum#GENERIC}的绑定参数上限；
+ * 不受上限限制的直接拼接和{@link InStrategyEnum#ARRAY}见{@link SqlUtilBenchmark}
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InClauseBenchmark {
+
+    @Param({"10", "1000", "65535"})
+    private int size;
+
+    private List<Long> values;
+
+    @Setup
+    public void createValues() {
+        values = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            values.add(1_000_000_000L + i * 7);
+        }
+    }
+
+    @Benchmark
+    public InClause getInClauseBind() {
+        return SqlUtil.getInClause(values, "t.id", InStrategyEnum.BIND);
+    }
+
+    @Benchmark
+    public InClause getInClauseValues() {
+        return SqlUtil.getInClause(values, "t.id", InStrategyEnum.VALUES);
+    }
+}
@@ -0,0 +1,78 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.DateUtils;
+import com.zuoy.tools.LocalDateUtils;
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocalDateUtils}与{@link DateUtils}经过Date转换的性能对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDateBenchmark {
+
+    private LocalDateTime dateTime;
+
+    private int epochDay;
+
+    private String text;
+
+    @Setup
+    public void createDate() {
+        dateTime = LocalDateTime.of(2019, 10, 18, 10, 30, 45, 123_000_000);
+        epochDay = (int) dateTime.toLocalDate().toEpochDay();
+        text = "2019-10-18 10:30:45";
+    }
+
+    @Benchmark
+    public String formatLocalDateTime() {
+        return LocalDateUtils.formatDate(dateTime, DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+    }
+
+    @Benchmark
+    public String formatThroughDate() {
+        return DateUtils.formatDate(DateUtils.dateFrom(dateTime), DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+    }
+
+    @Benchmark
+    public LocalDateTime parseLocalDateTime() {
+        return LocalDateUtils.parseLocalDateTime(text, DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+    }
+
+    @Benchmark
+    public LocalDateTime parseThroughDate() {
+        return DateUtils.dateToLocalDateTime(DateUtils.parseDate(text, DatePatternEnum.YYYY_MM_DD_HH_MM_SS));
+    }
+
+    @Benchmark
+    public int seasonLastDayEpochDay() {
+        return LocalDateUtils.getSeasonLastDay(epochDay);
+    }
+
+    @Benchmark
+    public LocalDate seasonLastDayThroughDate() {
+        return DateUtils.dateToLocalDate(DateUtils.getSeasonLastDay(DateUtils.dateFrom(dateTime.toLocalDate())));
+    }
+}
@@ -0,0 +1,104 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.IrreversibleCypherUtil;
+import com.zuoy.tools.PasswordUtils;
+import com.zuoy.tools.password.DelegatingPasswordHasher;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码散列的迭代次数调优，按targetMillis用{@link PasswordUtils#calibratePbkdf2Iterations(long)}测算迭代次数，
+ * 再以SampleTime模式测量登录校验的耗时分布，对比p99与目标耗时后确定线上配置；
+ * 并发登录的p99用 -t 指定线程数测量。legacyMatches为旧{@link IrreversibleCypherUtil}散列的校验耗时。
+ * 测算的迭代次数作为辅助结果iterations随各个benchmark一起输出
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "P@ssw0rd-2026";
+
+    @Param({"50", "100", "250"})
+    private long targetMillis;
+
+    private int iterations;
+
+    private DelegatingPasswordHasher hasher;
+
+    private String pbkdf2Hash;
+
+    private String legacyHash;
+
+    @Setup
+    public void calibrate() {
+        iterations = PasswordUtils.calibratePbkdf2Iterations(targetMillis);
+        hasher = PasswordUtils.pbkdf2WithLegacy(iterations);
+        pbkdf2Hash = hasher.hash(PASSWORD);
+        legacyHash = IrreversibleCypherUtil.encodeToString(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean pbkdf2Matches(Calibration calibration) {
+        return hasher.matches(PASSWORD, pbkdf2Hash);
+    }
+
+    @Benchmark
+    public String pbkdf2Hash(Calibration calibration) {
+        return hasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean legacyMatches(Calibration calibration) {
+        return hasher.matches(PASSWORD, legacyHash);
+    }
+
+    /**
+     * 测算的PBKDF2迭代次数，JMH把各线程、各次测量迭代的EVENTS累加，所以只由第一个线程在第一次测量迭代上报
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calibration {
+
+        private long iterations;
+
+        private boolean reported;
+
+        @Setup(Level.Iteration)
+        public void report(PasswordHashBenchmark benchmark, ThreadParams threadParams, IterationParams iterationParams) {
+            boolean report = !reported && threadParams.getThreadIndex() == 0
+                    && iterationParams.getType() == IterationType.MEASUREMENT;
+            iterations = report ? benchmark.iterations : 0;
+            reported |= report;
+        }
+
+        /**
+         * JMH在每次迭代开始时清零public字段，所以通过方法上报
+         */
+        public long iterations() {
+            return iterations;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.InClause;
+import com.zuoy.tools.SqlUtil;
+import com.zuoy.tools.enums.InStrategyEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SqlUtil}拼接in条件的性能测试，对比直接拼接值与绑定参数的各种构造方式；
+ * 受绑定参数上限限制的{@link InStrategyEnum#BIND}和{@link InStrategyEnum#VALUES}见{@link InClauseBenchmark}
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlUtilBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Long> values;
+
+    private long[] ids;
+
+    private StringBuilder statement;
+
+    /**
+     * 每个值平均重复10次，顺序随机
+     */
+    private List<Long> repeatedValues;
+
+    private long[] repeatedIds;
+
+    @Setup
+    public void createValues() {
+        values = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            values.add(1_000_000_000L + i * 7);
+        }
+        ids = values.stream().mapToLong(Long::longValue).toArray();
+        statement = new StringBuilder();
+        Random random = new Random(size);
+        repeatedValues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            repeatedValues.add(1_000_000_000L + random.nextInt(Math.max(1, size / 10)) * 7L);
+        }
+        repeatedIds = repeatedValues.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public String getInSql() {
+        return SqlUtil.getInSql(values, "t.id");
+    }
+
+    @Benchmark
+    public String getNotInSql() {
+        return SqlUtil.getNotInSql(values, "t.id");
+    }
+
+    @Benchmark
+    public String getInSqlLongArray() {
+        return SqlUtil.getInSql(ids, "t.id");
+    }
+
+    @Benchmark
+    public int appendInSql() throws IOException {
+        statement.setLength(0);
+        statement.append("delete from t where ");
+        SqlUtil.appendInSql(statement, ids, "t.id");
+        return statement.length();
+    }
+
+    @Benchmark
+    public String getInSqlRepeated() {
+        return SqlUtil.getInSql(repeatedValues, "t.id");
+    }
+
+    @Benchmark
+    public String getDistinctInSqlRepeated() {
+        return SqlUtil.getDistinctInSql(repeatedValues, "t.id", false);
+    }
+
+    @Benchmark
+    public String getDistinctInSqlSortedLongArray() {
+        return SqlUtil.getDistinctInSql(repeatedIds, "t.id", true);
+    }
+
+    @Benchmark
+    public InClause getInClauseArray() {
+        return SqlUtil.getInClause(values, "t.id", InStrategyEnum.ARRAY);
+    }
+}
@@ -0,0 +1,94 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.TreeNodeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TreeNodeUtils}构建与展开的性能测试
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeNodeUtilsBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private List<BenchmarkTreeNode> nodes;
+
+    @Setup(Level.Trial)
+    public void createNodes() {
+        nodes = BenchmarkTreeNode.create("balanced", size);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetNodes() {
+        BenchmarkTreeNode.reset(nodes);
+    }
+
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToTree() {
+        return TreeNodeUtils.transformToTree(nodes);
+    }
+
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToTreeWithComparator() {
+        return TreeNodeUtils.transformToTree(nodes, BenchmarkTreeNode.SORT_COMPARATOR);
+    }
+
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToTreeParallelWithComparator() {
+        return TreeNodeUtils.transformToTreeParallel(nodes, BenchmarkTreeNode.SORT_COMPARATOR);
+    }
+
+    /**
+     * transformToList会清空孩子节点，每次调用前重新构建树，构建耗时不计入结果
+     */
+    @State(Scope.Thread)
+    public static class TreeState {
+
+        @Param({"10000", "1000000"})
+        private int size;
+
+        private List<BenchmarkTreeNode> nodes;
+
+        private List<BenchmarkTreeNode> tree;
+
+        @Setup(Level.Trial)
+        public void createNodes() {
+            nodes = BenchmarkTreeNode.create("balanced", size);
+        }
+
+        @Setup(Level.Invocation)
+        public void buildTree() {
+            BenchmarkTreeNode.reset(nodes);
+            tree = new ArrayList<>(TreeNodeUtils.transformToTree(nodes));
+        }
+    }
+
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToList(TreeState state) {
+        return TreeNodeUtils.transformToList(state.tree);
+    }
+}
@@ -0,0 +1,133 @@
+package com.zuoy.tools.benchmark;
+
+import com.zuoy.tools.TreeNodeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同形状的树的遍历性能测试：单链（深度等于节点数）、星形（一层）、四叉树 <br>
+ * *Recursive为改为循环之前的递归写法，作为对比；单链的递归深度等于节点数，默认的线程栈会栈溢出，
+ * 因此测试进程使用较大的线程栈
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+public class TreeShapeBenchmark {
+
+    @Param({"chain", "star", "balanced"})
+    private String shape;
+
+    @Param({"100000"})
+    private int size;
+
+    private List<BenchmarkTreeNode> nodes;
+
+    private List<BenchmarkTreeNode> tree;
+
+    @Setup(Level.Trial)
+    public void createNodes() {
+        nodes = BenchmarkTreeNode.create(shape, size);
+    }
+
+    @Setup(Level.Invocation)
+    public void buildTree() {
+        BenchmarkTreeNode.reset(nodes);
+        tree = new ArrayList<>(TreeNodeUtils.transformToTree(nodes));
+    }
+
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToList() {
+        return TreeNodeUtils.transformToList(tree);
+    }
+
+    /**
+     * 改为循环之前的递归写法，作为对比
+     */
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToListRecursive() {
+        List<BenchmarkTreeNode> list = new ArrayList<>();
+        for (BenchmarkTreeNode treeNode : tree) {
+            treeNode.setLevel(0);
+            treeNode.setIsLeaf(CollectionUtils.isEmpty(treeNode.getChildren()));
+            list.add(treeNode);
+            List<BenchmarkTreeNode> children = treeNode.getChildren();
+            if (!CollectionUtils.isEmpty(children)) {
+                transformToListRecursive(list, children, treeNode);
+                treeNode.setChildren(null);
+            }
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long transformToStream() {
+        return TreeNodeUtils.transformToStream(tree, true).count();
+    }
+
+    /**
+     * 包含构建和循环排序
+     */
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToTreeWithComparator() {
+        BenchmarkTreeNode.reset(nodes);
+        return TreeNodeUtils.transformToTree(nodes, BenchmarkTreeNode.SORT_COMPARATOR);
+    }
+
+    /**
+     * 构建后使用改为循环之前的递归排序，作为对比
+     */
+    @Benchmark
+    public List<BenchmarkTreeNode> transformToTreeWithComparatorRecursive() {
+        BenchmarkTreeNode.reset(nodes);
+        List<BenchmarkTreeNode> roots = TreeNodeUtils.transformToTree(nodes);
+        roots.sort(BenchmarkTreeNode.SORT_COMPARATOR);
+        loopSortRecursive(roots, BenchmarkTreeNode.SORT_COMPARATOR);
+        return roots;
+    }
+
+    private static void transformToListRecursive(List<BenchmarkTreeNode> list, List<BenchmarkTreeNode> treeList, BenchmarkTreeNode parentTreeNode) {
+        for (BenchmarkTreeNode treeNode : treeList) {
+            treeNode.setLevel(parentTreeNode.getLevel() + 1);
+            treeNode.setIsLeaf(CollectionUtils.isEmpty(treeNode.getChildren()));
+            list.add(treeNode);
+            List<BenchmarkTreeNode> children = treeNode.getChildren();
+            if (!CollectionUtils.isEmpty(children)) {
+                transformToListRecursive(list, children, treeNode);
+                treeNode.setChildren(null);
+            }
+        }
+    }
+
+    private static void loopSortRecursive(List<BenchmarkTreeNode> childNodes, Comparator<? super BenchmarkTreeNode> comparator) {
+        for (BenchmarkTreeNode treeNode : childNodes) {
+            List<BenchmarkTreeNode> children = treeNode.getChildren();
+            if (children == null || children.size() <= 1) {
+                continue;
+            }
+            children.sort(comparator);
+            loopSortRecursive(children, comparator);
+        }
+    }
+}
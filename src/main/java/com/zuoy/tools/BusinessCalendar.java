@@ -0,0 +1,352 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.springframework.util.Assert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 工作日历 <br>
+ * 周一至周五为工作日，周六周日为休息日，节假日为休息日，调休的补班日为工作日。<br>
+ * 节假日和补班日所在的年份按天保存一个位图，并按每64天记录之前的工作日数，任意一天之前的工作日数只需要一次数组访问和一次bitCount，
+ * 这些年份之外只有周末休息，直接按星期计算；相隔工作日数为O(1)，加减工作日为O(log n)。<br>
+ * 日期参数为{@link LocalDate}、1970-01-01为第0天的int天数或者{@link Date}，Date按Joda的默认时区取日期，与{@link DateUtils}一致。<br>
+ * 通过{@link DateUtils#businessCalendar(Collection, Collection)}或{@link DateUtils#loadBusinessCalendar(Reader)}创建，创建后不可变，线程安全
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class BusinessCalendar {
+
+    /**
+     * 节假日
+     */
+    static final String HOLIDAY = "holiday";
+
+    /**
+     * 补班日
+     */
+    static final String WORKDAY = "workday";
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private static final int WORKDAYS_PER_WEEK = 5;
+
+    /**
+     * 1969-12-29，星期一
+     */
+    private static final long MONDAY_EPOCH_DAY = -3;
+
+    /**
+     * 位图覆盖范围的第一天
+     */
+    private final long start;
+
+    /**
+     * 位图覆盖范围的结束日（不包含）
+     */
+    private final long end;
+
+    /**
+     * 第i位为1表示start + i是工作日
+     */
+    private final long[] bits;
+
+    /**
+     * counts[w]为start至start + 64w（不包含）的工作日数
+     */
+    private final int[] counts;
+
+    /**
+     * start之前按星期计算的工作日数
+     */
+    private final long startCount;
+
+    /**
+     * 覆盖范围内工作日数与按星期计算的差值，用于结束日之后的计算
+     */
+    private final long endAdjust;
+
+    BusinessCalendar(Collection<LocalDate> holidays, Collection<LocalDate> workdays) {
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (LocalDate date : holidays) {
+            minYear = Math.min(minYear, date.getYear());
+            maxYear = Math.max(maxYear, date.getYear());
+        }
+        for (LocalDate date : workdays) {
+            minYear = Math.min(minYear, date.getYear());
+            maxYear = Math.max(maxYear, date.getYear());
+        }
+        if (minYear > maxYear) {
+            start = 0;
+            end = 0;
+            bits = new long[0];
+            counts = new int[]{0};
+            startCount = 0;
+            endAdjust = 0;
+            return;
+        }
+        start = CalendarMath.toEpochDay(minYear, 1, 1);
+        end = CalendarMath.toEpochDay(maxYear + 1, 1, 1);
+        int length = Math.toIntExact(end - start);
+        bits = new long[(length + 63) >>> 6];
+        for (int i = 0; i < length; i++) {
+            if (isWeekday(start + i)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        for (LocalDate date : holidays) {
+            int i = (int) (date.toEpochDay() - start);
+            bits[i >>> 6] &= ~(1L << i);
+        }
+        Set<LocalDate> holidaySet = new HashSet<>(holidays);
+        for (LocalDate date : workdays) {
+            Assert.isTrue(!holidaySet.contains(date), "BusinessCalendar date [" + date + "] is both holiday and workday");
+            int i = (int) (date.toEpochDay() - start);
+            bits[i >>> 6] |= 1L << i;
+        }
+        counts = new int[bits.length + 1];
+        for (int w = 0; w < bits.length; w++) {
+            counts[w + 1] = counts[w] + Long.bitCount(bits[w]);
+        }
+        startCount = weekdaysBefore(start);
+        endAdjust = startCount + counts[bits.length] - weekdaysBefore(end);
+    }
+
+    /**
+     * 读取CSV格式的工作日历 <br>
+     * 每行为“日期,类型”，日期为yyyy-MM-dd或yyyyMMdd，类型为{@value #HOLIDAY}（节假日）或{@value #WORKDAY}（补班日），
+     * 不区分大小写；空行、#开头的行以及第一列为date的表头忽略
+     *
+     * @param reader CSV内容
+     * @return 工作日历
+     * @throws IOException 读取失败
+     */
+    static BusinessCalendar load(Reader reader) throws IOException {
+        List<LocalDate> holidays = new ArrayList<>();
+        List<LocalDate> workdays = new ArrayList<>();
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            int comma = line.indexOf(',');
+            Assert.isTrue(comma > 0, "BusinessCalendar line " + lineNumber + " [" + line + "] is not date,type");
+            String date = line.substring(0, comma).trim();
+            String type = line.substring(comma + 1).trim();
+            if ("date".equalsIgnoreCase(date)) {
+                continue;
+            }
+            long local = FixedDateParser.parseLocal(date, 0, date.length(), DatePatternEnum.YYYY_MM_DD);
+            if (local == FixedDateParser.INVALID) {
+                local = FixedDateParser.parseLocal(date, 0, date.length(), DatePatternEnum.YYYYMMDD);
+            }
+            Assert.isTrue(local != FixedDateParser.INVALID, "BusinessCalendar line " + lineNumber + " date [" + date + "] is invalid");
+            LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY));
+            if (HOLIDAY.equalsIgnoreCase(type)) {
+                holidays.add(day);
+            } else if (WORKDAY.equalsIgnoreCase(type)) {
+                workdays.add(day);
+            } else {
+                throw new IllegalArgumentException("BusinessCalendar line " + lineNumber + " type [" + type + "] is invalid");
+            }
+        }
+        return new BusinessCalendar(holidays, workdays);
+    }
+
+    /**
+     * @param date 日期
+     * @return 是否工作日
+     */
+    public boolean isBusinessDay(LocalDate date) {
+        return isBusinessDay(date.toEpochDay());
+    }
+
+    /**
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 是否工作日
+     */
+    public boolean isBusinessDay(int epochDay) {
+        return isBusinessDay((long) epochDay);
+    }
+
+    /**
+     * @param date 日期
+     * @return 所在的一天是否工作日
+     */
+    public boolean isBusinessDay(Date date) {
+        return isBusinessDay(epochDayOf(date));
+    }
+
+    /**
+     * 在传入日期基础上加一定工作日，传入日期不是工作日时从该日开始数
+     *
+     * @param date 日期
+     * @param days 增加的工作日数，正数为之后第days个工作日，负数为之前第-days个工作日，0返回原日期
+     * @return 增加工作日后的日期
+     */
+    public LocalDate addBusinessDays(LocalDate date, int days) {
+        return days == 0 ? date : LocalDate.ofEpochDay(addBusinessDays(date.toEpochDay(), days));
+    }
+
+    /**
+     * 在传入日期基础上加一定工作日，传入日期不是工作日时从该日开始数
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @param days     增加的工作日数，正数为之后第days个工作日，负数为之前第-days个工作日，0返回原日期
+     * @return 增加工作日后的天数
+     */
+    public int addBusinessDays(int epochDay, int days) {
+        return Math.toIntExact(addBusinessDays((long) epochDay, days));
+    }
+
+    /**
+     * 在传入时间基础上加一定工作日，保留时分秒，与{@link DateUtils#addDay(Date, int)}一致
+     *
+     * @param date 日期
+     * @param days 增加的工作日数，正数为之后第days个工作日，负数为之前第-days个工作日，0返回原日期
+     * @return 增加工作日后的日期
+     */
+    public Date addBusinessDays(Date date, int days) {
+        long epochDay = epochDayOf(date);
+        return DateUtils.addDay(date, Math.toIntExact(addBusinessDays(epochDay, days) - epochDay));
+    }
+
+    /**
+     * 计算两个日期之间的工作日数，不包含开始日期，包含结束日期，结束日期早于开始日期时为负数
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @return 工作日数
+     */
+    public long businessDaysBetween(LocalDate startDate, LocalDate endDate) {
+        return businessDaysBetween(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * 计算两个日期之间的工作日数，不包含开始日期，包含结束日期，结束日期早于开始日期时为负数
+     *
+     * @param startEpochDay 开始日期的天数
+     * @param endEpochDay   结束日期的天数
+     * @return 工作日数
+     */
+    public long businessDaysBetween(int startEpochDay, int endEpochDay) {
+        return businessDaysBetween((long) startEpochDay, endEpochDay);
+    }
+
+    /**
+     * 计算两个时间所在日期之间的工作日数，不包含开始日期，包含结束日期，结束日期早于开始日期时为负数
+     *
+     * @param startDate 开始时间
+     * @param endDate   结束时间
+     * @return 工作日数
+     */
+    public long businessDaysBetween(Date startDate, Date endDate) {
+        return businessDaysBetween(epochDayOf(startDate), epochDayOf(endDate));
+    }
+
+    private boolean isBusinessDay(long epochDay) {
+        if (epochDay < start || epochDay >= end) {
+            return isWeekday(epochDay);
+        }
+        int i = (int) (epochDay - start);
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private long businessDaysBetween(long startEpochDay, long endEpochDay) {
+        return countBefore(endEpochDay + 1) - countBefore(startEpochDay + 1);
+    }
+
+    /**
+     * 找到最早的一天x，使x（包含）之前的工作日数达到目标，该天一定是工作日；
+     * 先按days的倍数扩大范围再二分查找
+     */
+    private long addBusinessDays(long epochDay, int days) {
+        if (days == 0) {
+            return epochDay;
+        }
+        long target;
+        long low;
+        long high;
+        long step = Math.abs((long) days);
+        if (days > 0) {
+            target = countBefore(epochDay + 1) + days;
+            low = epochDay;
+            high = epochDay + step;
+            while (countBefore(high + 1) < target) {
+                low = high;
+                high += step;
+                step <<= 1;
+            }
+        } else {
+            target = countBefore(epochDay) + days + 1;
+            high = epochDay - 1;
+            low = high - step;
+            while (countBefore(low + 1) >= target) {
+                high = low;
+                low -= step;
+                step <<= 1;
+            }
+        }
+        //countBefore(low + 1) < target <= countBefore(high + 1)
+        while (high - low > 1) {
+            long middle = low + (high - low) / 2;
+            if (countBefore(middle + 1) < target) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return 该天（不包含）之前的工作日数，以{@link #MONDAY_EPOCH_DAY}为起点，只用于计算差值
+     */
+    private long countBefore(long epochDay) {
+        if (epochDay <= start) {
+            return weekdaysBefore(epochDay);
+        }
+        if (epochDay >= end) {
+            return weekdaysBefore(epochDay) + endAdjust;
+        }
+        int i = (int) (epochDay - start);
+        return startCount + counts[i >>> 6] + Long.bitCount(bits[i >>> 6] & ((1L << i) - 1));
+    }
+
+    /**
+     * @return 该天（不包含）之前周一至周五的天数，以{@link #MONDAY_EPOCH_DAY}为起点
+     */
+    private static long weekdaysBefore(long epochDay) {
+        long days = epochDay - MONDAY_EPOCH_DAY;
+        return WORKDAYS_PER_WEEK * Math.floorDiv(days, DAYS_PER_WEEK) + Math.min(Math.floorMod(days, DAYS_PER_WEEK), WORKDAYS_PER_WEEK);
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        return Math.floorMod(epochDay - MONDAY_EPOCH_DAY, DAYS_PER_WEEK) < WORKDAYS_PER_WEEK;
+    }
+
+    /**
+     * @return 按Joda的默认时区取所在日期的天数，date为null时取当前时间
+     */
+    private static long epochDayOf(Date date) {
+        long millis = date == null ? DateTimeUtils.currentTimeMillis() : date.getTime();
+        return Math.floorDiv(millis + DateTimeZone.getDefault().getOffset(millis), CalendarMath.MILLIS_PER_DAY);
+    }
+}
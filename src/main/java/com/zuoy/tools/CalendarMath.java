@@ -0,0 +1,152 @@
+package com.zuoy.tools;
+
+/**
+ * 公历日期计算 <br>
+ * 以1970-01-01为第0天的天数与年月日之间的换算，使用纯整数运算，不创建日期对象，
+ * 与Joda的ISOChronology、java.time一致，均为预期格里高利历
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class CalendarMath {
+
+    /**
+     * 一天的毫秒数
+     */
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private CalendarMath() {
+    }
+
+    /**
+     * 天数转换为年月日
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return yyyyMMdd形式的整数，例如20191018
+     */
+    static int toYyyymmdd(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * 天数转换为月数
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 1970年1月为第0个月的月数
+     */
+    static long toEpochMonth(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year - 1970) * 12 + month - 1;
+    }
+
+    /**
+     * 年月日转换为天数
+     *
+     * @param year  年
+     * @param month 月，1-12
+     * @param day   日，1-31
+     * @return 1970-01-01为第0天的天数
+     */
+    static long toEpochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * @param year 年
+     * @return 是否闰年
+     */
+    static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * @param year  年
+     * @param month 月，1-12
+     * @return 该月的天数
+     */
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 本地时间的年月日
+     *
+     * @param local 本地时间，即加上时区偏移量后的毫秒数
+     * @return yyyyMMdd形式的年月日
+     */
+    static int localDate(long local) {
+        return toYyyymmdd(Math.floorDiv(local, MILLIS_PER_DAY));
+    }
+
+    /**
+     * 修改本地时间的年月日，保留时分秒
+     *
+     * @param local 本地时间
+     * @param year  年
+     * @param month 月，1-12
+     * @param day   日，不能超过该月的天数
+     * @return 本地时间
+     */
+    static long withDate(long local, int year, int month, int day) {
+        return toEpochDay(year, month, day) * MILLIS_PER_DAY + Math.floorMod(local, MILLIS_PER_DAY);
+    }
+
+    /**
+     * 本地时间增加天数，与Joda的plusDays一致
+     */
+    static long plusDays(long local, int days) {
+        return local + days * MILLIS_PER_DAY;
+    }
+
+    /**
+     * 本地时间增加月数，日超过目标月份的天数时取最后一天，与Joda的plusMonths一致
+     */
+    static long plusMonths(long local, int months) {
+        int date = localDate(local);
+        long total = (long) (date / 10000) * 12 + date / 100 % 100 - 1 + months;
+        int year = (int) Math.floorDiv(total, 12);
+        int month = (int) Math.floorMod(total, 12) + 1;
+        return withDate(local, year, month, Math.min(date % 100, lengthOfMonth(year, month)));
+    }
+
+    /**
+     * 本地时间增加年数，闰年2月29日在非闰年取2月28日，与Joda的plusYears一致
+     */
+    static long plusYears(long local, int years) {
+        int date = localDate(local);
+        int year = date / 10000 + years;
+        int month = date / 100 % 100;
+        return withDate(local, year, month, Math.min(date % 100, lengthOfMonth(year, month)));
+    }
+}
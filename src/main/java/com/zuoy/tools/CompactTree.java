@@ -0,0 +1,334 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.tree.DiscontinuityTreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 基于下标的紧凑树形结构 <br>
+ * 节点ID只在构建时转换一次为连续的下标，父节点、第一个孩子、下一个兄弟均保存在int数组中，
+ * 只有调用{@link #toTree()}或{@link #getChildren(int)}时才会生成孩子集合。<br>
+ * 通过{@link TreeNodeUtils#transformToCompactTree(List, Comparator)}创建
+ *
+ * @param <T> 树节点类型
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class CompactTree<T extends DiscontinuityTreeNode<T>> {
+
+    /**
+     * 不存在的下标
+     */
+    public static final int NONE = -1;
+
+    private final List<T> nodes;
+
+    private final TreeIdIndex index;
+
+    private final int[] parent;
+
+    private final int[] firstChild;
+
+    private final int[] lastChild;
+
+    /**
+     * 兄弟节点链表，顶级节点之间也通过该数组连接
+     */
+    private final int[] nextSibling;
+
+    private int firstRoot = NONE;
+
+    private int lastRoot = NONE;
+
+    /**
+     * 排序时复用的缓冲区
+     */
+    private int[] sortBuffer;
+
+    private int[] sortTemp;
+
+    CompactTree(List<T> nodes, TreeIdIndex index) {
+        int size = nodes.size();
+        this.nodes = nodes;
+        this.index = index;
+        this.parent = new int[size];
+        this.firstChild = new int[size];
+        this.lastChild = new int[size];
+        this.nextSibling = new int[size];
+        Arrays.fill(parent, NONE);
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(lastChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+    }
+
+    /**
+     * 将节点追加为父节点的最后一个孩子
+     */
+    void link(int parentIndex, int childIndex) {
+        parent[childIndex] = parentIndex;
+        if (firstChild[parentIndex] == NONE) {
+            firstChild[parentIndex] = childIndex;
+        } else {
+            nextSibling[lastChild[parentIndex]] = childIndex;
+        }
+        lastChild[parentIndex] = childIndex;
+    }
+
+    /**
+     * 将节点追加为最后一个顶级节点
+     */
+    void addRoot(int childIndex) {
+        if (firstRoot == NONE) {
+            firstRoot = childIndex;
+        } else {
+            nextSibling[lastRoot] = childIndex;
+        }
+        lastRoot = childIndex;
+    }
+
+    /**
+     * 排序，排序范围与{@link TreeNodeUtils#transformToTree(List, Comparator)}一致：
+     * 顶级节点全部排序，之后只对孩子数量大于1的节点继续向下排序
+     *
+     * @param comparator 排序器
+     */
+    void sort(Comparator<? super T> comparator) {
+        int[] stack = new int[16];
+        int top = 0;
+        firstRoot = sortChain(firstRoot, comparator);
+        lastRoot = lastOfChain(firstRoot);
+        for (int i = firstRoot; i != NONE; i = nextSibling[i]) {
+            stack = push(stack, top++, i);
+        }
+        while (top > 0) {
+            int current = stack[--top];
+            int first = firstChild[current];
+            if (first == NONE || nextSibling[first] == NONE) {
+                continue;
+            }
+            first = sortChain(first, comparator);
+            firstChild[current] = first;
+            lastChild[current] = lastOfChain(first);
+            for (int i = first; i != NONE; i = nextSibling[i]) {
+                stack = push(stack, top++, i);
+            }
+        }
+        sortBuffer = null;
+        sortTemp = null;
+    }
+
+    /**
+     * 对兄弟链表进行稳定排序
+     *
+     * @return 排序后的第一个节点
+     */
+    private int sortChain(int first, Comparator<? super T> comparator) {
+        int count = 0;
+        for (int i = first; i != NONE; i = nextSibling[i]) {
+            count++;
+        }
+        if (count <= 1) {
+            return first;
+        }
+        if (sortBuffer == null || sortBuffer.length < count) {
+            sortBuffer = new int[count];
+            sortTemp = new int[count];
+        }
+        int[] buffer = sortBuffer;
+        count = 0;
+        for (int i = first; i != NONE; i = nextSibling[i]) {
+            buffer[count++] = i;
+        }
+        mergeSort(buffer, sortTemp, 0, count, comparator);
+        for (int i = 0; i < count - 1; i++) {
+            nextSibling[buffer[i]] = buffer[i + 1];
+        }
+        nextSibling[buffer[count - 1]] = NONE;
+        return buffer[0];
+    }
+
+    private void mergeSort(int[] a, int[] temp, int from, int to, Comparator<? super T> comparator) {
+        if (to - from <= 16) {
+            //数量较少时使用插入排序
+            for (int i = from + 1; i < to; i++) {
+                int value = a[i];
+                T node = nodes.get(value);
+                int j = i - 1;
+                while (j >= from && comparator.compare(nodes.get(a[j]), node) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, temp, from, mid, comparator);
+        mergeSort(a, temp, mid, to, comparator);
+        if (comparator.compare(nodes.get(a[mid - 1]), nodes.get(a[mid])) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, temp, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && comparator.compare(nodes.get(temp[left]), nodes.get(temp[right])) <= 0)) {
+                a[k] = temp[left++];
+            } else {
+                a[k] = temp[right++];
+            }
+        }
+    }
+
+    private int lastOfChain(int first) {
+        int last = first;
+        while (last != NONE && nextSibling[last] != NONE) {
+            last = nextSibling[last];
+        }
+        return last;
+    }
+
+    private static int[] push(int[] stack, int top, int value) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top << 1);
+        }
+        stack[top] = value;
+        return stack;
+    }
+
+    /**
+     * @return 节点数量
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @param index 下标
+     * @return 节点
+     */
+    public T getNode(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * @param id 主键ID
+     * @return 下标，不存在返回{@link #NONE}
+     */
+    public int indexOf(String id) {
+        return index.get(id);
+    }
+
+    /**
+     * @param index 下标
+     * @return 父节点下标，顶级节点返回{@link #NONE}
+     */
+    public int getParent(int index) {
+        return parent[index];
+    }
+
+    /**
+     * @param index 下标
+     * @return 第一个孩子的下标，没有孩子返回{@link #NONE}
+     */
+    public int getFirstChild(int index) {
+        return firstChild[index];
+    }
+
+    /**
+     * @param index 下标
+     * @return 下一个兄弟节点的下标，没有返回{@link #NONE}
+     */
+    public int getNextSibling(int index) {
+        return nextSibling[index];
+    }
+
+    /**
+     * @return 第一个顶级节点的下标，没有返回{@link #NONE}
+     */
+    public int getFirstRoot() {
+        return firstRoot;
+    }
+
+    /**
+     * @param index 下标
+     * @return 孩子数量
+     */
+    public int getChildCount(int index) {
+        int count = 0;
+        for (int i = firstChild[index]; i != NONE; i = nextSibling[i]) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @param index 下标
+     * @return 是否叶子节点
+     */
+    public boolean isLeaf(int index) {
+        return firstChild[index] == NONE;
+    }
+
+    /**
+     * @param index 下标
+     * @return 层级，顶级节点为0
+     */
+    public int getLevel(int index) {
+        int level = 0;
+        for (int i = parent[index]; i != NONE; i = parent[i]) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * 获取顶级节点，不会设置孩子节点
+     *
+     * @return 顶级节点集合
+     */
+    public List<T> getRoots() {
+        return collect(firstRoot);
+    }
+
+    /**
+     * 获取孩子节点，不会设置孩子节点
+     *
+     * @param index 下标
+     * @return 孩子节点集合
+     */
+    public List<T> getChildren(int index) {
+        return collect(firstChild[index]);
+    }
+
+    private List<T> collect(int first) {
+        if (first == NONE) {
+            return Collections.emptyList();
+        }
+        List<T> list = new ArrayList<>();
+        for (int i = first; i != NONE; i = nextSibling[i]) {
+            list.add(nodes.get(i));
+        }
+        return list;
+    }
+
+    /**
+     * 设置所有节点的孩子节点，转换为与{@link TreeNodeUtils#transformToTree(List, Comparator)}相同的树形结构 <br>
+     * 有孩子的节点总是设置为新的孩子集合，不追加到节点原有的集合中，多次调用的结果相同；没有孩子的节点不做修改
+     *
+     * @return 树形数据结构集合
+     */
+    public List<T> toTree() {
+        for (int i = 0; i < parent.length; i++) {
+            if (firstChild[i] != NONE) {
+                nodes.get(i).setChildren(getChildren(i));
+            }
+        }
+        List<T> roots = getRoots();
+        return roots.isEmpty() ? new ArrayList<>() : roots;
+    }
+}
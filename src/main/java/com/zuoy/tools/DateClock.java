@@ -0,0 +1,127 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 当前时间的格式化缓存 <br>
+ * 每个{@link DatePatternEnum}缓存一个格式化结果和它的有效时间段，有效时间段按格式中最小的字段确定：
+ * 包含秒的格式为当前这一秒，只有年月日的格式为当天，依此类推，并且不会跨过时区切换。<br>
+ * 有效时间段内读取缓存不加锁、不创建对象，只有三次volatile读：{@link DateTimeUtils#currentTimeMillis()}的时间源、缓存项、
+ * {@link DateTimeZone#getDefault()}，默认时区修改后立即生效；过期后由读取的线程重新格式化并写回，多个线程同时刷新时结果相同，不需要加锁。
+ * 当前时间取{@link DateTimeUtils#currentTimeMillis()}，与DateTime.now()一致
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class DateClock {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    /**
+     * 各日期格式最小字段的毫秒数，只有日期的格式为{@link CalendarMath#MILLIS_PER_DAY}
+     */
+    private static final long[] UNITS = new long[DatePatternEnum.values().length];
+
+    private static final AtomicReferenceArray<Entry> ENTRIES = new AtomicReferenceArray<>(UNITS.length);
+
+    static {
+        for (DatePatternEnum pattern : DatePatternEnum.values()) {
+            UNITS[pattern.ordinal()] = unit(pattern.getPattern());
+        }
+    }
+
+    private DateClock() {
+    }
+
+    /**
+     * 格式化当前时间
+     *
+     * @param pattern 日期格式
+     * @return 当前时间的日期字符串
+     */
+    public static String format(DatePatternEnum pattern) {
+        Assert.notNull(pattern, "DateClock pattern param is null");
+        long now = DateTimeUtils.currentTimeMillis();
+        Entry entry = ENTRIES.get(pattern.ordinal());
+        if (entry != null && now >= entry.from && now < entry.to && entry.zone == DateTimeZone.getDefault()) {
+            return entry.text;
+        }
+        entry = refresh(pattern, now);
+        ENTRIES.set(pattern.ordinal(), entry);
+        return entry.text;
+    }
+
+    private static Entry refresh(DatePatternEnum pattern, long now) {
+        DateTimeZone zone = DateTimeZone.getDefault();
+        String text = FixedDateFormatter.format(now, pattern);
+        long unit = UNITS[pattern.ordinal()];
+        if (unit == CalendarMath.MILLIS_PER_DAY) {
+            FixedDateFormatter.DaySlice day = FixedDateFormatter.DaySlice.of(zone, now);
+            return new Entry(zone, day.start, day.end, text);
+        }
+        if (unit == 1) {
+            return new Entry(zone, now, now + 1, text);
+        }
+        int offset = zone.getOffset(now);
+        long from = Math.floorDiv(now + offset, unit) * unit - offset;
+        long to = from + unit;
+        //时间段内有时区切换时只缓存当前毫秒
+        if (zone.getOffset(from) != offset || (!zone.isFixed() && zone.nextTransition(from) < to)) {
+            return new Entry(zone, now, now + 1, text);
+        }
+        return new Entry(zone, from, to, text);
+    }
+
+    /**
+     * @return 日期格式中最小字段的毫秒数
+     */
+    private static long unit(String pattern) {
+        if (pattern.indexOf('S') >= 0) {
+            return 1;
+        }
+        if (pattern.indexOf('s') >= 0) {
+            return MILLIS_PER_SECOND;
+        }
+        if (pattern.indexOf('m') >= 0) {
+            return MILLIS_PER_MINUTE;
+        }
+        if (pattern.indexOf('H') >= 0) {
+            return MILLIS_PER_HOUR;
+        }
+        return CalendarMath.MILLIS_PER_DAY;
+    }
+
+    /**
+     * 格式化结果和有效时间段
+     */
+    private static final class Entry {
+
+        private final DateTimeZone zone;
+
+        /**
+         * 开始时间（包含）
+         */
+        private final long from;
+
+        /**
+         * 结束时间（不包含）
+         */
+        private final long to;
+
+        private final String text;
+
+        private Entry(DateTimeZone zone, long from, long to, String text) {
+            this.zone = zone;
+            this.from = from;
+            this.to = to;
+            this.text = text;
+        }
+    }
+}
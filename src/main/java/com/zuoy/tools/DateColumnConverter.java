@@ -0,0 +1,280 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DateGranularityEnum;
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTimeZone;
+
+import java.util.Date;
+import java.util.stream.IntStream;
+
+/**
+ * 日期列批量转换 <br>
+ * 按毫秒数数组逐个转换，连续落在同一天的值复用同一次时区偏移量查找；
+ * 每一段由一个线程处理并持有自己的{@link DayCursor}，并行时不读写共享的缓存。<br>
+ * 时区切换所在的一天交给{@link DateUtils}中对应的单个值方法处理，结果与其一致
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class DateColumnConverter {
+
+    /**
+     * 并行转换的数组长度阈值
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * 并行转换时每一段的长度
+     */
+    private static final int CHUNK_SIZE = 1 << 11;
+
+    /**
+     * 按天预先计算时间段下标的最大天数
+     */
+    private static final int MAX_DAY_INDEXES = 1 << 20;
+
+    static final int DAY = 0;
+    static final int MONTH = 1;
+    static final int SEASON = 2;
+    static final int YEAR = 3;
+
+    private DateColumnConverter() {
+    }
+
+    static String[] formatDates(long[] millis, DatePatternEnum pattern, boolean parallel) {
+        String[] result = new String[millis.length];
+        run(millis.length, parallel, (from, to) -> {
+            DayCursor cursor = new DayCursor();
+            for (int i = from; i < to; i++) {
+                result[i] = FixedDateFormatter.format(millis[i], cursor.slice(millis[i]), pattern);
+            }
+        });
+        return result;
+    }
+
+    static long[] parseDates(CharSequence[] texts, DatePatternEnum pattern, boolean parallel) {
+        long[] result = new long[texts.length];
+        run(texts.length, parallel, (from, to) -> {
+            DayCursor cursor = new DayCursor();
+            for (int i = from; i < to; i++) {
+                CharSequence text = texts[i];
+                long local = text == null ? FixedDateParser.INVALID : FixedDateParser.parseLocal(text, 0, text.length(), pattern);
+                long value = cursor.toMillis(local);
+                if (value == FixedDateParser.INVALID) {
+                    value = DateUtils.parseDate(text == null ? null : text.toString(), pattern).getTime();
+                }
+                result[i] = value;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 截断到所在的一天、月、季度或年的第一天
+     *
+     * @param unit {@link #DAY}时截断到0点，其他单位与{@link DateUtils#getMonthFirstDay(Date)}等方法一致，保留时分秒
+     */
+    static long[] truncate(long[] millis, int unit, boolean parallel) {
+        long[] result = new long[millis.length];
+        run(millis.length, parallel, (from, to) -> {
+            DayCursor cursor = new DayCursor();
+            for (int i = from; i < to; i++) {
+                long value = cursor.truncate(millis[i], unit);
+                result[i] = value == FixedDateParser.INVALID ? truncate(new Date(millis[i]), unit) : value;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 时间所在时间段相对于第一个时间段的下标，参考{@link DatePeriods} <br>
+     * 粒度不小于天时预先计算范围内每一天的下标，每个时间只需要一次偏移量查找、一次除法和一次数组访问
+     *
+     * @param first 第一个时间段的编号
+     * @param count 时间段的数量，超出范围的下标为-1
+     */
+    static int[] bucketIndexes(long[] millis, long first, long count, DateGranularityEnum granularity, boolean parallel) {
+        int[] result = new int[millis.length];
+        DateTimeZone zone = DateTimeZone.getDefault();
+        ZoneOffsetTable table = ZoneOffsetTable.joda(zone);
+        int[] dayIndexes = count > 0 && granularity.compareTo(DateGranularityEnum.DAY) >= 0 ? dayIndexes(first, count, granularity) : null;
+        long firstDay = dayIndexes == null ? 0 : Math.floorDiv(DatePeriods.startLocal(first, granularity), CalendarMath.MILLIS_PER_DAY);
+        run(millis.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long local = DatePeriods.toLocal(zone, table, millis[i]);
+                if (dayIndexes != null) {
+                    long day = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY) - firstDay;
+                    result[i] = day >= 0 && day < dayIndexes.length ? dayIndexes[(int) day] : -1;
+                } else {
+                    long index = DatePeriods.period(local, granularity) - first;
+                    result[i] = index >= 0 && index < count ? (int) index : -1;
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return 从第一个时间段的第一天起每一天所在时间段的下标，天数过多时返回null
+     */
+    private static int[] dayIndexes(long first, long count, DateGranularityEnum granularity) {
+        long firstDay = Math.floorDiv(DatePeriods.startLocal(first, granularity), CalendarMath.MILLIS_PER_DAY);
+        long endDay = Math.floorDiv(DatePeriods.startLocal(first + count, granularity), CalendarMath.MILLIS_PER_DAY);
+        if (endDay - firstDay > MAX_DAY_INDEXES) {
+            return null;
+        }
+        int[] indexes = new int[(int) (endDay - firstDay)];
+        int index = 0;
+        long nextDay = Math.floorDiv(DatePeriods.startLocal(first + 1, granularity), CalendarMath.MILLIS_PER_DAY);
+        for (int day = 0; day < indexes.length; day++) {
+            if (firstDay + day == nextDay) {
+                index++;
+                nextDay = Math.floorDiv(DatePeriods.startLocal(first + index + 1, granularity), CalendarMath.MILLIS_PER_DAY);
+            }
+            indexes[day] = index;
+        }
+        return indexes;
+    }
+
+    private static long truncate(Date date, int unit) {
+        switch (unit) {
+            case DAY:
+                return DateUtils.getDate(date).getTime();
+            case MONTH:
+                return DateUtils.getMonthFirstDay(date).getTime();
+            case SEASON:
+                return DateUtils.getSeasonFirstDay(date).getTime();
+            default:
+                return DateUtils.getYearFirstDay(date).getTime();
+        }
+    }
+
+    private static void run(int length, boolean parallel, ChunkTask task) {
+        if (!parallel || length < PARALLEL_THRESHOLD) {
+            task.convert(0, length);
+            return;
+        }
+        int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel()
+                .forEach(chunk -> task.convert(chunk * CHUNK_SIZE, Math.min(length, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    /**
+     * 转换数组的一段
+     */
+    private interface ChunkTask {
+
+        /**
+         * @param from 开始下标（包含）
+         * @param to   结束下标（不包含）
+         */
+        void convert(int from, int to);
+    }
+
+    /**
+     * 线程私有的当天缓存，分别缓存最近一次转换的来源日期和目标日期
+     */
+    private static final class DayCursor {
+
+        private final DateTimeZone zone = DateTimeZone.getDefault();
+
+        private ZoneOffsetTable calendarTable;
+
+        /**
+         * 最近一次按JDK时区截断得到的一天的开始时间，该天内的时间截断结果都相同
+         */
+        private long calendarDayStart = FixedDateParser.INVALID;
+
+        private FixedDateFormatter.DaySlice source;
+
+        private FixedDateFormatter.DaySlice target;
+
+        FixedDateFormatter.DaySlice slice(long millis) {
+            if (source == null || !source.contains(zone, millis)) {
+                source = FixedDateFormatter.DaySlice.of(zone, millis);
+            }
+            return source;
+        }
+
+        /**
+         * @return 毫秒数，本地时间不存在或解析失败时返回{@link FixedDateParser#INVALID}
+         */
+        long toMillis(long local) {
+            if (local == FixedDateParser.INVALID) {
+                return FixedDateParser.INVALID;
+            }
+            FixedDateFormatter.DaySlice day = toWholeDay(local, false);
+            return day == null ? FixedDateParser.toMillis(zone, local) : local - day.offset;
+        }
+
+        /**
+         * @return 截断后的毫秒数，来源或目标是时区切换所在的一天时返回{@link FixedDateParser#INVALID}
+         */
+        long truncate(long millis, int unit) {
+            if (unit == DAY) {
+                //getDate使用JDK的时区数据，与Joda的版本可能不同
+                if (calendarTable == null) {
+                    calendarTable = ZoneOffsetTable.calendar();
+                }
+                if (calendarDayStart == FixedDateParser.INVALID
+                        || millis < calendarDayStart || millis - calendarDayStart >= CalendarMath.MILLIS_PER_DAY) {
+                    long start = calendarTable.startOfDay(millis);
+                    if (start == FixedDateParser.INVALID) {
+                        return FixedDateParser.INVALID;
+                    }
+                    calendarDayStart = start;
+                }
+                return calendarDayStart;
+            }
+            FixedDateFormatter.DaySlice day = slice(millis);
+            if (!day.isWholeDay() || day.date < 0) {
+                return FixedDateParser.INVALID;
+            }
+            int year = day.date / 10000;
+            int month = day.date / 100 % 100;
+            long millisOfDay = millis - day.start;
+            if (unit == SEASON) {
+                int seasonMonth = (month - 1) / 3 * 3 + 1;
+                //getSeasonFirstDay先修改月份，中间日期处于时区切换时Joda会调整时间，交给原方法处理
+                if (seasonMonth != month) {
+                    int dayOfMonth = Math.min(day.date % 100, CalendarMath.lengthOfMonth(year, seasonMonth));
+                    long middleDay = CalendarMath.toEpochDay(year, seasonMonth, dayOfMonth);
+                    if (toWholeDay(middleDay * CalendarMath.MILLIS_PER_DAY + millisOfDay, true) == null) {
+                        return FixedDateParser.INVALID;
+                    }
+                }
+                month = seasonMonth;
+            } else if (unit == YEAR) {
+                month = 1;
+            }
+            long local = CalendarMath.toEpochDay(year, month, 1) * CalendarMath.MILLIS_PER_DAY + millisOfDay;
+            FixedDateFormatter.DaySlice targetDay = toWholeDay(local, true);
+            return targetDay == null ? FixedDateParser.INVALID : local - targetDay.offset;
+        }
+
+        /**
+         * 解析时与Joda一致，夏令时重叠取较早的时间，只需要当天是完整的一天；
+         * 修改日期时Joda按原时间的偏移量选择，需要当天的每个本地时间只对应一个毫秒数
+         *
+         * @param local       本地时间
+         * @param unambiguous 是否要求当天的本地时间只对应一个毫秒数
+         * @return 本地时间所在的一天，不满足条件时返回null
+         */
+        private FixedDateFormatter.DaySlice toWholeDay(long local, boolean unambiguous) {
+            long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+            if (target != null && target.epochDay == epochDay) {
+                return unambiguous && !target.unambiguous ? null : target;
+            }
+            long millis = FixedDateParser.toMillis(zone, local);
+            if (millis == FixedDateParser.INVALID) {
+                return null;
+            }
+            FixedDateFormatter.DaySlice day = FixedDateFormatter.DaySlice.of(zone, millis);
+            if (!day.isWholeDay()) {
+                return null;
+            }
+            target = day;
+            return unambiguous && !day.unambiguous ? null : day;
+        }
+    }
+}
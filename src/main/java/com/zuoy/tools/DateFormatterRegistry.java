@@ -0,0 +1,73 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 日期格式化器缓存 <br>
+ * {@link DatePatternEnum}的格式化器在类加载时创建一次，其他字符串格式使用有界的LRU缓存。
+ * 格式化器不绑定时区，使用时取Joda的默认时区，与new DateTime(date)的行为一致，线程安全
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class DateFormatterRegistry {
+
+    /**
+     * 字符串格式缓存的最大数量
+     */
+    private static final int MAX_PATTERN_CACHE_SIZE = 256;
+
+    private static final Map<DatePatternEnum, DateTimeFormatter> ENUM_FORMATTERS = new EnumMap<>(DatePatternEnum.class);
+
+    private static final Map<String, DateTimeFormatter> PATTERN_FORMATTERS = Collections.synchronizedMap(
+            new LinkedHashMap<String, DateTimeFormatter>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DateTimeFormatter> eldest) {
+                    return size() > MAX_PATTERN_CACHE_SIZE;
+                }
+            });
+
+    static {
+        for (DatePatternEnum pattern : DatePatternEnum.values()) {
+            ENUM_FORMATTERS.put(pattern, DateTimeFormat.forPattern(pattern.getPattern()));
+        }
+    }
+
+    private DateFormatterRegistry() {
+    }
+
+    /**
+     * 获取日期格式对应的格式化器
+     *
+     * @param pattern 日期格式
+     * @return 格式化器
+     */
+    public static DateTimeFormatter get(DatePatternEnum pattern) {
+        Assert.notNull(pattern, "DateFormatterRegistry pattern param is null");
+        return ENUM_FORMATTERS.get(pattern);
+    }
+
+    /**
+     * 获取日期格式对应的格式化器
+     *
+     * @param pattern 日期格式字符串
+     * @return 格式化器
+     */
+    public static DateTimeFormatter get(String pattern) {
+        Assert.hasText(pattern, "DateFormatterRegistry pattern param is null");
+        DateTimeFormatter formatter = PATTERN_FORMATTERS.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormat.forPattern(pattern);
+            PATTERN_FORMATTERS.put(pattern, formatter);
+        }
+        return formatter;
+    }
+}
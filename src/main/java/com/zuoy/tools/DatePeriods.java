@@ -0,0 +1,105 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DateGranularityEnum;
+import org.joda.time.DateTimeZone;
+
+/**
+ * 按粒度划分的本地时间段 <br>
+ * 每个时间段按本地时间编号：秒、分、时、天为本地时间整除该长度，月、季度、年为1970年1月起的月数、季度数、年数，
+ * 同一时间段内的时间格式化后的字段相同。<br>
+ * 时间段的开始时间按Joda的默认时区转换为毫秒数，夏令时重叠取较早的时间，即重复的一段本地时间归入同一个时间段；
+ * 开始时间不存在时取时区切换的时间，该时间段为空
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class DatePeriods {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private static final int MONTHS_PER_QUARTER = 3;
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private DatePeriods() {
+    }
+
+    /**
+     * @param local       本地时间
+     * @param granularity 粒度
+     * @return 本地时间所在时间段的编号
+     */
+    static long period(long local, DateGranularityEnum granularity) {
+        switch (granularity) {
+            case SECOND:
+                return Math.floorDiv(local, MILLIS_PER_SECOND);
+            case MINUTE:
+                return Math.floorDiv(local, MILLIS_PER_MINUTE);
+            case HOUR:
+                return Math.floorDiv(local, MILLIS_PER_HOUR);
+            case DAY:
+                return Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+            case MONTH:
+                return CalendarMath.toEpochMonth(Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY));
+            case QUARTER:
+                return Math.floorDiv(CalendarMath.toEpochMonth(Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY)), MONTHS_PER_QUARTER);
+            default:
+                return Math.floorDiv(CalendarMath.toEpochMonth(Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY)), MONTHS_PER_YEAR);
+        }
+    }
+
+    /**
+     * @param period      时间段的编号
+     * @param granularity 粒度
+     * @return 时间段开始的本地时间
+     */
+    static long startLocal(long period, DateGranularityEnum granularity) {
+        switch (granularity) {
+            case SECOND:
+                return period * MILLIS_PER_SECOND;
+            case MINUTE:
+                return period * MILLIS_PER_MINUTE;
+            case HOUR:
+                return period * MILLIS_PER_HOUR;
+            case DAY:
+                return period * CalendarMath.MILLIS_PER_DAY;
+            case MONTH:
+                return monthStartLocal(period);
+            case QUARTER:
+                return monthStartLocal(period * MONTHS_PER_QUARTER);
+            default:
+                return monthStartLocal(period * MONTHS_PER_YEAR);
+        }
+    }
+
+    private static long monthStartLocal(long epochMonth) {
+        int year = Math.toIntExact(1970 + Math.floorDiv(epochMonth, MONTHS_PER_YEAR));
+        int month = (int) Math.floorMod(epochMonth, MONTHS_PER_YEAR) + 1;
+        return CalendarMath.toEpochDay(year, month, 1) * CalendarMath.MILLIS_PER_DAY;
+    }
+
+    /**
+     * @return 毫秒数对应的本地时间
+     */
+    static long toLocal(DateTimeZone zone, ZoneOffsetTable table, long millis) {
+        return millis + (table != null && table.covers(millis) ? table.offset(millis) : zone.getOffset(millis));
+    }
+
+    /**
+     * 时间段开始的本地时间转换为毫秒数，夏令时重叠取较早的时间，不存在的本地时间取之后第一个存在的时间，即时区切换的时间
+     *
+     * @param zone  时区
+     * @param local 本地时间
+     * @return 毫秒数
+     */
+    static long toMillis(DateTimeZone zone, long local) {
+        int offset = zone.getOffsetFromLocal(local);
+        long millis = local - offset;
+        int actual = zone.getOffset(millis);
+        if (actual == offset) {
+            return millis;
+        }
+        return zone.nextTransition(local - Math.max(offset, actual));
+    }
+}
@@ -1,14 +1,26 @@
 package com.zuoy.tools;
 
+import com.zuoy.tools.enums.DateGranularityEnum;
 import com.zuoy.tools.enums.DatePatternEnum;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Days;
-import org.joda.time.format.DateTimeFormat;
+import org.springframework.util.Assert;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.*;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * 日期帮助类
@@ -70,7 +82,8 @@ public class DateUtils {
      * @return yyyy-MM-dd
      */
     public static Date nowDate() {
-        return dateFrom(LocalDate.now());
+        long millis = ZoneOffsetTable.calendar().startOfDay(System.currentTimeMillis());
+        return millis == ZoneOffsetTable.INVALID ? dateFrom(LocalDate.now()) : new Date(millis);
     }
 
     /**
@@ -79,12 +92,7 @@ public class DateUtils {
      * @return hh:mm:ss
      */
     public static Date nowTime() {
-        LocalTime localTime = LocalTime.now();
-        LocalDate localDate = LocalDate.now();
-        LocalDateTime localDateTime = LocalDateTime.of(localDate, localTime);
-        ZoneId zone = ZoneId.systemDefault();
-        Instant instant = localDateTime.atZone(zone).toInstant();
-        return Date.from(instant);
+        return new Date();
     }
 
     /**
@@ -93,7 +101,7 @@ public class DateUtils {
      * @return yyyy-MM-dd hh:mm:ss
      */
     public static Date nowDateTime() {
-        return dateFrom(LocalDateTime.now());
+        return new Date();
     }
 
     /**
@@ -102,7 +110,7 @@ public class DateUtils {
      * @return yyyyMMdd
      */
     public static String nowDateUnSeparator() {
-        return formatDate(DateTime.now().toDate(), DatePatternEnum.YYYYMMDD);
+        return DateClock.format(DatePatternEnum.YYYYMMDD);
     }
 
     /**
@@ -111,7 +119,7 @@ public class DateUtils {
      * @return yyyy-MM-dd
      */
     public static String nowDateFormat() {
-        return formatDate(DateTime.now().toDate(), DatePatternEnum.YYYY_MM_DD);
+        return DateClock.format(DatePatternEnum.YYYY_MM_DD);
     }
 
     /**
@@ -120,7 +128,7 @@ public class DateUtils {
      * @return HH:mm:ss
      */
     public static String nowTimeFormat() {
-        return formatDate(DateTime.now().toDate(), DatePatternEnum.HH_MM_SS);
+        return DateClock.format(DatePatternEnum.HH_MM_SS);
     }
 
     /**
@@ -129,7 +137,7 @@ public class DateUtils {
      * @return 字符串yyyy-MM-dd HH:mm:ss
      */
     public static String nowDateTimeFormat() {
-        return formatDate(DateTime.now().toDate(), DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
+        return DateClock.format(DatePatternEnum.YYYY_MM_DD_HH_MM_SS);
     }
 
     /**
@@ -143,7 +151,7 @@ public class DateUtils {
      * @return
      */
     public static String nowPatternFormat(DatePatternEnum pattern) {
-        return formatDate(DateTime.now().toDate(), pattern);
+        return DateClock.format(pattern);
     }
 
     /**
@@ -157,8 +165,7 @@ public class DateUtils {
      * @return
      */
     public static String nowPatternFormat(String pattern) {
-        DateTime dateTime = DateTime.now();
-        return dateTime.toString(DateTimeFormat.forPattern(pattern));
+        return DateFormatterRegistry.get(pattern).print(DateTimeUtils.currentTimeMillis());
     }
 
     /**
@@ -250,8 +257,18 @@ public class DateUtils {
      * @return
      */
     public static String formatDate(Date date, DatePatternEnum pattern) {
-        DateTime dateTime = new DateTime(date);
-        return dateTime.toString(DateTimeFormat.forPattern(pattern.getPattern()));
+        return formatDate(millisOf(date), pattern);
+    }
+
+    /**
+     * 格式化指定格式的日期，并返回已格式化的日期字符串。
+     *
+     * @param millis  毫秒数
+     * @param pattern 日期字符串格式
+     * @return
+     */
+    public static String formatDate(long millis, DatePatternEnum pattern) {
+        return FixedDateFormatter.format(millis, pattern);
     }
 
     /**
@@ -262,8 +279,17 @@ public class DateUtils {
      * @return
      */
     public static String formatDate(Date date, String pattern) {
-        DateTime dateTime = new DateTime(date);
-        return dateTime.toString(DateTimeFormat.forPattern(pattern));
+        return DateFormatterRegistry.get(pattern).print(millisOf(date));
+    }
+
+    /**
+     * 获取日期的毫秒数，与new DateTime(date)一致，date为null时取当前时间
+     *
+     * @param date 日期
+     * @return 毫秒数
+     */
+    private static long millisOf(Date date) {
+        return date == null ? DateTimeUtils.currentTimeMillis() : date.getTime();
     }
 
     /**
@@ -314,7 +340,23 @@ public class DateUtils {
      * @return
      */
     public static Date parseDate(String dateStr, DatePatternEnum pattern) {
-        return DateTime.parse(dateStr, DateTimeFormat.forPattern(pattern.getPattern())).toDate();
+        return new Date(parseMillis(dateStr, pattern));
+    }
+
+    /**
+     * 解析日期为毫秒数
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 日期字符串格式
+     * @return 毫秒数
+     */
+    public static long parseMillis(String dateStr, DatePatternEnum pattern) {
+        long millis = FixedDateParser.parse(dateStr, pattern);
+        if (millis == FixedDateParser.INVALID) {
+            //定长解析失败时使用Joda解析，保持原有的宽松解析和异常信息
+            millis = DateFormatterRegistry.get(pattern).parseMillis(dateStr);
+        }
+        return millis;
     }
 
     /**
@@ -325,7 +367,7 @@ public class DateUtils {
      * @return
      */
     public static Date parseDate(String dateStr, String pattern) {
-        return DateTime.parse(dateStr, DateTimeFormat.forPattern(pattern)).toDate();
+        return new Date(DateFormatterRegistry.get(pattern).parseMillis(dateStr));
     }
 
     /**
@@ -335,6 +377,10 @@ public class DateUtils {
      * @return
      */
     public static int getDay(Date d) {
+        long local = ZoneOffsetTable.joda().toLocal(millisOf(d));
+        if (local != ZoneOffsetTable.INVALID) {
+            return CalendarMath.localDate(local) % 100;
+        }
         DateTime dateTime = new DateTime(d);
         return dateTime.getDayOfMonth();
     }
@@ -346,6 +392,10 @@ public class DateUtils {
      * @return
      */
     public static int getMonth(Date date) {
+        long local = ZoneOffsetTable.joda().toLocal(millisOf(date));
+        if (local != ZoneOffsetTable.INVALID) {
+            return CalendarMath.localDate(local) / 100 % 100;
+        }
         DateTime dateTime = new DateTime(date);
         return dateTime.getMonthOfYear();
     }
@@ -357,6 +407,10 @@ public class DateUtils {
      * @return
      */
     public static int getYear(Date date) {
+        long local = ZoneOffsetTable.joda().toLocal(millisOf(date));
+        if (local != ZoneOffsetTable.INVALID) {
+            return CalendarMath.localDate(local) / 10000;
+        }
         DateTime dateTime = new DateTime(date);
         return dateTime.getYear();
     }
@@ -369,6 +423,10 @@ public class DateUtils {
      * @author fangyb
      */
     public static Date getDate(Date date) {
+        long millis = ZoneOffsetTable.calendar().startOfDay(date.getTime());
+        if (millis != ZoneOffsetTable.INVALID) {
+            return new Date(millis);
+        }
         Calendar instance = Calendar.getInstance();
         instance.setTime(date);
         instance.set(Calendar.HOUR_OF_DAY, 0);
@@ -386,9 +444,24 @@ public class DateUtils {
      * @return 日期的增加天数后的结果
      */
     public static Date addDay(Date date, int day) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(addDay(millisOf(date), day));
+    }
+
+    /**
+     * 在传入时间基础上加一定天数
+     *
+     * @param millis 毫秒数
+     * @param day    增加的天数,正数表示增加，负数表示减少
+     * @return 增加天数后的毫秒数
+     */
+    public static long addDay(long millis, int day) {
+        long result = adjust(millis, day, (table, local, amount) -> CalendarMath.plusDays(local, amount));
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         dateTime = dateTime.plusDays(day);
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -399,9 +472,24 @@ public class DateUtils {
      * @return 日期的增加月份后的结果
      */
     public static Date addMonth(Date date, int month) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(addMonth(millisOf(date), month));
+    }
+
+    /**
+     * 在传入时间基础上加一定月份
+     *
+     * @param millis 毫秒数
+     * @param month  增加的月份,正数表示增加，负数表示减少
+     * @return 增加月份后的毫秒数
+     */
+    public static long addMonth(long millis, int month) {
+        long result = adjust(millis, month, (table, local, amount) -> CalendarMath.plusMonths(local, amount));
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         dateTime = dateTime.plusMonths(month);
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -412,9 +500,24 @@ public class DateUtils {
      * @return 日期的增加年份后的结果
      */
     public static Date addYear(Date date, int year) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(addYear(millisOf(date), year));
+    }
+
+    /**
+     * 在传入时间基础上加一定年份
+     *
+     * @param millis 毫秒数
+     * @param year   增加的年份,正数表示增加，负数表示减少
+     * @return 增加年份后的毫秒数
+     */
+    public static long addYear(long millis, int year) {
+        long result = adjust(millis, year, (table, local, amount) -> CalendarMath.plusYears(local, amount));
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         dateTime = dateTime.plusYears(year);
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -425,8 +528,26 @@ public class DateUtils {
      * @return
      */
     public static long getBetweenDay(Date startDate, Date endDate) {
-        DateTime startDay = new DateTime(startDate);
-        DateTime endDay = new DateTime(endDate);
+        return getBetweenDay(millisOf(startDate), millisOf(endDate));
+    }
+
+    /**
+     * 计算两个时间的相隔天数
+     *
+     * @param startMillis 开始时间的毫秒数
+     * @param endMillis   结束时间的毫秒数
+     * @return
+     */
+    public static long getBetweenDay(long startMillis, long endMillis) {
+        ZoneOffsetTable table = ZoneOffsetTable.joda();
+        long startLocal = table.toLocal(startMillis);
+        long endLocal = table.toLocal(endMillis);
+        if (startLocal != ZoneOffsetTable.INVALID && endLocal != ZoneOffsetTable.INVALID) {
+            //与Days.daysBetween一致，按本地时间相差的毫秒数计算，不足一天的部分舍去
+            return (endLocal - startLocal) / CalendarMath.MILLIS_PER_DAY;
+        }
+        DateTime startDay = new DateTime(startMillis);
+        DateTime endDay = new DateTime(endMillis);
         return Days.daysBetween(startDay, endDay).getDays();
     }
 
@@ -437,10 +558,23 @@ public class DateUtils {
      * @return
      */
     public static Date getMonthFirstDay(Date date) {
-        DateTime dateTime = new DateTime(date);
-        dateTime = dateTime.dayOfMonth().withMinimumValue();
-        return dateTime.toDate();
+        return new Date(getMonthFirstDay(millisOf(date)));
+    }
 
+    /**
+     * 得到月的第一天
+     *
+     * @param millis 毫秒数
+     * @return 毫秒数
+     */
+    public static long getMonthFirstDay(long millis) {
+        long result = adjust(millis, 0, DateUtils::firstDayOfMonth);
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
+        dateTime = dateTime.dayOfMonth().withMinimumValue();
+        return dateTime.getMillis();
     }
 
     /**
@@ -450,9 +584,23 @@ public class DateUtils {
      * @return
      */
     public static Date getMonthLastDay(Date date) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(getMonthLastDay(millisOf(date)));
+    }
+
+    /**
+     * 得到月的最后一天
+     *
+     * @param millis 毫秒数
+     * @return 毫秒数
+     */
+    public static long getMonthLastDay(long millis) {
+        long result = adjust(millis, 0, DateUtils::lastDayOfMonth);
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         dateTime = dateTime.dayOfMonth().withMaximumValue();
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -462,7 +610,21 @@ public class DateUtils {
      * @return
      */
     public static Date getSeasonFirstDay(Date date) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(getSeasonFirstDay(millisOf(date)));
+    }
+
+    /**
+     * 得到季度的第一天
+     *
+     * @param millis 毫秒数
+     * @return 毫秒数
+     */
+    public static long getSeasonFirstDay(long millis) {
+        long result = adjust(millis, 0, DateUtils::firstDayOfSeason);
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         int curMonth = dateTime.getMonthOfYear();
         if (curMonth >= DateTimeConstants.JANUARY && curMonth <= DateTimeConstants.MARCH) {
             dateTime = dateTime.withMonthOfYear(DateTimeConstants.JANUARY);
@@ -474,7 +636,7 @@ public class DateUtils {
             dateTime = dateTime.withMonthOfYear(DateTimeConstants.OCTOBER);
         }
         dateTime = dateTime.dayOfMonth().withMinimumValue();
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -484,7 +646,21 @@ public class DateUtils {
      * @return
      */
     public static Date getSeasonLastDay(Date date) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(getSeasonLastDay(millisOf(date)));
+    }
+
+    /**
+     * 得到季度的最后一天
+     *
+     * @param millis 毫秒数
+     * @return 毫秒数
+     */
+    public static long getSeasonLastDay(long millis) {
+        long result = adjust(millis, 0, DateUtils::lastDayOfSeason);
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         int curMonth = dateTime.getMonthOfYear();
         if (curMonth >= DateTimeConstants.JANUARY && curMonth <= DateTimeConstants.MARCH) {
             dateTime = dateTime.withMonthOfYear(DateTimeConstants.MARCH);
@@ -496,7 +672,7 @@ public class DateUtils {
             dateTime = dateTime.withMonthOfYear(DateTimeConstants.DECEMBER);
         }
         dateTime = dateTime.dayOfMonth().withMaximumValue();
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -505,9 +681,23 @@ public class DateUtils {
      * @return Date
      */
     public static Date getYearFirstDay(Date date) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(getYearFirstDay(millisOf(date)));
+    }
+
+    /**
+     * 获取年第一天日期
+     *
+     * @param millis 毫秒数
+     * @return 毫秒数
+     */
+    public static long getYearFirstDay(long millis) {
+        long result = adjust(millis, 0, DateUtils::firstDayOfYear);
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         dateTime = dateTime.dayOfYear().withMinimumValue();
-        return dateTime.toDate();
+        return dateTime.getMillis();
     }
 
     /**
@@ -516,10 +706,366 @@ public class DateUtils {
      * @return Date
      */
     public static Date getYearLastDay(Date date) {
-        DateTime dateTime = new DateTime(date);
+        return new Date(getYearLastDay(millisOf(date)));
+    }
+
+    /**
+     * 获取年最后一天日期
+     *
+     * @param millis 毫秒数
+     * @return 毫秒数
+     */
+    public static long getYearLastDay(long millis) {
+        long result = adjust(millis, 0, DateUtils::lastDayOfYear);
+        if (result != ZoneOffsetTable.INVALID) {
+            return result;
+        }
+        DateTime dateTime = new DateTime(millis);
         dateTime = dateTime.dayOfYear().withMaximumValue();
-        return dateTime.toDate();
+        return dateTime.getMillis();
+    }
+
+    /**
+     * 创建工作日历，周一至周五为工作日
+     *
+     * @param holidays 节假日
+     * @param workdays 调休的补班日
+     * @return 工作日历
+     */
+    public static BusinessCalendar businessCalendar(Collection<LocalDate> holidays, Collection<LocalDate> workdays) {
+        Assert.notNull(holidays, "DateUtils holidays param is null");
+        Assert.notNull(workdays, "DateUtils workdays param is null");
+        return new BusinessCalendar(holidays, workdays);
+    }
+
+    /**
+     * 从CSV读取工作日历，每行为“日期,类型”，类型为holiday（节假日）或workday（补班日），
+     * 格式参考{@link BusinessCalendar#load(Reader)}
+     *
+     * @param reader CSV内容
+     * @return 工作日历
+     * @throws IOException 读取失败
+     */
+    public static BusinessCalendar loadBusinessCalendar(Reader reader) throws IOException {
+        Assert.notNull(reader, "DateUtils reader param is null");
+        return BusinessCalendar.load(reader);
+    }
+
+    /**
+     * 从UTF-8编码的CSV文件读取工作日历
+     *
+     * @param path CSV文件
+     * @return 工作日历
+     * @throws IOException 读取失败
+     */
+    public static BusinessCalendar loadBusinessCalendar(Path path) throws IOException {
+        Assert.notNull(path, "DateUtils path param is null");
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return BusinessCalendar.load(reader);
+        }
+    }
+
+    /**
+     * 按Joda默认时区的本地时间调整日期，使用{@link ZoneOffsetTable}转换时区
+     *
+     * @param millis   毫秒数
+     * @param amount   调整的数量
+     * @param adjuster 本地时间的调整方式
+     * @return 毫秒数，超出偏移量表的范围或者处于时区切换附近时返回{@link ZoneOffsetTable#INVALID}
+     */
+    private static long adjust(long millis, int amount, LocalAdjuster adjuster) {
+        ZoneOffsetTable table = ZoneOffsetTable.joda();
+        long local = table.toLocal(millis);
+        if (local == ZoneOffsetTable.INVALID) {
+            return ZoneOffsetTable.INVALID;
+        }
+        local = adjuster.adjust(table, local, amount);
+        return local == ZoneOffsetTable.INVALID ? ZoneOffsetTable.INVALID : table.toMillis(local);
+    }
+
+    private static long firstDayOfMonth(ZoneOffsetTable table, long local, int amount) {
+        int date = CalendarMath.localDate(local);
+        return CalendarMath.withDate(local, date / 10000, date / 100 % 100, 1);
+    }
+
+    private static long lastDayOfMonth(ZoneOffsetTable table, long local, int amount) {
+        int date = CalendarMath.localDate(local);
+        int year = date / 10000;
+        int month = date / 100 % 100;
+        return CalendarMath.withDate(local, year, month, CalendarMath.lengthOfMonth(year, month));
+    }
+
+    private static long firstDayOfSeason(ZoneOffsetTable table, long local, int amount) {
+        int date = CalendarMath.localDate(local);
+        int month = date / 100 % 100;
+        return withSeasonMonth(table, local, date, (month - 1) / 3 * 3 + 1, false);
+    }
+
+    private static long lastDayOfSeason(ZoneOffsetTable table, long local, int amount) {
+        int date = CalendarMath.localDate(local);
+        int month = date / 100 % 100;
+        return withSeasonMonth(table, local, date, (month - 1) / 3 * 3 + 3, true);
+    }
+
+    /**
+     * 与getSeasonFirstDay和getSeasonLastDay一致，先修改月份再修改日，
+     * 修改月份后的中间日期处于时区切换附近时Joda会调整时间，此时返回{@link ZoneOffsetTable#INVALID}
+     */
+    private static long withSeasonMonth(ZoneOffsetTable table, long local, int date, int month, boolean lastDay) {
+        int year = date / 10000;
+        int length = CalendarMath.lengthOfMonth(year, month);
+        if (month != date / 100 % 100) {
+            long middle = CalendarMath.withDate(local, year, month, Math.min(date % 100, length));
+            if (table.toMillis(middle) == ZoneOffsetTable.INVALID) {
+                return ZoneOffsetTable.INVALID;
+            }
+        }
+        return CalendarMath.withDate(local, year, month, lastDay ? length : 1);
+    }
+
+    private static long firstDayOfYear(ZoneOffsetTable table, long local, int amount) {
+        return CalendarMath.withDate(local, CalendarMath.localDate(local) / 10000, 1, 1);
+    }
+
+    private static long lastDayOfYear(ZoneOffsetTable table, long local, int amount) {
+        return CalendarMath.withDate(local, CalendarMath.localDate(local) / 10000, 12, 31);
+    }
+
+    /**
+     * 本地时间的调整方式
+     */
+    private interface LocalAdjuster {
+
+        /**
+         * @param table  偏移量表
+         * @param local  本地时间
+         * @param amount 调整的数量
+         * @return 调整后的本地时间，无法直接计算时返回{@link ZoneOffsetTable#INVALID}
+         */
+        long adjust(ZoneOffsetTable table, long local, int amount);
+    }
+
+    /**
+     * 批量格式化日期
+     *
+     * @param millis  毫秒数数组
+     * @param pattern 日期格式
+     * @return 日期字符串数组
+     */
+    public static String[] formatDates(long[] millis, DatePatternEnum pattern) {
+        return formatDates(millis, pattern, false);
+    }
+
+    /**
+     * 批量格式化日期，结果与{@link #formatDate(Date, DatePatternEnum)}一致
+     *
+     * @param millis   毫秒数数组
+     * @param pattern  日期格式
+     * @param parallel 是否并行，数组较短时忽略
+     * @return 日期字符串数组
+     */
+    public static String[] formatDates(long[] millis, DatePatternEnum pattern, boolean parallel) {
+        Assert.notNull(millis, "DateUtils millis param is null");
+        Assert.notNull(pattern, "DateUtils pattern param is null");
+        return DateColumnConverter.formatDates(millis, pattern, parallel);
+    }
+
+    /**
+     * 批量解析日期
+     *
+     * @param dateStrs 日期字符串数组
+     * @param pattern  日期格式
+     * @return 毫秒数数组
+     */
+    public static long[] parseDates(CharSequence[] dateStrs, DatePatternEnum pattern) {
+        return parseDates(dateStrs, pattern, false);
+    }
+
+    /**
+     * 批量解析日期，结果与{@link #parseDate(String, DatePatternEnum)}一致，无法解析时同样抛出异常
+     *
+     * @param dateStrs 日期字符串数组
+     * @param pattern  日期格式
+     * @param parallel 是否并行，数组较短时忽略
+     * @return 毫秒数数组
+     */
+    public static long[] parseDates(CharSequence[] dateStrs, DatePatternEnum pattern, boolean parallel) {
+        Assert.notNull(dateStrs, "DateUtils dateStrs param is null");
+        Assert.notNull(pattern, "DateUtils pattern param is null");
+        return DateColumnConverter.parseDates(dateStrs, pattern, parallel);
+    }
+
+    /**
+     * 批量去掉时间
+     *
+     * @param millis 毫秒数数组
+     * @return 当天0点的毫秒数数组
+     */
+    public static long[] truncateToDay(long[] millis) {
+        return truncateToDay(millis, false);
     }
 
+    /**
+     * 批量去掉时间，结果与{@link #getDate(Date)}一致
+     *
+     * @param millis   毫秒数数组
+     * @param parallel 是否并行，数组较短时忽略
+     * @return 当天0点的毫秒数数组
+     */
+    public static long[] truncateToDay(long[] millis, boolean parallel) {
+        Assert.notNull(millis, "DateUtils millis param is null");
+        return DateColumnConverter.truncate(millis, DateColumnConverter.DAY, parallel);
+    }
+
+    /**
+     * 批量得到月的第一天
+     *
+     * @param millis 毫秒数数组
+     * @return 月的第一天的毫秒数数组
+     */
+    public static long[] monthFirstDay(long[] millis) {
+        return monthFirstDay(millis, false);
+    }
+
+    /**
+     * 批量得到月的第一天，结果与{@link #getMonthFirstDay(Date)}一致，保留时分秒
+     *
+     * @param millis   毫秒数数组
+     * @param parallel 是否并行，数组较短时忽略
+     * @return 月的第一天的毫秒数数组
+     */
+    public static long[] monthFirstDay(long[] millis, boolean parallel) {
+        Assert.notNull(millis, "DateUtils millis param is null");
+        return DateColumnConverter.truncate(millis, DateColumnConverter.MONTH, parallel);
+    }
+
+    /**
+     * 批量得到季度的第一天
+     *
+     * @param millis 毫秒数数组
+     * @return 季度的第一天的毫秒数数组
+     */
+    public static long[] seasonFirstDay(long[] millis) {
+        return seasonFirstDay(millis, false);
+    }
+
+    /**
+     * 批量得到季度的第一天，结果与{@link #getSeasonFirstDay(Date)}一致，保留时分秒
+     *
+     * @param millis   毫秒数数组
+     * @param parallel 是否并行，数组较短时忽略
+     * @return 季度的第一天的毫秒数数组
+     */
+    public static long[] seasonFirstDay(long[] millis, boolean parallel) {
+        Assert.notNull(millis, "DateUtils millis param is null");
+        return DateColumnConverter.truncate(millis, DateColumnConverter.SEASON, parallel);
+    }
+
+    /**
+     * 批量得到年的第一天
+     *
+     * @param millis 毫秒数数组
+     * @return 年的第一天的毫秒数数组
+     */
+    public static long[] yearFirstDay(long[] millis) {
+        return yearFirstDay(millis, false);
+    }
+
+    /**
+     * 批量得到年的第一天，结果与{@link #getYearFirstDay(Date)}一致，保留时分秒
+     *
+     * @param millis   毫秒数数组
+     * @param parallel 是否并行，数组较短时忽略
+     * @return 年的第一天的毫秒数数组
+     */
+    public static long[] yearFirstDay(long[] millis, boolean parallel) {
+        Assert.notNull(millis, "DateUtils millis param is null");
+        return DateColumnConverter.truncate(millis, DateColumnConverter.YEAR, parallel);
+    }
+
+    /**
+     * 按粒度生成时间段的开始时间，从开始时间所在的时间段至结束时间（不包含）之前所在的时间段，延迟计算 <br>
+     * 时间段按Joda默认时区的本地时间划分，开始时间在夏令时重复的本地时间中取较早的一次，参考{@link #bucketIndexes(long[], long, long, DateGranularityEnum)}
+     *
+     * @param startMillis 开始时间的毫秒数
+     * @param endMillis   结束时间的毫秒数（不包含）
+     * @param granularity 粒度
+     * @return 各时间段开始时间的毫秒数
+     */
+    public static LongStream range(long startMillis, long endMillis, DateGranularityEnum granularity) {
+        Assert.notNull(granularity, "DateUtils granularity param is null");
+        if (endMillis <= startMillis) {
+            return LongStream.empty();
+        }
+        DateTimeZone zone = DateTimeZone.getDefault();
+        ZoneOffsetTable table = ZoneOffsetTable.joda(zone);
+        long first = DatePeriods.period(DatePeriods.toLocal(zone, table, startMillis), granularity);
+        long last = DatePeriods.period(DatePeriods.toLocal(zone, table, endMillis - 1), granularity);
+        return LongStream.rangeClosed(first, last)
+                .map(period -> DatePeriods.toMillis(zone, DatePeriods.startLocal(period, granularity)));
+    }
+
+    /**
+     * 按粒度生成时间段的开始时间，参考{@link #range(long, long, DateGranularityEnum)}
+     *
+     * @param startDate   开始时间
+     * @param endDate     结束时间（不包含）
+     * @param granularity 粒度
+     * @return 各时间段的开始时间
+     */
+    public static Stream<Date> range(Date startDate, Date endDate, DateGranularityEnum granularity) {
+        return range(millisOf(startDate), millisOf(endDate), granularity).mapToObj(Date::new);
+    }
 
+    /**
+     * 按粒度遍历时间段的开始时间，参考{@link #range(long, long, DateGranularityEnum)}
+     *
+     * @param startMillis 开始时间的毫秒数
+     * @param endMillis   结束时间的毫秒数（不包含）
+     * @param granularity 粒度
+     * @return 各时间段开始时间的毫秒数
+     */
+    public static PrimitiveIterator.OfLong rangeIterator(long startMillis, long endMillis, DateGranularityEnum granularity) {
+        return range(startMillis, endMillis, granularity).iterator();
+    }
+
+    /**
+     * 批量计算时间所在的时间段下标 <br>
+     * 下标i与{@link #range(long, long, DateGranularityEnum)}的第i个时间段对应，按Joda默认时区的本地时间划分，
+     * 同一时间段内的时间格式化后的年月日时分秒（到该粒度为止）相同；夏令时重复的一段本地时间归入同一个时间段，跳过的本地时间对应的时间段为空
+     *
+     * @param millis      毫秒数数组
+     * @param startMillis 开始时间的毫秒数
+     * @param endMillis   结束时间的毫秒数（不包含）
+     * @param granularity 粒度
+     * @return 时间段下标数组，不在范围内的时间为-1
+     */
+    public static int[] bucketIndexes(long[] millis, long startMillis, long endMillis, DateGranularityEnum granularity) {
+        return bucketIndexes(millis, startMillis, endMillis, granularity, false);
+    }
+
+    /**
+     * 批量计算时间所在的时间段下标，参考{@link #bucketIndexes(long[], long, long, DateGranularityEnum)}
+     *
+     * @param millis      毫秒数数组
+     * @param startMillis 开始时间的毫秒数
+     * @param endMillis   结束时间的毫秒数（不包含）
+     * @param granularity 粒度
+     * @param parallel    数组较大时是否并行计算
+     * @return 时间段下标数组，不在范围内的时间为-1
+     */
+    public static int[] bucketIndexes(long[] millis, long startMillis, long endMillis, DateGranularityEnum granularity,
+                                      boolean parallel) {
+        Assert.notNull(millis, "DateUtils millis param is null");
+        Assert.notNull(granularity, "DateUtils granularity param is null");
+        if (endMillis <= startMillis) {
+            return DateColumnConverter.bucketIndexes(millis, 0, 0, granularity, parallel);
+        }
+        DateTimeZone zone = DateTimeZone.getDefault();
+        ZoneOffsetTable table = ZoneOffsetTable.joda(zone);
+        long first = DatePeriods.period(DatePeriods.toLocal(zone, table, startMillis), granularity);
+        long count = DatePeriods.period(DatePeriods.toLocal(zone, table, endMillis - 1), granularity) - first + 1;
+        Assert.isTrue(count <= Integer.MAX_VALUE, "DateUtils bucket count exceeds int range");
+        return DateColumnConverter.bucketIndexes(millis, first, count, granularity, parallel);
+    }
 }
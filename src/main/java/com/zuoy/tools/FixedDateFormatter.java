@@ -0,0 +1,475 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTimeZone;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 定长数字日期格式的格式化工具 <br>
+ * yyyyMMdd、yyyy-MM-dd、yyyy-MM-dd HH:mm:ss、yyyy-MM-dd HH:mm:ss.SSS、HHmmss等只包含数字和ASCII分隔符的格式，
+ * 直接从毫秒数计算各字段并写入调用方提供的char[]、StringBuilder或ByteBuffer，不创建Calendar和DateTime。<br>
+ * 时区取Joda的默认时区，与{@link DateFormatterRegistry}的结果一致；当天的开始时间和年月日会被缓存，
+ * 同一天内的时间只需要一次减法，跨天、时区变化时重新计算。<br>
+ * 中文格式以及年份不在0-9999之间的日期使用Joda格式化
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class FixedDateFormatter {
+
+    static final int LITERAL = 0;
+    static final int YEAR = 1;
+    static final int YEAR_OF_CENTURY = 2;
+    static final int MONTH = 3;
+    static final int DAY = 4;
+    static final int HOUR = 5;
+    static final int MINUTE = 6;
+    static final int SECOND = 7;
+    static final int MILLIS = 8;
+
+    static final int MAX_YEAR = 9999;
+
+    /**
+     * 可以直接格式化的本地时间范围，0年1月1日（包含）至{@value #MAX_YEAR}年末（包含）
+     */
+    private static final long MIN_LOCAL = CalendarMath.toEpochDay(0, 1, 1) * CalendarMath.MILLIS_PER_DAY;
+
+    private static final long MAX_LOCAL = CalendarMath.toEpochDay(MAX_YEAR + 1, 1, 1) * CalendarMath.MILLIS_PER_DAY;
+
+    /**
+     * 各日期格式的字段布局，每个元素高16位为字段类型，低16位为分隔符，不支持的格式没有布局
+     */
+    private static final Map<DatePatternEnum, int[]> LAYOUTS = new EnumMap<>(DatePatternEnum.class);
+
+    private static final Map<DatePatternEnum, Integer> LENGTHS = new EnumMap<>(DatePatternEnum.class);
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private static volatile DaySlice cachedDay;
+
+    static {
+        for (DatePatternEnum pattern : DatePatternEnum.values()) {
+            int[] layout = compile(pattern.getPattern());
+            if (layout != null) {
+                LAYOUTS.put(pattern, layout);
+                LENGTHS.put(pattern, length(layout));
+            }
+        }
+    }
+
+    private FixedDateFormatter() {
+    }
+
+    /**
+     * @param pattern 日期格式
+     * @return 是否为定长数字格式
+     */
+    public static boolean supports(DatePatternEnum pattern) {
+        return LAYOUTS.containsKey(pattern);
+    }
+
+    /**
+     * @param pattern 日期格式
+     * @return 格式化结果的长度，不是定长数字格式返回-1
+     */
+    public static int length(DatePatternEnum pattern) {
+        Integer length = LENGTHS.get(pattern);
+        return length == null ? -1 : length;
+    }
+
+    /**
+     * 格式化日期
+     *
+     * @param millis  毫秒数
+     * @param pattern 日期格式
+     * @return 日期字符串
+     */
+    public static String format(long millis, DatePatternEnum pattern) {
+        Assert.notNull(pattern, "FixedDateFormatter pattern param is null");
+        int[] layout = LAYOUTS.get(pattern);
+        if (layout == null) {
+            return DateFormatterRegistry.get(pattern).print(millis);
+        }
+        char[] buffer = BUFFER.get();
+        int end = encode(millis, layout, buffer, 0);
+        return end < 0 ? DateFormatterRegistry.get(pattern).print(millis) : new String(buffer, 0, end);
+    }
+
+    /**
+     * 格式化日期并写入字符数组
+     *
+     * @param millis  毫秒数
+     * @param pattern 日期格式
+     * @param buffer  字符数组，剩余空间不能小于{@link #length(DatePatternEnum)}
+     * @param offset  开始写入的位置
+     * @return 写入结束的位置
+     */
+    public static int format(long millis, DatePatternEnum pattern, char[] buffer, int offset) {
+        Assert.notNull(pattern, "FixedDateFormatter pattern param is null");
+        Assert.notNull(buffer, "FixedDateFormatter buffer param is null");
+        int[] layout = LAYOUTS.get(pattern);
+        int end = layout == null ? -1 : encode(millis, layout, buffer, offset);
+        if (end < 0) {
+            String text = DateFormatterRegistry.get(pattern).print(millis);
+            text.getChars(0, text.length(), buffer, offset);
+            end = offset + text.length();
+        }
+        return end;
+    }
+
+    /**
+     * 格式化日期并追加到StringBuilder
+     *
+     * @param millis  毫秒数
+     * @param pattern 日期格式
+     * @param builder StringBuilder
+     */
+    public static void format(long millis, DatePatternEnum pattern, StringBuilder builder) {
+        Assert.notNull(builder, "FixedDateFormatter builder param is null");
+        char[] buffer = BUFFER.get();
+        int[] layout = LAYOUTS.get(pattern);
+        int end = layout == null ? -1 : encode(millis, layout, buffer, 0);
+        if (end < 0) {
+            builder.append(format(millis, pattern));
+        } else {
+            builder.append(buffer, 0, end);
+        }
+    }
+
+    /**
+     * 格式化日期并写入ByteBuffer，定长数字格式按ASCII写入，其他格式按UTF-8写入
+     *
+     * @param millis  毫秒数
+     * @param pattern 日期格式
+     * @param target  ByteBuffer，从当前位置开始写入
+     */
+    public static void format(long millis, DatePatternEnum pattern, ByteBuffer target) {
+        Assert.notNull(target, "FixedDateFormatter target param is null");
+        char[] buffer = BUFFER.get();
+        int[] layout = LAYOUTS.get(pattern);
+        int end = layout == null ? -1 : encode(millis, layout, buffer, 0);
+        if (end < 0) {
+            target.put(format(millis, pattern).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        for (int i = 0; i < end; i++) {
+            target.put((byte) buffer[i]);
+        }
+    }
+
+    /**
+     * @param pattern 日期格式
+     * @return 字段布局，高16位为字段类型，低16位为分隔符，不是定长数字格式返回null
+     */
+    static int[] layout(DatePatternEnum pattern) {
+        return LAYOUTS.get(pattern);
+    }
+
+    /**
+     * @return 缓存的一天，可能为null
+     */
+    static DaySlice cachedDay() {
+        return cachedDay;
+    }
+
+    /**
+     * 获取毫秒数所在的一天，同一天内返回缓存的对象
+     *
+     * @param millis 毫秒数
+     * @return 所在的一天
+     */
+    static DaySlice daySlice(long millis) {
+        DateTimeZone zone = DateTimeZone.getDefault();
+        DaySlice day = cachedDay;
+        if (day != null && day.contains(zone, millis)) {
+            return day;
+        }
+        day = DaySlice.of(zone, millis);
+        if (day.isWholeDay()) {
+            cachedDay = day;
+        }
+        return day;
+    }
+
+    /**
+     * 使用调用方持有的一天格式化日期，批量格式化时避免读写共享的缓存
+     *
+     * @param millis  毫秒数
+     * @param day     毫秒数所在的一天
+     * @param pattern 日期格式
+     * @return 日期字符串
+     */
+    static String format(long millis, DaySlice day, DatePatternEnum pattern) {
+        int[] layout = LAYOUTS.get(pattern);
+        if (layout == null) {
+            return DateFormatterRegistry.get(pattern).print(millis);
+        }
+        char[] buffer = BUFFER.get();
+        int end = encode(millis, day, layout, buffer, 0);
+        return end < 0 ? DateFormatterRegistry.get(pattern).print(millis) : new String(buffer, 0, end);
+    }
+
+    /**
+     * 格式化本地时间，即不考虑时区偏移量的毫秒数，供java.time的日期类型使用
+     *
+     * @param local   本地时间
+     * @param pattern 日期格式
+     * @return 日期字符串
+     */
+    static String formatLocal(long local, DatePatternEnum pattern) {
+        Assert.notNull(pattern, "FixedDateFormatter pattern param is null");
+        int[] layout = LAYOUTS.get(pattern);
+        if (layout != null && local >= MIN_LOCAL && local < MAX_LOCAL) {
+            long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+            char[] buffer = BUFFER.get();
+            int end = encode(CalendarMath.toYyyymmdd(epochDay), (int) (local - epochDay * CalendarMath.MILLIS_PER_DAY),
+                    layout, buffer, 0);
+            return new String(buffer, 0, end);
+        }
+        return DateFormatterRegistry.get(pattern).withZoneUTC().print(local);
+    }
+
+    private static int encode(long millis, int[] layout, char[] buffer, int offset) {
+        return encode(millis, daySlice(millis), layout, buffer, offset);
+    }
+
+    private static int encode(long millis, DaySlice day, int[] layout, char[] buffer, int offset) {
+        return encode(day.date, (int) (millis - day.start) + day.startMillisOfDay, layout, buffer, offset);
+    }
+
+    /**
+     * 按布局写入各字段
+     *
+     * @param date        yyyyMMdd形式的年月日
+     * @param millisOfDay 当天的第几毫秒
+     * @return 写入结束的位置，年份超出范围时返回-1
+     */
+    private static int encode(int date, int millisOfDay, int[] layout, char[] buffer, int offset) {
+        int year = date / 10000;
+        if (date < 0 || year > MAX_YEAR) {
+            return -1;
+        }
+        int pos = offset;
+        for (int op : layout) {
+            switch (op >>> 16) {
+                case YEAR:
+                    pos = writeTwoDigits(buffer, writeTwoDigits(buffer, pos, year / 100), year % 100);
+                    break;
+                case YEAR_OF_CENTURY:
+                    pos = writeTwoDigits(buffer, pos, year % 100);
+                    break;
+                case MONTH:
+                    pos = writeTwoDigits(buffer, pos, date / 100 % 100);
+                    break;
+                case DAY:
+                    pos = writeTwoDigits(buffer, pos, date % 100);
+                    break;
+                case HOUR:
+                    pos = writeTwoDigits(buffer, pos, millisOfDay / 3_600_000);
+                    break;
+                case MINUTE:
+                    pos = writeTwoDigits(buffer, pos, millisOfDay / 60_000 % 60);
+                    break;
+                case SECOND:
+                    pos = writeTwoDigits(buffer, pos, millisOfDay / 1000 % 60);
+                    break;
+                case MILLIS:
+                    int fraction = millisOfDay % 1000;
+                    buffer[pos] = (char) ('0' + fraction / 100);
+                    pos = writeTwoDigits(buffer, pos + 1, fraction % 100);
+                    break;
+                default:
+                    buffer[pos++] = (char) op;
+                    break;
+            }
+        }
+        return pos;
+    }
+
+    private static int writeTwoDigits(char[] buffer, int pos, int value) {
+        buffer[pos] = (char) ('0' + value / 10);
+        buffer[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+
+    /**
+     * 解析日期格式为字段布局
+     *
+     * @return 字段布局，包含其他字母、引号或非ASCII字符时返回null
+     */
+    private static int[] compile(String pattern) {
+        int[] layout = new int[pattern.length()];
+        int count = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int j = i;
+            while (j < pattern.length() && pattern.charAt(j) == c) {
+                j++;
+            }
+            int width = j - i;
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int field = field(c, width);
+                if (field == LITERAL) {
+                    return null;
+                }
+                layout[count++] = field << 16;
+            } else if (c < 0x80 && c != '\'') {
+                for (int k = 0; k < width; k++) {
+                    layout[count++] = c;
+                }
+            } else {
+                return null;
+            }
+            i = j;
+        }
+        int[] result = new int[count];
+        System.arraycopy(layout, 0, result, 0, count);
+        return result;
+    }
+
+    private static int field(char letter, int width) {
+        switch (letter) {
+            case 'y':
+                return width == 4 ? YEAR : width == 2 ? YEAR_OF_CENTURY : LITERAL;
+            case 'M':
+                return width == 2 ? MONTH : LITERAL;
+            case 'd':
+                return width == 2 ? DAY : LITERAL;
+            case 'H':
+                return width == 2 ? HOUR : LITERAL;
+            case 'm':
+                return width == 2 ? MINUTE : LITERAL;
+            case 's':
+                return width == 2 ? SECOND : LITERAL;
+            case 'S':
+                return width == 3 ? MILLIS : LITERAL;
+            default:
+                return LITERAL;
+        }
+    }
+
+    private static int length(int[] layout) {
+        int length = 0;
+        for (int op : layout) {
+            switch (op >>> 16) {
+                case YEAR:
+                    length += 4;
+                    break;
+                case MILLIS:
+                    length += 3;
+                    break;
+                case LITERAL:
+                    length += 1;
+                    break;
+                default:
+                    length += 2;
+                    break;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 时区偏移量不变的一段时间，通常是当地的一整天
+     */
+    static final class DaySlice {
+
+        /**
+         * 时区
+         */
+        final DateTimeZone zone;
+
+        /**
+         * 开始时间（包含）
+         */
+        final long start;
+
+        /**
+         * 结束时间（不包含）
+         */
+        final long end;
+
+        /**
+         * 开始时间是当天的第几毫秒
+         */
+        final int startMillisOfDay;
+
+        /**
+         * yyyyMMdd形式的年月日
+         */
+        final int date;
+
+        /**
+         * 1970-01-01为第0天的天数
+         */
+        final long epochDay;
+
+        /**
+         * 时区偏移量
+         */
+        final int offset;
+
+        /**
+         * 前一天、当天、后一天都没有时区切换，当天的每个本地时间只对应一个毫秒数，参考{@link ZoneOffsetTable#isUnambiguousDay(long)}
+         */
+        final boolean unambiguous;
+
+        private DaySlice(DateTimeZone zone, long start, long end, int startMillisOfDay, long epochDay, int offset,
+                         boolean unambiguous) {
+            this.zone = zone;
+            this.start = start;
+            this.end = end;
+            this.startMillisOfDay = startMillisOfDay;
+            this.date = CalendarMath.toYyyymmdd(epochDay);
+            this.epochDay = epochDay;
+            this.offset = offset;
+            this.unambiguous = unambiguous;
+        }
+
+        /**
+         * @return 是否为偏移量不变的一整天，此时当天的每个本地时间都只对应一个时间
+         */
+        boolean isWholeDay() {
+            return end - start == CalendarMath.MILLIS_PER_DAY;
+        }
+
+        boolean contains(DateTimeZone zone, long millis) {
+            return this.zone == zone && millis >= start && millis < end;
+        }
+
+        /**
+         * 当天以及前一天都没有时区切换时返回整天，否则只包含当前毫秒。
+         * 前一天的切换可能使当天开始的一段本地时间重复出现，所以一并排除
+         */
+        static DaySlice of(DateTimeZone zone, long millis) {
+            ZoneOffsetTable table = ZoneOffsetTable.joda(zone);
+            boolean inTable = table != null && table.covers(millis);
+            int offset = inTable ? table.offset(millis) : zone.getOffset(millis);
+            long local = millis + offset;
+            long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+            long start = epochDay * CalendarMath.MILLIS_PER_DAY - offset;
+            long end = start + CalendarMath.MILLIS_PER_DAY;
+            long from = start - CalendarMath.MILLIS_PER_DAY;
+            boolean wholeDay;
+            boolean unambiguous;
+            if (inTable && table.covers(from) && table.covers(end + CalendarMath.MILLIS_PER_DAY)) {
+                wholeDay = table.isWholeDay(start);
+                unambiguous = table.isUnambiguousDay(start);
+            } else {
+                long transition = zone.isFixed() ? from : zone.nextTransition(from);
+                wholeDay = transition == from || transition >= end;
+                unambiguous = transition == from || transition >= end + CalendarMath.MILLIS_PER_DAY;
+            }
+            if (wholeDay) {
+                return new DaySlice(zone, start, end, 0, epochDay, offset, unambiguous);
+            }
+            return new DaySlice(zone, millis, millis + 1, (int) (local - epochDay * CalendarMath.MILLIS_PER_DAY), epochDay, offset, false);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTimeZone;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 定长数字日期格式的解析工具 <br>
+ * 按{@link FixedDateFormatter}支持的格式逐位读取数字，直接返回毫秒数，不创建DateTime，解析失败时不抛出异常而是返回{@link #INVALID}。<br>
+ * 与Joda的解析结果一致：缺少的字段取1970-01-01 00:00:00.000，本地时间按Joda的默认时区转换，
+ * 夏令时重叠时取较早的时间。<br>
+ * 只接受严格定长的输入，Joda可以宽松解析的输入（例如2019-1-5）、两位年份、不存在的本地时间都返回{@link #INVALID}，
+ * 需要与Joda完全一致的场景在返回{@link #INVALID}时再使用Joda解析，参考{@link DateUtils#parseDate(String, DatePatternEnum)}
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class FixedDateParser {
+
+    /**
+     * 解析失败
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final Map<DatePatternEnum, int[]> LAYOUTS = new EnumMap<>(DatePatternEnum.class);
+
+    static {
+        for (DatePatternEnum pattern : DatePatternEnum.values()) {
+            int[] layout = FixedDateFormatter.layout(pattern);
+            if (layout != null && !hasTwoDigitYear(layout)) {
+                LAYOUTS.put(pattern, layout);
+            }
+        }
+    }
+
+    private FixedDateParser() {
+    }
+
+    /**
+     * @param pattern 日期格式
+     * @return 是否可以解析该格式
+     */
+    public static boolean supports(DatePatternEnum pattern) {
+        return layout(pattern) != null;
+    }
+
+    /**
+     * 解析日期
+     *
+     * @param text    日期字符串
+     * @param pattern 日期格式
+     * @return 毫秒数，解析失败返回{@link #INVALID}
+     */
+    public static long parse(CharSequence text, DatePatternEnum pattern) {
+        return text == null ? INVALID : parse(text, 0, text.length(), pattern);
+    }
+
+    /**
+     * 解析字符串中的一段日期
+     *
+     * @param text    字符串
+     * @param from    开始位置（包含）
+     * @param to      结束位置（不包含）
+     * @param pattern 日期格式
+     * @return 毫秒数，解析失败返回{@link #INVALID}
+     */
+    public static long parse(CharSequence text, int from, int to, DatePatternEnum pattern) {
+        return toMillis(parseLocal(text, from, to, pattern));
+    }
+
+    /**
+     * 解析字节数组中的一段ASCII日期
+     *
+     * @param bytes   字节数组
+     * @param from    开始位置（包含）
+     * @param to      结束位置（不包含）
+     * @param pattern 日期格式
+     * @return 毫秒数，解析失败返回{@link #INVALID}
+     */
+    public static long parse(byte[] bytes, int from, int to, DatePatternEnum pattern) {
+        return toMillis(parseLocal(bytes, from, to, pattern));
+    }
+
+    /**
+     * 解析为本地时间，即不考虑时区偏移量的毫秒数
+     *
+     * @return 本地时间，解析失败返回{@link #INVALID}
+     */
+    static long parseLocal(CharSequence text, int from, int to, DatePatternEnum pattern) {
+        if (text == null || from < 0 || to > text.length() || from > to) {
+            return INVALID;
+        }
+        return parseLocal(text, null, from, to, pattern);
+    }
+
+    /**
+     * 解析为本地时间，即不考虑时区偏移量的毫秒数
+     *
+     * @return 本地时间，解析失败返回{@link #INVALID}
+     */
+    static long parseLocal(byte[] bytes, int from, int to, DatePatternEnum pattern) {
+        if (bytes == null || from < 0 || to > bytes.length || from > to) {
+            return INVALID;
+        }
+        return parseLocal(null, bytes, from, to, pattern);
+    }
+
+    /**
+     * 按格式逐位解析，text和bytes只有一个不为null，范围已校验
+     *
+     * @return 本地时间，解析失败返回{@link #INVALID}
+     */
+    private static long parseLocal(CharSequence text, byte[] bytes, int from, int to, DatePatternEnum pattern) {
+        int[] layout = layout(pattern);
+        if (layout == null) {
+            return INVALID;
+        }
+        int year = 1970;
+        int month = 1;
+        int day = 1;
+        int millisOfDay = 0;
+        int pos = from;
+        for (int op : layout) {
+            int field = op >>> 16;
+            int width = width(field);
+            if (to - pos < width) {
+                return INVALID;
+            }
+            if (field == FixedDateFormatter.LITERAL) {
+                if (charAt(text, bytes, pos++) != (char) op) {
+                    return INVALID;
+                }
+                continue;
+            }
+            int value = 0;
+            for (int end = pos + width; pos < end; pos++) {
+                int digit = charAt(text, bytes, pos) - '0';
+                if (digit < 0 || digit > 9) {
+                    return INVALID;
+                }
+                value = value * 10 + digit;
+            }
+            switch (field) {
+                case FixedDateFormatter.YEAR:
+                    year = value;
+                    break;
+                case FixedDateFormatter.MONTH:
+                    month = value;
+                    break;
+                case FixedDateFormatter.DAY:
+                    day = value;
+                    break;
+                default:
+                    millisOfDay = addTime(millisOfDay, field, value);
+                    if (millisOfDay < 0) {
+                        return INVALID;
+                    }
+                    break;
+            }
+        }
+        return pos == to ? localMillis(year, month, day, millisOfDay) : INVALID;
+    }
+
+    /**
+     * @return 字符，字节按ISO-8859-1转换，非ASCII字节不会与数字和分隔符相等
+     */
+    private static char charAt(CharSequence text, byte[] bytes, int pos) {
+        return bytes != null ? (char) (bytes[pos] & 0xff) : text.charAt(pos);
+    }
+
+    /**
+     * 本地日期时间转换为本地时间
+     *
+     * @return 本地时间，日期不合法时返回{@link #INVALID}
+     */
+    private static long localMillis(int year, int month, int day, int millisOfDay) {
+        if (month < 1 || month > 12 || day < 1 || day > CalendarMath.lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        return CalendarMath.toEpochDay(year, month, day) * CalendarMath.MILLIS_PER_DAY + millisOfDay;
+    }
+
+    /**
+     * 本地时间按Joda的默认时区转换为毫秒数
+     *
+     * @param local 本地时间
+     * @return 毫秒数，本地时间不存在时返回{@link #INVALID}
+     */
+    static long toMillis(long local) {
+        if (local == INVALID) {
+            return INVALID;
+        }
+        DateTimeZone zone = DateTimeZone.getDefault();
+        FixedDateFormatter.DaySlice cached = FixedDateFormatter.cachedDay();
+        if (cached != null && cached.zone == zone && cached.isWholeDay()
+                && cached.epochDay == Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY)) {
+            return local - cached.offset;
+        }
+        return toMillis(zone, local);
+    }
+
+    /**
+     * 与Joda解析一致，夏令时重叠取较早的时间，不存在的本地时间视为解析失败
+     *
+     * @param zone  时区
+     * @param local 本地时间
+     * @return 毫秒数，本地时间不存在时返回{@link #INVALID}
+     */
+    static long toMillis(DateTimeZone zone, long local) {
+        int offset = zone.getOffsetFromLocal(local);
+        long millis = local - offset;
+        return zone.getOffset(millis) == offset ? millis : INVALID;
+    }
+
+    /**
+     * 累加时分秒毫秒
+     *
+     * @return 当天的第几毫秒，超出范围返回-1
+     */
+    private static int addTime(int millisOfDay, int field, int value) {
+        switch (field) {
+            case FixedDateFormatter.HOUR:
+                return value > 23 ? -1 : millisOfDay + value * 3_600_000;
+            case FixedDateFormatter.MINUTE:
+                return value > 59 ? -1 : millisOfDay + value * 60_000;
+            case FixedDateFormatter.SECOND:
+                return value > 59 ? -1 : millisOfDay + value * 1000;
+            case FixedDateFormatter.MILLIS:
+                return millisOfDay + value;
+            default:
+                return -1;
+        }
+    }
+
+    private static int width(int field) {
+        switch (field) {
+            case FixedDateFormatter.LITERAL:
+                return 1;
+            case FixedDateFormatter.YEAR:
+                return 4;
+            case FixedDateFormatter.MILLIS:
+                return 3;
+            default:
+                return 2;
+        }
+    }
+
+    private static int[] layout(DatePatternEnum pattern) {
+        return pattern == null ? null : LAYOUTS.get(pattern);
+    }
+
+    /**
+     * 两位年份与Joda的解析依赖当前年份，不在此处解析
+     */
+    private static boolean hasTwoDigitYear(int[] layout) {
+        for (int op : layout) {
+            if (op >>> 16 == FixedDateFormatter.YEAR_OF_CENTURY) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
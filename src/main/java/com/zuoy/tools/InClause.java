@@ -0,0 +1,201 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.InStrategyEnum;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 带绑定参数的in()查询条件 <br>
+ * 由{@link SqlUtil#getInClause}等方法构造，sql中的?按顺序对应{@link #getParameters()}，
+ * 执行前调用{@link #prepare(Connection)}，再用{@link #bind(PreparedStatement, int)}设置参数
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class InClause {
+
+    /**
+     * 写入临时表时每批的行数
+     */
+    private static final int TEMP_TABLE_BATCH_SIZE = 1000;
+
+    private final String sql;
+
+    private final Object[] parameters;
+
+    private final InStrategyEnum strategy;
+
+    /**
+     * 临时表，不使用临时表时为null
+     */
+    private final String tempTable;
+
+    private final String tempColumn;
+
+    /**
+     * 写入临时表的值
+     */
+    private final Object[] tempValues;
+
+    /**
+     * {@link InStrategyEnum#ARRAY}的数组元素类型，其他方式为null
+     */
+    private final String arrayTypeName;
+
+    InClause(String sql, Object[] parameters, InStrategyEnum strategy) {
+        this(sql, parameters, strategy, null, null, null, null);
+    }
+
+    InClause(String sql, Object[] parameters, InStrategyEnum strategy, String arrayTypeName) {
+        this(sql, parameters, strategy, null, null, null, arrayTypeName);
+    }
+
+    InClause(String sql, Object[] parameters, InStrategyEnum strategy, String tempTable, String tempColumn, Object[] tempValues) {
+        this(sql, parameters, strategy, tempTable, tempColumn, tempValues, null);
+    }
+
+    private InClause(String sql, Object[] parameters, InStrategyEnum strategy, String tempTable, String tempColumn, Object[] tempValues,
+                     String arrayTypeName) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.strategy = strategy;
+        this.tempTable = tempTable;
+        this.tempColumn = tempColumn;
+        this.tempValues = tempValues;
+        this.arrayTypeName = arrayTypeName;
+    }
+
+    /**
+     * @return 查询条件，没有值时为 1&lt;&gt;1 或 1=1
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return 绑定参数的副本，按?的顺序；{@link InStrategyEnum#ARRAY}只有一个参数，为所有值组成的Object[]
+     */
+    public Object[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * @return 绑定参数的个数
+     */
+    public int getParameterCount() {
+        return parameters.length;
+    }
+
+    /**
+     * @return 构造方式，使用临时表时为null
+     */
+    public InStrategyEnum getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * 执行查询前的准备，使用临时表时清空临时表并批量写入所有值，其他方式不做处理 <br>
+     * 临时表需要调用方预先创建，只有一列，建议使用会话级或事务级的临时表，并与查询在同一个连接和事务中执行
+     *
+     * @param connection 数据库连接
+     * @throws SQLException 写入临时表失败
+     */
+    public void prepare(Connection connection) throws SQLException {
+        Assert.notNull(connection, "InClause connection param is null");
+        if (tempTable == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("delete from " + tempTable);
+        }
+        try (PreparedStatement statement = connection.prepareStatement("insert into " + tempTable + " (" + tempColumn + ") values (?)")) {
+            int batch = 0;
+            for (Object value : tempValues) {
+                statement.setObject(1, value);
+                statement.addBatch();
+                if (++batch == TEMP_TABLE_BATCH_SIZE) {
+                    statement.executeBatch();
+                    batch = 0;
+                }
+            }
+            if (batch > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * 按顺序设置绑定参数，{@link InStrategyEnum#ARRAY}的数组参数通过{@link Connection#createArrayOf}创建，
+     * 元素类型在构造时按所有值确定
+     *
+     * @param statement 预编译语句
+     * @param index     第一个参数的下标，从1开始
+     * @return 下一个参数的下标
+     * @throws SQLException 设置参数失败
+     */
+    public int bind(PreparedStatement statement, int index) throws SQLException {
+        Assert.notNull(statement, "InClause statement param is null");
+        if (strategy == InStrategyEnum.ARRAY && parameters.length > 0) {
+            Object[] values = (Object[]) parameters[0];
+            statement.setArray(index, statement.getConnection().createArrayOf(arrayTypeName, values));
+            return index + 1;
+        }
+        for (Object parameter : parameters) {
+            statement.setObject(index++, parameter);
+        }
+        return index;
+    }
+
+    /**
+     * 按所有值确定数组元素类型，INTEGER与BIGINT混合时为BIGINT，其他类型不一致时抛出IllegalArgumentException
+     *
+     * @param values 不含null的值
+     * @return 数组元素类型
+     */
+    static String arrayTypeName(Object[] values) {
+        String typeName = null;
+        for (Object value : values) {
+            String current = typeName(value);
+            if (typeName == null || typeName.equals(current)) {
+                typeName = current;
+            } else if (isIntegral(typeName) && isIntegral(current)) {
+                typeName = "BIGINT";
+            } else {
+                throw new IllegalArgumentException("SqlUtil values param mixes " + typeName + " and " + current
+                        + " values, which can not be bound as one array");
+            }
+        }
+        return typeName;
+    }
+
+    private static String typeName(Object value) {
+        if (value instanceof Long || value instanceof BigInteger) {
+            return "BIGINT";
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "INTEGER";
+        }
+        if (value instanceof BigDecimal) {
+            return "NUMERIC";
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return "DOUBLE";
+        }
+        return "VARCHAR";
+    }
+
+    private static boolean isIntegral(String typeName) {
+        return "BIGINT".equals(typeName) || "INTEGER".equals(typeName);
+    }
+
+    @Override
+    public String toString() {
+        return "InClause{strategy=" + strategy + ", parameterCount=" + parameters.length + ", sql='" + sql + "'}";
+    }
+}
@@ -0,0 +1,276 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.util.Date;
+
+/**
+ * 逐个写入值的in()查询条件，输出与{@link SqlUtil#getInSql(Object[], String)}一致 <br>
+ * 每组999个值，超过后附加 or in()（not in()为 and not in()），null值忽略，Character值加单引号，
+ * 没有值时写入 1&lt;&gt;1 （not in()为 1=1 ）。
+ * 写入StringBuilder时数字直接追加，写入Writer时数字经过字符缓冲区写入，都不会为每个值创建String。<br>
+ * {@link #writeLiteral(Object)}按类型写入SQL字面量：整数和BigDecimal写入十进制数字，Date写入timestamp '...'，
+ * java.sql.Date写入date '...'，字符串、Character、枚举名和其他对象加单引号并把'转义为''
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class InSqlWriter {
+
+    /**
+     * 每组的值个数加1，与原实现的计数方式一致
+     */
+    private static final int GROUP_LIMIT = 1000;
+
+    /**
+     * 池化缓冲区保留的最大容量（约64K字符），超过后不放回；更大的SQL每次单独分配，避免每个线程长期占用大块内存
+     */
+    private static final int MAX_POOLED_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<>();
+
+    private final Appendable out;
+
+    /**
+     * out为StringBuilder时的引用，否则为null
+     */
+    private final StringBuilder builder;
+
+    private final String fieldName;
+
+    private final boolean isNotIn;
+
+    /**
+     * 写入Writer时数字的字符缓冲区
+     */
+    private StringBuilder digits;
+
+    private char[] chars;
+
+    private int num = 1;
+
+    private boolean started;
+
+    InSqlWriter(Appendable out, String fieldName, boolean isNotIn) {
+        this.out = out;
+        this.builder = out instanceof StringBuilder ? (StringBuilder) out : null;
+        this.fieldName = fieldName;
+        this.isNotIn = isNotIn;
+    }
+
+    /**
+     * 写入一个值，null值忽略
+     */
+    void write(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            write(((Number) value).longValue());
+            return;
+        }
+        next();
+        if (value instanceof Character) {
+            out.append('\'').append((Character) value).append('\'');
+        } else {
+            out.append(String.valueOf(value));
+        }
+    }
+
+    /**
+     * 按类型写入SQL字面量，null值忽略
+     */
+    void writeLiteral(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            write(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            next();
+            out.append(plainNumber((Number) value));
+        } else if (value instanceof Date) {
+            next();
+            writeDate((Date) value);
+        } else if (value instanceof Enum) {
+            next();
+            writeQuoted(((Enum<?>) value).name());
+        } else {
+            next();
+            writeQuoted(value.toString());
+        }
+    }
+
+    void write(long value) throws IOException {
+        next();
+        if (builder != null) {
+            builder.append(value);
+            return;
+        }
+        if (digits == null) {
+            digits = new StringBuilder(20);
+            chars = new char[32];
+        }
+        digits.setLength(0);
+        digits.append(value);
+        if (out instanceof Writer) {
+            digits.getChars(0, digits.length(), chars, 0);
+            ((Writer) out).write(chars, 0, digits.length());
+        } else {
+            out.append(digits);
+        }
+    }
+
+    private void writeQuoted(String text) throws IOException {
+        out.append('\'');
+        int start = 0;
+        for (int i = text.indexOf('\''); i >= 0; i = text.indexOf('\'', i + 1)) {
+            out.append(text, start, i + 1).append('\'');
+            start = i + 1;
+        }
+        out.append(text, start, text.length()).append('\'');
+    }
+
+    private void writeDate(Date date) throws IOException {
+        long millis = date.getTime();
+        DatePatternEnum pattern;
+        if (date instanceof java.sql.Date) {
+            out.append("date '");
+            pattern = DatePatternEnum.YYYY_MM_DD;
+        } else {
+            out.append("timestamp '");
+            pattern = Math.floorMod(millis, 1000L) == 0 ? DatePatternEnum.YYYY_MM_DD_HH_MM_SS : DatePatternEnum.YYYY_MM_DD_HH_MM_SS_SSS;
+        }
+        if (chars == null) {
+            digits = new StringBuilder(20);
+            chars = new char[32];
+        }
+        int end = FixedDateFormatter.format(millis, pattern, chars, 0);
+        if (builder != null) {
+            builder.append(chars, 0, end);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, 0, end);
+        } else {
+            out.append(CharBuffer.wrap(chars, 0, end));
+        }
+        out.append('\'');
+    }
+
+    /**
+     * @return 不使用科学计数法的十进制数字
+     */
+    private static String plainNumber(Number value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof BigInteger) {
+            return value.toString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = value.doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new IllegalArgumentException("SqlUtil value param is not a finite number: " + value);
+            }
+        }
+        return new BigDecimal(value.toString()).toPlainString();
+    }
+
+    /**
+     * 写入结尾，没有值时写入 1&lt;&gt;1 或 1=1
+     */
+    void finish() throws IOException {
+        out.append(started ? " ))" : otherSql(isNotIn));
+    }
+
+    private void next() throws IOException {
+        if (!started) {
+            out.append("( ").append(fieldName).append(inOrNotIn(isNotIn)).append("( ");
+            started = true;
+        } else if (num == GROUP_LIMIT) {
+            out.append(')').append(isNotIn ? " and " : " or ").append(fieldName).append(inOrNotIn(isNotIn)).append("( ");
+            num = 1;
+        }
+        if (num != 1) {
+            out.append(',');
+        }
+        num++;
+    }
+
+    static String otherSql(boolean isNotIn) {
+        return isNotIn ? " 1=1 " : " 1<>1 ";
+    }
+
+    private static String inOrNotIn(boolean isNotIn) {
+        return isNotIn ? " not in " : " in ";
+    }
+
+    /**
+     * @param valueLength 所有值的字符数之和
+     * @param count       值的个数
+     * @return 查询条件的字符数，count为0时为0
+     */
+    static int length(long valueLength, int count, String fieldName, boolean isNotIn) {
+        if (count == 0) {
+            return 0;
+        }
+        int groups = (count - 1) / (GROUP_LIMIT - 1) + 1;
+        int groupLength = fieldName.length() + inOrNotIn(isNotIn).length() + 2;
+        int concatenationLength = isNotIn ? 5 : 4;
+        long length = 2 + groupLength + (groups - 1) * (1L + concatenationLength + groupLength)
+                + valueLength + (count - groups) + 3;
+        return (int) Math.min(length, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * @return 十进制字符数
+     */
+    static int stringSize(long value) {
+        if (value == Long.MIN_VALUE) {
+            return 20;
+        }
+        long abs = Math.abs(value);
+        int size = value < 0 ? 2 : 1;
+        long limit = 10;
+        for (int i = 1; i < 19 && abs >= limit; i++) {
+            size++;
+            limit *= 10;
+        }
+        return size;
+    }
+
+    /**
+     * 取出当前线程的缓冲区，使用结束后调用{@link #release(StringBuilder)}放回；
+     * 预计的字符数超过{@link #MAX_POOLED_CAPACITY}时单独分配，不取出池化的缓冲区
+     *
+     * @param capacity 预计的字符数
+     */
+    static StringBuilder borrow(int capacity) {
+        if (capacity > MAX_POOLED_CAPACITY) {
+            return new StringBuilder(capacity);
+        }
+        StringBuilder buffer = BUFFER.get();
+        if (buffer == null) {
+            return new StringBuilder(Math.max(capacity, 16));
+        }
+        BUFFER.remove();
+        buffer.setLength(0);
+        buffer.ensureCapacity(capacity);
+        return buffer;
+    }
+
+    /**
+     * @return 缓冲区的内容，容量不超过{@link #MAX_POOLED_CAPACITY}时放回当前线程
+     */
+    static String release(StringBuilder buffer) {
+        String sql = buffer.toString();
+        if (buffer.capacity() <= MAX_POOLED_CAPACITY) {
+            BUFFER.set(buffer);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,621 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.tree.DiscontinuityTreeNode;
+import com.zuoy.tools.tree.TreeNode;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 可增量维护的树形结构 <br>
+ * 新增、删除、移动、启用、禁用节点时只调整受影响的节点，不需要重新构建整棵树，
+ * 节点的孩子集合、层级、叶子节点标识会同步维护，存在排序器时所有层级的孩子集合始终保持有序。<br>
+ * 复杂度：查找祖先节点与全路径深度成正比，内部的祖先关系和等待挂载的索引增删为O(1)；
+ * 可见的孩子集合为ArrayList，存在排序器时二分查找定位，插入和删除需要移动其后的兄弟节点（数组复制），
+ * 没有排序器时删除从后向前按引用查找，均与兄弟节点数成正比；移动或启用、禁用时受影响的子孙节点的层级需要刷新。<br>
+ * 节点的挂载位置与{@link TreeNodeUtils#transformToTree(List, Comparator)}对启用节点的构建结果一致，孩子集合的顺序不同：
+ * transformToTree不对只有一个孩子的节点继续向下排序，该树对每个孩子集合都排序。挂载规则：<br>
+ * 1、实现{@link DiscontinuityTreeNode}接口的对象，父节点不存在或被禁用时作为顶级节点。<br>
+ * 2、实现{@link TreeNode}接口的对象，父节点不存在时挂载到全路径中最近的存在的祖先节点，
+ * 父节点或该祖先节点被禁用时沿祖先节点继续向上挂载到最近的启用的节点，全路径与父ID一致时与只传入启用节点的构建结果相同。<br>
+ * 通过{@link TreeNodeUtils#transformToIndexedTree(List, Comparator)}创建，非线程安全
+ *
+ * @param <T> 树节点类型
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class IndexedTree<T extends DiscontinuityTreeNode<T>> {
+
+    private final Comparator<? super T> comparator;
+
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+
+    /**
+     * 按下标保存的节点，供全路径索引查找使用
+     */
+    private final List<Entry<T>> slots = new ArrayList<>();
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * 没有祖先节点的节点，按对象引用比较，删除为O(1)
+     */
+    private final Set<Entry<T>> topEntries = new LinkedHashSet<>();
+
+    /**
+     * 顶级可见节点
+     */
+    private final List<T> roots = new ArrayList<>();
+
+    /**
+     * 等待挂载的节点，key为不存在的父ID或全路径祖先ID，值为这些ID存在后会改为挂载到其下的节点，
+     * 即父ID和全路径中比当前祖先节点更近的不存在的ID
+     */
+    private final Map<String, Set<Entry<T>>> waiting = new HashMap<>();
+
+    /**
+     * 查找祖先节点时记录全路径中不存在的ID，为null时不记录
+     */
+    private List<String> missing;
+
+    private final TreePathIndex pathIndex = new TreePathIndex((path, from, to) -> {
+        String id = path.substring(from, to);
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            if (missing != null) {
+                missing.add(id);
+            }
+            return TreeIdIndex.NOT_FOUND;
+        }
+        return entry.slot;
+    });
+
+    IndexedTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * 批量构建，所有节点均为启用状态
+     *
+     * @param list 无结构集合
+     */
+    void build(List<T> list) {
+        List<Entry<T>> created = new ArrayList<>(list.size());
+        for (T node : list) {
+            Assert.isTrue(!entries.containsKey(node.getId()), "IndexedTree node [" + node.getId() + "] already exists");
+            created.add(register(node, true));
+            node.setChildren(null);
+        }
+        for (Entry<T> entry : created) {
+            List<String> missingIds = new ArrayList<>();
+            link(entry, findAnchor(entry, missingIds));
+            await(entry, missingIds);
+        }
+        for (Entry<T> entry : created) {
+            Entry<T> visibleParent = visibleParent(entry);
+            if (visibleParent == null) {
+                roots.add(entry.node);
+            } else {
+                childrenOf(visibleParent.node).add(entry.node);
+            }
+        }
+        if (comparator != null) {
+            roots.sort(comparator);
+        }
+        for (T root : roots) {
+            refreshSubtree(root, 0, true);
+        }
+    }
+
+    /**
+     * @return 节点数量，包括被禁用的节点
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param id 主键ID
+     * @return 节点，不存在返回null
+     */
+    public T get(String id) {
+        Entry<T> entry = entries.get(id);
+        return entry == null ? null : entry.node;
+    }
+
+    /**
+     * @param id 主键ID
+     * @return 节点是否存在且为启用状态
+     */
+    public boolean isEnabled(String id) {
+        Entry<T> entry = entries.get(id);
+        return entry != null && entry.enabled;
+    }
+
+    /**
+     * 新增启用的节点
+     *
+     * @param node 树节点
+     */
+    public void insert(T node) {
+        insert(node, true);
+    }
+
+    /**
+     * 新增节点，已存在的以该节点为父节点（或全路径祖先）的节点会挂载到该节点下 <br>
+     * 等待挂载的节点按ID索引，只处理等待该节点的节点，不需要扫描兄弟节点
+     *
+     * @param node    树节点
+     * @param enabled 是否启用
+     */
+    public void insert(T node, boolean enabled) {
+        Assert.notNull(node, "IndexedTree node can not be null");
+        Assert.isTrue(!entries.containsKey(node.getId()), "IndexedTree node [" + node.getId() + "] already exists");
+        node.setChildren(null);
+        Entry<T> entry = register(node, enabled);
+        List<String> missingIds = new ArrayList<>();
+        Entry<T> anchor = findAnchor(entry, missingIds);
+        //等待该节点的节点改为挂载到新节点下，新节点的祖先节点除外，避免形成环
+        List<Entry<T>> adopted = new ArrayList<>();
+        Set<Entry<T>> candidates = waiting.remove(node.getId());
+        if (candidates != null) {
+            for (Entry<T> candidate : candidates) {
+                candidate.waitingFor.remove(node.getId());
+                if (isAncestor(candidate, anchor)) {
+                    continue;
+                }
+                List<String> candidateMissingIds = new ArrayList<>();
+                if (findAnchor(candidate, candidateMissingIds) == entry) {
+                    adopted.add(candidate);
+                    await(candidate, candidateMissingIds);
+                }
+            }
+        }
+        List<Entry<T>> dependents = new ArrayList<>();
+        for (Entry<T> candidate : adopted) {
+            collectDependents(candidate, dependents);
+        }
+        detachAll(dependents);
+        for (Entry<T> candidate : adopted) {
+            unlink(candidate);
+            link(candidate, entry);
+        }
+        link(entry, anchor);
+        await(entry, missingIds);
+        if (entry.enabled) {
+            attach(entry);
+        }
+        attachAll(dependents);
+    }
+
+    /**
+     * 删除节点以及所有子孙节点（包括被禁用的子孙节点）
+     *
+     * @param id 主键ID
+     * @return 被删除的节点，不存在返回null
+     */
+    public T delete(String id) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        List<Entry<T>> dependents = new ArrayList<>();
+        collectDependents(entry, dependents);
+        detachAll(dependents);
+        unlink(entry);
+        Deque<Entry<T>> stack = new ArrayDeque<>();
+        stack.push(entry);
+        while (!stack.isEmpty()) {
+            Entry<T> current = stack.pop();
+            entries.remove(current.node.getId());
+            await(current, Collections.emptyList());
+            slots.set(current.slot, null);
+            freeSlots.push(current.slot);
+            if (current.anchored != null) {
+                for (Entry<T> child : current.anchored) {
+                    stack.push(child);
+                }
+            }
+        }
+        return entry.node;
+    }
+
+    /**
+     * 重新挂载节点，节点的父ID、全路径或排序字段修改后调用，子孙节点跟随移动
+     *
+     * @param node 已存在的树节点
+     */
+    public void move(T node) {
+        Assert.notNull(node, "IndexedTree node can not be null");
+        Entry<T> entry = entries.get(node.getId());
+        Assert.notNull(entry, "IndexedTree node [" + node.getId() + "] does not exist");
+        T oldNode = entry.node;
+        entry.node = node;
+        List<String> missingIds = new ArrayList<>();
+        Entry<T> anchor = findAnchor(entry, missingIds);
+        entry.node = oldNode;
+        Assert.isTrue(!isAncestor(entry, anchor), "IndexedTree node [" + node.getId() + "] can not move under its own descendant");
+        List<Entry<T>> dependents = new ArrayList<>();
+        collectDependents(entry, dependents);
+        detachAll(dependents);
+        if (node != oldNode) {
+            //传入新的对象时，接管原对象的孩子节点
+            node.setChildren(oldNode.getChildren());
+            node.setLevel(oldNode.getLevel());
+            oldNode.setChildren(null);
+            entry.node = node;
+        }
+        unlink(entry);
+        link(entry, anchor);
+        await(entry, missingIds);
+        attachAll(dependents);
+    }
+
+    /**
+     * 启用节点
+     *
+     * @param id 主键ID
+     */
+    public void enable(String id) {
+        setEnabled(id, true);
+    }
+
+    /**
+     * 禁用节点，{@link TreeNode}的子孙节点挂载到最近的启用的祖先节点，
+     * 其他节点的孩子节点作为顶级节点
+     *
+     * @param id 主键ID
+     */
+    public void disable(String id) {
+        setEnabled(id, false);
+    }
+
+    private void setEnabled(String id, boolean enabled) {
+        Entry<T> entry = entries.get(id);
+        Assert.notNull(entry, "IndexedTree node [" + id + "] does not exist");
+        if (entry.enabled == enabled) {
+            return;
+        }
+        List<Entry<T>> lifted = new ArrayList<>();
+        collectLifted(entry, lifted);
+        detachAll(lifted);
+        if (entry.enabled) {
+            detachAll(Collections.singletonList(entry));
+        }
+        entry.enabled = enabled;
+        entry.node.setChildren(null);
+        if (enabled) {
+            attach(entry);
+        }
+        attachAll(lifted);
+    }
+
+    /**
+     * 获取当前的树形结构，返回的集合为顶级节点的副本，节点对象以及孩子集合与该树共享
+     *
+     * @return 树形数据结构集合
+     */
+    public List<T> snapshot() {
+        return new ArrayList<>(roots);
+    }
+
+    private Entry<T> register(T node, boolean enabled) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = slots.size();
+            slots.add(null);
+        } else {
+            slot = freeSlots.pop();
+        }
+        Entry<T> entry = new Entry<>(slot, node, enabled);
+        slots.set(slot, entry);
+        entries.put(node.getId(), entry);
+        return entry;
+    }
+
+    /**
+     * 查找节点的祖先节点：父节点存在时为父节点，否则{@link TreeNode}为全路径中最近的存在的祖先节点
+     *
+     * @param missingIds 记录比祖先节点更近的不存在的ID
+     */
+    private Entry<T> findAnchor(Entry<T> entry, List<String> missingIds) {
+        T node = entry.node;
+        String parentId = node.getParentId();
+        if (parentId == null || node.getId().equals(parentId)) {
+            missing = missingIds;
+        } else {
+            Entry<T> parent = entries.get(parentId);
+            if (parent != null) {
+                return parent;
+            }
+            missingIds.add(parentId);
+            missing = missingIds;
+        }
+        try {
+            int slot = pathIndex.findAncestor(node, entry.slot);
+            return slot == TreeIdIndex.NOT_FOUND ? null : slots.get(slot);
+        } finally {
+            missing = null;
+        }
+    }
+
+    /**
+     * 替换节点等待的ID
+     */
+    private void await(Entry<T> entry, List<String> missingIds) {
+        if (entry.waitingFor != null) {
+            for (String id : entry.waitingFor) {
+                Set<Entry<T>> waiters = waiting.get(id);
+                if (waiters != null && waiters.remove(entry) && waiters.isEmpty()) {
+                    waiting.remove(id);
+                }
+            }
+        }
+        if (missingIds.isEmpty()) {
+            entry.waitingFor = null;
+            return;
+        }
+        //父ID可能同时出现在全路径中，每个ID只登记一次
+        List<String> distinct = new ArrayList<>(missingIds.size());
+        for (String id : missingIds) {
+            if (!distinct.contains(id)) {
+                distinct.add(id);
+                waiting.computeIfAbsent(id, key -> new LinkedHashSet<>()).add(entry);
+            }
+        }
+        entry.waitingFor = distinct;
+    }
+
+    /**
+     * @return entry是否为node本身或node的祖先节点
+     */
+    private static <T> boolean isAncestor(Entry<T> entry, Entry<T> node) {
+        for (Entry<T> current = node; current != null; current = current.anchor) {
+            if (current == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 可见的父节点，与{@link TreeNodeUtils#transformToTree(List, Comparator)}只传入启用节点时的挂载结果一致
+     */
+    private Entry<T> visibleParent(Entry<T> entry) {
+        Entry<T> anchor = entry.anchor;
+        if (!(entry.node instanceof TreeNode)) {
+            return anchor != null && anchor.enabled ? anchor : null;
+        }
+        while (anchor != null && !anchor.enabled) {
+            anchor = anchor.anchor;
+        }
+        return anchor;
+    }
+
+    private Set<Entry<T>> anchoredOf(Entry<T> anchor) {
+        if (anchor == null) {
+            return topEntries;
+        }
+        return anchor.anchored == null ? Collections.emptySet() : anchor.anchored;
+    }
+
+    private void link(Entry<T> entry, Entry<T> anchor) {
+        entry.anchor = anchor;
+        if (anchor == null) {
+            topEntries.add(entry);
+            return;
+        }
+        if (anchor.anchored == null) {
+            anchor.anchored = new LinkedHashSet<>();
+        }
+        anchor.anchored.add(entry);
+    }
+
+    private void unlink(Entry<T> entry) {
+        anchoredOf(entry.anchor).remove(entry);
+        entry.anchor = null;
+    }
+
+    /**
+     * 收集可见位置依赖该节点的启用节点：节点启用时为节点本身（子树跟随移动），
+     * 否则为经由被禁用的节点向下能到达的第一层启用节点
+     */
+    private void collectDependents(Entry<T> entry, List<Entry<T>> dependents) {
+        if (entry.enabled) {
+            dependents.add(entry);
+        } else {
+            collectLifted(entry, dependents);
+        }
+    }
+
+    /**
+     * 收集从孩子节点开始，经由被禁用的节点向下能到达的第一层启用节点
+     */
+    private void collectLifted(Entry<T> entry, List<Entry<T>> lifted) {
+        Deque<Entry<T>> stack = new ArrayDeque<>();
+        pushAnchored(stack, entry);
+        while (!stack.isEmpty()) {
+            Entry<T> current = stack.pop();
+            if (current.enabled) {
+                lifted.add(current);
+            } else {
+                pushAnchored(stack, current);
+            }
+        }
+    }
+
+    private static <T extends DiscontinuityTreeNode<T>> void pushAnchored(Deque<Entry<T>> stack, Entry<T> entry) {
+        if (entry.anchored == null) {
+            return;
+        }
+        //逆序入栈，出栈时保持挂载的顺序
+        List<Entry<T>> anchored = new ArrayList<>(entry.anchored);
+        for (int i = anchored.size() - 1; i >= 0; i--) {
+            stack.push(anchored.get(i));
+        }
+    }
+
+    private void detachAll(List<Entry<T>> dependents) {
+        for (Entry<T> dependent : dependents) {
+            Entry<T> visibleParent = visibleParent(dependent);
+            List<T> siblings = visibleParent == null ? roots : visibleParent.node.getChildren();
+            removeNode(siblings, dependent.node);
+            if (visibleParent != null && siblings.isEmpty()) {
+                visibleParent.node.setChildren(null);
+                visibleParent.node.setIsLeaf(true);
+            }
+        }
+    }
+
+    private void attachAll(List<Entry<T>> dependents) {
+        for (Entry<T> dependent : dependents) {
+            attach(dependent);
+        }
+    }
+
+    /**
+     * 将启用的节点挂载到可见的父节点下，并刷新子树的层级
+     */
+    private void attach(Entry<T> entry) {
+        Entry<T> visibleParent = visibleParent(entry);
+        int level = 0;
+        if (visibleParent == null) {
+            insertNode(roots, entry.node);
+        } else {
+            insertNode(childrenOf(visibleParent.node), entry.node);
+            visibleParent.node.setIsLeaf(false);
+            level = visibleParent.node.getLevel() + 1;
+        }
+        //层级未变化时子树不需要刷新
+        if (entry.node.getLevel() == null || entry.node.getLevel() != level) {
+            refreshSubtree(entry.node, level, false);
+        } else {
+            List<T> children = entry.node.getChildren();
+            entry.node.setIsLeaf(children == null || children.isEmpty());
+        }
+    }
+
+    private List<T> childrenOf(T node) {
+        if (node.getChildren() == null) {
+            node.setChildren(new ArrayList<>());
+        }
+        return node.getChildren();
+    }
+
+    /**
+     * 刷新子树的层级和叶子节点标识
+     *
+     * @param sort 是否同时对孩子集合排序
+     */
+    private void refreshSubtree(T node, int level, boolean sort) {
+        Deque<T> stack = new ArrayDeque<>();
+        node.setLevel(level);
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            T current = stack.pop();
+            List<T> children = current.getChildren();
+            boolean leaf = children == null || children.isEmpty();
+            current.setIsLeaf(leaf);
+            if (leaf) {
+                continue;
+            }
+            if (sort && comparator != null) {
+                children.sort(comparator);
+            }
+            for (T child : children) {
+                child.setLevel(current.getLevel() + 1);
+                stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * 有序插入，与稳定排序的结果一致，相等的节点插入到最后
+     */
+    private void insertNode(List<T> list, T node) {
+        if (comparator == null) {
+            list.add(node);
+            return;
+        }
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(list.get(mid), node) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        list.add(low, node);
+    }
+
+    /**
+     * 按对象引用删除，排序字段未修改时使用二分查找定位
+     */
+    private void removeNode(List<T> list, T node) {
+        if (comparator != null) {
+            int low = 0;
+            int high = list.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparator.compare(list.get(mid), node) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < list.size() && comparator.compare(list.get(i), node) == 0; i++) {
+                if (list.get(i) == node) {
+                    list.remove(i);
+                    return;
+                }
+            }
+        }
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) == node) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final int slot;
+
+        private T node;
+
+        private boolean enabled;
+
+        /**
+         * 祖先节点，父节点存在时为父节点，否则为全路径中最近的存在的祖先节点
+         */
+        private Entry<T> anchor;
+
+        /**
+         * 以该节点为祖先节点的节点，按对象引用比较，保持挂载的顺序
+         */
+        private Set<Entry<T>> anchored;
+
+        /**
+         * 等待的不存在的ID，没有时为null
+         */
+        private List<String> waitingFor;
+
+        Entry(int slot, T node, boolean enabled) {
+            this.slot = slot;
+            this.node = node;
+            this.enabled = enabled;
+        }
+    }
+}
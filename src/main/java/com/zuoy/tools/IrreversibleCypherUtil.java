@@ -1,82 +1,169 @@
 package com.zuoy.tools;
 
 
-import org.springframework.util.Base64Utils;
-import org.springframework.util.DigestUtils;
+import org.springframework.util.Assert;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
- * 不可逆加密工具类
+ * 不可逆加密工具类 <br>
+ * 加密次数由hashCode决定且没有盐，不适合保存密码，密码散列使用{@link PasswordUtils}，已有的散列可以在登录时升级
  *
  * @author zuoy
  * @date 2019-08-14
  */
 public class IrreversibleCypherUtil {
 
+    /**
+     * 批量加密时超过该个数并行计算
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private static final ThreadLocal<Engine> ENGINE = ThreadLocal.withInitial(Engine::new);
+
     /**
      * 根据加密次数进行循环加密，奇数循环次数为base64，偶数循环次数为md5
-     * 加密次数：取得加密字符串的hash值的前两位，再根据hash前两位除2取绝对值 + 1
+     * 加密次数：取得加密字符串的hash值的前两位，再根据hash前两位除2取绝对值 + 1 <br>
+     * 每个线程复用一个MessageDigest和字节缓冲区，md5的十六进制结果和base64结果都直接写入字节数组，只在最后创建一次String；
+     * 结果与逐轮使用String计算完全相同，hash值为0-9时与原实现一样抛出NumberFormatException
      *
      * @param encodeToString 加密字符串
      * @return 加密后的结果
      */
     public static String encodeToString(String encodeToString) {
         // 获取加密次数
-        int count = getEncodeCount(encodeToString);
-        for (int i = 0; i <= count; i++) {
-            if ((i & 1) == 1) {
-                // 循环次数奇数 base64加密
-                encodeToString = base64EncodeToString(encodeToString);
-            } else {
-                // 循环次数偶数 md5加密
-                encodeToString = md5EncodeToString(encodeToString);
-            }
-        }
-        return encodeToString;
+        int count = getEncodeCount(encodeToString.hashCode());
+        return ENGINE.get().encode(encodeToString, count);
     }
 
     /**
-     * base64加密
+     * 批量加密，值的个数较多时在ForkJoinPool.commonPool()中并行计算，结果与逐个调用{@link #encodeToString(String)}相同
      *
-     * @param encodeToString 加密字符串
-     * @return
+     * @param values 加密字符串数组，不能包含null
+     * @return 按顺序的加密结果
      */
-    private static String base64EncodeToString(String encodeToString) {
-        try {
-            return new String(Base64Utils.encode(encodeToString.getBytes("UTF-8")));
-        } catch (UnsupportedEncodingException e) {
-            return encodeToString;
+    public static String[] encodeToString(String[] values) {
+        Assert.notNull(values, "IrreversibleCypherUtil values param is null");
+        String[] result = new String[values.length];
+        IntStream stream = IntStream.range(0, values.length);
+        if (values.length > PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
         }
+        stream.forEach(i -> result[i] = encodeToString(values[i]));
+        return result;
     }
 
     /**
-     * md5加密
+     * 批量加密
      *
-     * @param encodeToString 加密字符串
-     * @return
+     * @param values 加密字符串集合，不能包含null
+     * @return 按顺序的加密结果
+     * @see #encodeToString(String[])
      */
-    private static String md5EncodeToString(String encodeToString) {
-        try {
-            return DigestUtils.md5DigestAsHex(encodeToString.getBytes("UTF-8"));
-        } catch (UnsupportedEncodingException e) {
-            return encodeToString;
-        }
+    public static String[] encodeToString(List<String> values) {
+        Assert.notNull(values, "IrreversibleCypherUtil values param is null");
+        return encodeToString(values.toArray(new String[0]));
+    }
+
+    /**
+     * 批量加密，按流的顺序返回
+     *
+     * @param values 加密字符串流，不能包含null
+     * @return 按顺序的加密结果
+     * @see #encodeToString(String[])
+     */
+    public static String[] encodeToString(Stream<String> values) {
+        Assert.notNull(values, "IrreversibleCypherUtil values param is null");
+        return encodeToString(values.toArray(String[]::new));
     }
 
     /**
      * 获取加密次数
-     * 取得加密字符串的hash值的前两位
+     * 取得加密字符串的hash值十进制表示的前两位（负数为负号和第一位数字）
      * 再根据hash前两位除2取绝对值+1，
      *
-     * @param encodeToString
-     * @return
+     * @param hash 加密字符串的hash值
+     * @return 加密次数
+     */
+    static int getEncodeCount(int hash) {
+        if (hash >= 0 && hash < 10) {
+            // 只有一位数字时原实现取substring(1)为空字符串，解析抛出NumberFormatException
+            throw new NumberFormatException("For input string: \"\"");
+        }
+        if (hash < 0) {
+            // "-d"，除2取绝对值
+            return leadingDigits(-(long) hash, 1) / 2 + 1;
+        }
+        return leadingDigits(hash, 2) / 2 + 1;
+    }
+
+    /**
+     * @return value十进制表示的前digits位
      */
-    private static Integer getEncodeCount(String encodeToString) {
-        // 获取hash前两位
-        String hash = String.valueOf(encodeToString.hashCode());
-        String tempHash = hash.length() == 1 ? hash.substring(1) : hash.substring(0, 2);
-        // 返回加密次数
-        return Math.abs(Integer.parseInt(tempHash) / 2) + 1;
+    private static int leadingDigits(long value, int digits) {
+        long limit = digits == 1 ? 10 : 100;
+        while (value >= limit) {
+            value /= 10;
+        }
+        return (int) value;
+    }
+
+    /**
+     * 线程复用的摘要和缓冲区，md5结果为32字节的小写十六进制，base64的输入总是上一轮32字节的十六进制，结果为44字节
+     */
+    private static final class Engine {
+
+        private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        private static final int HEX_LENGTH = 32;
+
+        private static final int BASE64_LENGTH = 44;
+
+        private final MessageDigest digest = Md5Utils.newDigest();
+
+        private final byte[] md5 = new byte[Md5Utils.DIGEST_LENGTH];
+
+        private final byte[] hex = new byte[HEX_LENGTH];
+
+        private final byte[] base64 = new byte[BASE64_LENGTH];
+
+        private final Base64.Encoder encoder = Base64.getEncoder();
+
+        private String encode(String text, int count) {
+            // 第0轮 md5
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            md5Hex();
+            for (int i = 1; i <= count; i++) {
+                if ((i & 1) == 1) {
+                    // 循环次数奇数 base64加密
+                    encoder.encode(hex, base64);
+                } else {
+                    // 循环次数偶数 md5加密
+                    digest.update(base64);
+                    md5Hex();
+                }
+            }
+            return (count & 1) == 1
+                    ? new String(base64, 0, BASE64_LENGTH, StandardCharsets.ISO_8859_1)
+                    : new String(hex, 0, HEX_LENGTH, StandardCharsets.ISO_8859_1);
+        }
+
+        private void md5Hex() {
+            try {
+                digest.digest(md5, 0, md5.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            for (int i = 0; i < md5.length; i++) {
+                hex[i * 2] = HEX_DIGITS[md5[i] >>> 4 & 0xf];
+                hex[i * 2 + 1] = HEX_DIGITS[md5[i] & 0xf];
+            }
+        }
     }
 }
@@ -0,0 +1,528 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DateGranularityEnum;
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * java.time日期帮助类 <br>
+ * 与{@link DateUtils}的格式化、解析、加减、月季年首末日、相隔天数对应，参数和返回值为{@link LocalDate}、
+ * {@link LocalDateTime}或者1970-01-01为第0天的int天数，不经过Date、Joda的DateTime和时区转换。<br>
+ * 定长数字格式直接按字段读写，int天数的计算使用{@link CalendarMath}的整数运算，只创建返回的对象；
+ * 中文等其他格式使用Joda按UTC格式化和解析，与{@link DateUtils}的结果一致。<br>
+ * 修改月份时日超过目标月份的天数取最后一天，LocalDateTime保留时分秒，与{@link DateUtils}一致
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class LocalDateUtils {
+
+    private static final long MILLIS_PER_DAY = CalendarMath.MILLIS_PER_DAY;
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * int天数直接计算的范围，0年1月1日（包含）至9999年12月31日（包含），超出范围时使用LocalDate计算
+     */
+    private static final long MIN_EPOCH_DAY = CalendarMath.toEpochDay(0, 1, 1);
+
+    private static final long MAX_EPOCH_DAY = CalendarMath.toEpochDay(9999, 12, 31);
+
+    private LocalDateUtils() {
+    }
+
+    /**
+     * 格式化日期，时分秒为0
+     *
+     * @param date    日期
+     * @param pattern 日期格式
+     * @return 日期字符串
+     */
+    public static String formatDate(LocalDate date, DatePatternEnum pattern) {
+        Assert.notNull(date, "LocalDateUtils date param is null");
+        return FixedDateFormatter.formatLocal(toLocal(date.toEpochDay()), pattern);
+    }
+
+    /**
+     * 格式化日期时间，毫秒以下的部分舍去
+     *
+     * @param dateTime 日期时间
+     * @param pattern  日期格式
+     * @return 日期字符串
+     */
+    public static String formatDate(LocalDateTime dateTime, DatePatternEnum pattern) {
+        Assert.notNull(dateTime, "LocalDateUtils dateTime param is null");
+        long millisOfDay = dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_MILLI;
+        return FixedDateFormatter.formatLocal(toLocal(dateTime.toLocalDate().toEpochDay()) + millisOfDay, pattern);
+    }
+
+    /**
+     * 格式化日期，时分秒为0
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @param pattern  日期格式
+     * @return 日期字符串
+     */
+    public static String formatDate(int epochDay, DatePatternEnum pattern) {
+        return FixedDateFormatter.formatLocal(epochDay * MILLIS_PER_DAY, pattern);
+    }
+
+    /**
+     * 解析日期，格式中的时分秒舍去
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 日期格式
+     * @return 日期
+     */
+    public static LocalDate parseLocalDate(CharSequence dateStr, DatePatternEnum pattern) {
+        return LocalDate.ofEpochDay(Math.floorDiv(parseLocal(dateStr, pattern), MILLIS_PER_DAY));
+    }
+
+    /**
+     * 解析日期时间，格式中没有年月日时为1970-01-01
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 日期格式
+     * @return 日期时间
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence dateStr, DatePatternEnum pattern) {
+        long local = parseLocal(dateStr, pattern);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(local, 1000), (int) Math.floorMod(local, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+
+    /**
+     * 解析日期，格式中的时分秒舍去
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 日期格式
+     * @return 1970-01-01为第0天的天数
+     */
+    public static int parseEpochDay(CharSequence dateStr, DatePatternEnum pattern) {
+        return Math.toIntExact(Math.floorDiv(parseLocal(dateStr, pattern), MILLIS_PER_DAY));
+    }
+
+    /**
+     * 解析为本地时间，定长解析失败时使用Joda按UTC解析，保持{@link DateUtils#parseDate(String, DatePatternEnum)}的宽松解析和异常信息
+     */
+    private static long parseLocal(CharSequence dateStr, DatePatternEnum pattern) {
+        Assert.notNull(dateStr, "LocalDateUtils dateStr param is null");
+        Assert.notNull(pattern, "LocalDateUtils pattern param is null");
+        long local = FixedDateParser.parseLocal(dateStr, 0, dateStr.length(), pattern);
+        return local == FixedDateParser.INVALID
+                ? DateFormatterRegistry.get(pattern).withZoneUTC().parseMillis(dateStr.toString()) : local;
+    }
+
+    /**
+     * 在传入日期基础上加一定天数
+     *
+     * @param date 日期
+     * @param day  增加的天数,正数表示增加，负数表示减少
+     * @return 增加天数后的日期
+     */
+    public static LocalDate addDay(LocalDate date, int day) {
+        return date.plusDays(day);
+    }
+
+    /**
+     * 在传入时间基础上加一定天数
+     *
+     * @param dateTime 日期时间
+     * @param day      增加的天数,正数表示增加，负数表示减少
+     * @return 增加天数后的日期时间
+     */
+    public static LocalDateTime addDay(LocalDateTime dateTime, int day) {
+        return dateTime.plusDays(day);
+    }
+
+    /**
+     * 在传入日期基础上加一定天数
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @param day      增加的天数,正数表示增加，负数表示减少
+     * @return 增加天数后的天数
+     */
+    public static int addDay(int epochDay, int day) {
+        return Math.addExact(epochDay, day);
+    }
+
+    /**
+     * 在传入日期基础上加一定月份
+     *
+     * @param date  日期
+     * @param month 增加的月份,正数表示增加，负数表示减少
+     * @return 增加月份后的日期
+     */
+    public static LocalDate addMonth(LocalDate date, int month) {
+        return date.plusMonths(month);
+    }
+
+    /**
+     * 在传入时间基础上加一定月份
+     *
+     * @param dateTime 日期时间
+     * @param month    增加的月份,正数表示增加，负数表示减少
+     * @return 增加月份后的日期时间
+     */
+    public static LocalDateTime addMonth(LocalDateTime dateTime, int month) {
+        return dateTime.plusMonths(month);
+    }
+
+    /**
+     * 在传入日期基础上加一定月份
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @param month    增加的月份,正数表示增加，负数表示减少
+     * @return 增加月份后的天数
+     */
+    public static int addMonth(int epochDay, int month) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(LocalDate.ofEpochDay(epochDay).plusMonths(month));
+        }
+        return localToEpochDay(CalendarMath.plusMonths(epochDay * MILLIS_PER_DAY, month));
+    }
+
+    /**
+     * 在传入日期基础上加一定年份
+     *
+     * @param date 日期
+     * @param year 增加的年份,正数表示增加，负数表示减少
+     * @return 增加年份后的日期
+     */
+    public static LocalDate addYear(LocalDate date, int year) {
+        return date.plusYears(year);
+    }
+
+    /**
+     * 在传入时间基础上加一定年份
+     *
+     * @param dateTime 日期时间
+     * @param year     增加的年份,正数表示增加，负数表示减少
+     * @return 增加年份后的日期时间
+     */
+    public static LocalDateTime addYear(LocalDateTime dateTime, int year) {
+        return dateTime.plusYears(year);
+    }
+
+    /**
+     * 在传入日期基础上加一定年份
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @param year     增加的年份,正数表示增加，负数表示减少
+     * @return 增加年份后的天数
+     */
+    public static int addYear(int epochDay, int year) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(LocalDate.ofEpochDay(epochDay).plusYears(year));
+        }
+        return localToEpochDay(CalendarMath.plusYears(epochDay * MILLIS_PER_DAY, year));
+    }
+
+    /**
+     * 计算两个日期的相隔天数
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @return 相隔天数
+     */
+    public static long getBetweenDay(LocalDate startDate, LocalDate endDate) {
+        return endDate.toEpochDay() - startDate.toEpochDay();
+    }
+
+    /**
+     * 计算两个时间的相隔天数，与{@link DateUtils#getBetweenDay(long, long)}一致，不足一天的部分舍去
+     *
+     * @param startDateTime 开始时间
+     * @param endDateTime   结束时间
+     * @return 相隔天数
+     */
+    public static long getBetweenDay(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        long days = endDateTime.toLocalDate().toEpochDay() - startDateTime.toLocalDate().toEpochDay();
+        long nanos = endDateTime.toLocalTime().toNanoOfDay() - startDateTime.toLocalTime().toNanoOfDay();
+        if (days > 0 && nanos < 0) {
+            days--;
+        } else if (days < 0 && nanos > 0) {
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * 计算两个日期的相隔天数
+     *
+     * @param startEpochDay 开始日期的天数
+     * @param endEpochDay   结束日期的天数
+     * @return 相隔天数
+     */
+    public static long getBetweenDay(int startEpochDay, int endEpochDay) {
+        return (long) endEpochDay - startEpochDay;
+    }
+
+    /**
+     * 得到月的第一天
+     *
+     * @param date 日期
+     * @return 日期
+     */
+    public static LocalDate getMonthFirstDay(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    /**
+     * 得到月的第一天，保留时分秒
+     *
+     * @param dateTime 日期时间
+     * @return 日期时间
+     */
+    public static LocalDateTime getMonthFirstDay(LocalDateTime dateTime) {
+        return dateTime.withDayOfMonth(1);
+    }
+
+    /**
+     * 得到月的第一天
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 天数
+     */
+    public static int getMonthFirstDay(int epochDay) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(getMonthFirstDay(LocalDate.ofEpochDay(epochDay)));
+        }
+        int date = CalendarMath.toYyyymmdd(epochDay);
+        return epochDay - date % 100 + 1;
+    }
+
+    /**
+     * 得到月的最后一天
+     *
+     * @param date 日期
+     * @return 日期
+     */
+    public static LocalDate getMonthLastDay(LocalDate date) {
+        return date.withDayOfMonth(date.lengthOfMonth());
+    }
+
+    /**
+     * 得到月的最后一天，保留时分秒
+     *
+     * @param dateTime 日期时间
+     * @return 日期时间
+     */
+    public static LocalDateTime getMonthLastDay(LocalDateTime dateTime) {
+        return dateTime.withDayOfMonth(dateTime.toLocalDate().lengthOfMonth());
+    }
+
+    /**
+     * 得到月的最后一天
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 天数
+     */
+    public static int getMonthLastDay(int epochDay) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(getMonthLastDay(LocalDate.ofEpochDay(epochDay)));
+        }
+        int date = CalendarMath.toYyyymmdd(epochDay);
+        return epochDay - date % 100 + CalendarMath.lengthOfMonth(date / 10000, date / 100 % 100);
+    }
+
+    /**
+     * 得到季度的第一天
+     *
+     * @param date 日期
+     * @return 日期
+     */
+    public static LocalDate getSeasonFirstDay(LocalDate date) {
+        return LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+    }
+
+    /**
+     * 得到季度的第一天，保留时分秒
+     *
+     * @param dateTime 日期时间
+     * @return 日期时间
+     */
+    public static LocalDateTime getSeasonFirstDay(LocalDateTime dateTime) {
+        return dateTime.with(getSeasonFirstDay(dateTime.toLocalDate()));
+    }
+
+    /**
+     * 得到季度的第一天
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 天数
+     */
+    public static int getSeasonFirstDay(int epochDay) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(getSeasonFirstDay(LocalDate.ofEpochDay(epochDay)));
+        }
+        int date = CalendarMath.toYyyymmdd(epochDay);
+        return (int) CalendarMath.toEpochDay(date / 10000, (date / 100 % 100 - 1) / 3 * 3 + 1, 1);
+    }
+
+    /**
+     * 得到季度的最后一天
+     *
+     * @param date 日期
+     * @return 日期
+     */
+    public static LocalDate getSeasonLastDay(LocalDate date) {
+        int year = date.getYear();
+        int month = (date.getMonthValue() - 1) / 3 * 3 + 3;
+        return LocalDate.of(year, month, CalendarMath.lengthOfMonth(year, month));
+    }
+
+    /**
+     * 得到季度的最后一天，保留时分秒
+     *
+     * @param dateTime 日期时间
+     * @return 日期时间
+     */
+    public static LocalDateTime getSeasonLastDay(LocalDateTime dateTime) {
+        return dateTime.with(getSeasonLastDay(dateTime.toLocalDate()));
+    }
+
+    /**
+     * 得到季度的最后一天
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 天数
+     */
+    public static int getSeasonLastDay(int epochDay) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(getSeasonLastDay(LocalDate.ofEpochDay(epochDay)));
+        }
+        int date = CalendarMath.toYyyymmdd(epochDay);
+        int year = date / 10000;
+        int month = (date / 100 % 100 - 1) / 3 * 3 + 3;
+        return (int) CalendarMath.toEpochDay(year, month, CalendarMath.lengthOfMonth(year, month));
+    }
+
+    /**
+     * 获取年第一天日期
+     *
+     * @param date 日期
+     * @return 日期
+     */
+    public static LocalDate getYearFirstDay(LocalDate date) {
+        return date.withDayOfYear(1);
+    }
+
+    /**
+     * 获取年第一天日期，保留时分秒
+     *
+     * @param dateTime 日期时间
+     * @return 日期时间
+     */
+    public static LocalDateTime getYearFirstDay(LocalDateTime dateTime) {
+        return dateTime.withDayOfYear(1);
+    }
+
+    /**
+     * 获取年第一天日期
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 天数
+     */
+    public static int getYearFirstDay(int epochDay) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(getYearFirstDay(LocalDate.ofEpochDay(epochDay)));
+        }
+        return (int) CalendarMath.toEpochDay(CalendarMath.toYyyymmdd(epochDay) / 10000, 1, 1);
+    }
+
+    /**
+     * 获取年最后一天日期
+     *
+     * @param date 日期
+     * @return 日期
+     */
+    public static LocalDate getYearLastDay(LocalDate date) {
+        return LocalDate.of(date.getYear(), 12, 31);
+    }
+
+    /**
+     * 获取年最后一天日期，保留时分秒
+     *
+     * @param dateTime 日期时间
+     * @return 日期时间
+     */
+    public static LocalDateTime getYearLastDay(LocalDateTime dateTime) {
+        return dateTime.with(getYearLastDay(dateTime.toLocalDate()));
+    }
+
+    /**
+     * 获取年最后一天日期
+     *
+     * @param epochDay 1970-01-01为第0天的天数
+     * @return 天数
+     */
+    public static int getYearLastDay(int epochDay) {
+        if (!inRange(epochDay)) {
+            return toEpochDay(getYearLastDay(LocalDate.ofEpochDay(epochDay)));
+        }
+        return (int) CalendarMath.toEpochDay(CalendarMath.toYyyymmdd(epochDay) / 10000, 12, 31);
+    }
+
+    /**
+     * 按粒度生成时间段的第一天，从开始日期所在的时间段至结束日期（不包含）之前所在的时间段，延迟计算
+     *
+     * @param startDate   开始日期
+     * @param endDate     结束日期（不包含）
+     * @param granularity 粒度，不能小于天
+     * @return 各时间段的第一天
+     */
+    public static Stream<LocalDate> range(LocalDate startDate, LocalDate endDate, DateGranularityEnum granularity) {
+        return range(startDate.toEpochDay(), endDate.toEpochDay(), granularity).mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * 按粒度生成时间段的第一天，参考{@link #range(LocalDate, LocalDate, DateGranularityEnum)}
+     *
+     * @param startEpochDay 开始日期的天数
+     * @param endEpochDay   结束日期的天数（不包含）
+     * @param granularity   粒度，不能小于天
+     * @return 各时间段第一天的天数
+     */
+    public static IntStream range(int startEpochDay, int endEpochDay, DateGranularityEnum granularity) {
+        return range((long) startEpochDay, endEpochDay, granularity).mapToInt(epochDay -> (int) epochDay);
+    }
+
+    private static LongStream range(long startEpochDay, long endEpochDay, DateGranularityEnum granularity) {
+        Assert.notNull(granularity, "LocalDateUtils granularity param is null");
+        Assert.isTrue(granularity.compareTo(DateGranularityEnum.DAY) >= 0, "LocalDateUtils granularity must not be less than DAY");
+        if (endEpochDay <= startEpochDay) {
+            return LongStream.empty();
+        }
+        long first = DatePeriods.period(toLocal(startEpochDay), granularity);
+        long last = DatePeriods.period(toLocal(endEpochDay) - 1, granularity);
+        return LongStream.rangeClosed(first, last)
+                .map(period -> Math.floorDiv(DatePeriods.startLocal(period, granularity), MILLIS_PER_DAY));
+    }
+
+    /**
+     * @return 天数转换为本地时间，超出long的范围时抛出ArithmeticException
+     */
+    private static long toLocal(long epochDay) {
+        return Math.multiplyExact(epochDay, MILLIS_PER_DAY);
+    }
+
+    private static boolean inRange(int epochDay) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static int localToEpochDay(long local) {
+        return Math.toIntExact(Math.floorDiv(local, MILLIS_PER_DAY));
+    }
+}
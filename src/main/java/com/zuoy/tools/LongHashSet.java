@@ -0,0 +1,124 @@
+package com.zuoy.tools;
+
+import java.util.Arrays;
+
+/**
+ * long值的哈希集合，开放寻址、线性探测，不装箱 <br>
+ * 0作为空位标记，集合中的0单独记录
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class LongHashSet {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+
+    private int mask;
+
+    private int size;
+
+    private boolean containsZero;
+
+    /**
+     * @param expectedSize 预计的元素个数
+     */
+    LongHashSet(int expectedSize) {
+        int capacity = (int) Math.min(MAX_CAPACITY, Long.highestOneBit(Math.max(expectedSize, 8) * 4L - 1));
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return 集合中原来没有该值时返回true
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = hash(value) & mask;
+        long key;
+        while ((key = keys[index]) != 0) {
+            if (key == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = value;
+        if (++size > (keys.length >> 1) && keys.length < MAX_CAPACITY) {
+            resize();
+        }
+        return true;
+    }
+
+    boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int index = hash(value) & mask;
+        long key;
+        while ((key = keys[index]) != 0) {
+            if (key == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 去掉重复值的数组，保持第一次出现的顺序
+     */
+    static long[] distinct(long[] values) {
+        LongHashSet set = new LongHashSet(values.length);
+        long[] result = new long[values.length];
+        int size = 0;
+        for (long value : values) {
+            if (set.add(value)) {
+                result[size++] = value;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 先去重再排序，重复值多时只需要排序去重后的值
+     *
+     * @return 从小到大排序并去掉重复值的数组
+     */
+    static long[] sortedDistinct(long[] values) {
+        long[] result = distinct(values);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        keys = new long[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int index = hash(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -1,41 +1,819 @@
 package com.zuoy.tools;
 
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
- * MD5加密工具类
+ * MD5加密工具类 <br>
+ * 每个线程复用一个MessageDigest和编码缓冲区，字符串统一按UTF-8编码，长字符串分段编码后写入摘要，不创建完整的byte[]；
+ * 十六进制结果可以写入调用方提供的char[]，不创建String
  *
  * @author chenlw
  */
 public class Md5Utils {
     private final static char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
 
+    /**
+     * MD5摘要的字节数
+     */
+    public static final int DIGEST_LENGTH = 16;
+
+    /**
+     * MD5十六进制字符串的长度
+     */
+    public static final int HEX_LENGTH = DIGEST_LENGTH * 2;
+
+    /**
+     * 字符串分段编码的缓冲区大小
+     */
+    private static final int ENCODE_BUFFER_SIZE = 4096;
+
+    /**
+     * 不超过该长度的字符串直接用String.getBytes(UTF_8)编码，JDK的实现对ASCII字符串更快；更长的字符串分段编码，不创建完整的byte[]
+     */
+    private static final int DIRECT_ENCODE_LENGTH = 1024;
+
+    /**
+     * 读取输入流和通道的缓冲区大小，通道使用直接内存
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 文件不小于该大小时按内存映射读取
+     */
+    private static final long MAP_THRESHOLD = 4L * 1024 * 1024;
+
+    /**
+     * 每次内存映射的最大字节数
+     */
+    private static final long MAP_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * 树形摘要默认的分段大小
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * 批量计算时每块的个数
+     */
+    private static final int BULK_CHUNK_SIZE = 1024;
+
+    /**
+     * 树形摘要的并行度，包括调用线程
+     */
+    private static final int TREE_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    /**
+     * 字符串按UTF-8编码后计算MD5，null和空白字符串按空字符串计算
+     *
+     * @param str 字符串
+     * @return 32位小写十六进制字符串
+     */
     public static String encode(String str) {
-        if (str == null || str.trim().length() == 0) {
-            str = "";
+        State state = STATE.get();
+        digest(state, str, state.result, 0);
+        return new String(toHex(state.result, state.hex, 0), 0, HEX_LENGTH);
+    }
+
+    /**
+     * 字符串按UTF-8编码后计算MD5并写入hex，null和空白字符串按空字符串计算
+     *
+     * @param str    字符串
+     * @param hex    字符数组，从offset开始至少有{@link #HEX_LENGTH}个位置
+     * @param offset 开始写入的位置
+     * @return 写入结束的位置
+     */
+    public static int encode(String str, char[] hex, int offset) {
+        Assert.notNull(hex, "Md5Utils hex param is null");
+        State state = STATE.get();
+        digest(state, str, state.result, 0);
+        toHex(state.result, hex, offset);
+        return offset + HEX_LENGTH;
+    }
+
+    /**
+     * @param bytes 字节数组
+     * @return 32位小写十六进制字符串
+     */
+    public static String encode(byte[] bytes) {
+        Assert.notNull(bytes, "Md5Utils bytes param is null");
+        return encode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @param bytes  字节数组
+     * @param offset 开始位置
+     * @param length 字节数
+     * @return 32位小写十六进制字符串
+     */
+    public static String encode(byte[] bytes, int offset, int length) {
+        State state = STATE.get();
+        digest(state, bytes, offset, length, state.result, 0);
+        return new String(toHex(state.result, state.hex, 0), 0, HEX_LENGTH);
+    }
+
+    /**
+     * 计算字节数组一段的MD5并写入hex
+     *
+     * @param bytes     字节数组
+     * @param offset    开始位置
+     * @param length    字节数
+     * @param hex       字符数组，从hexOffset开始至少有{@link #HEX_LENGTH}个位置
+     * @param hexOffset 开始写入的位置
+     * @return 写入结束的位置
+     */
+    public static int encode(byte[] bytes, int offset, int length, char[] hex, int hexOffset) {
+        Assert.notNull(hex, "Md5Utils hex param is null");
+        State state = STATE.get();
+        digest(state, bytes, offset, length, state.result, 0);
+        toHex(state.result, hex, hexOffset);
+        return hexOffset + HEX_LENGTH;
+    }
+
+    /**
+     * 计算ByteBuffer从position到limit之间内容的MD5，计算后position等于limit
+     *
+     * @param buffer ByteBuffer
+     * @return 32位小写十六进制字符串
+     */
+    public static String encode(ByteBuffer buffer) {
+        State state = STATE.get();
+        digest(state, buffer, state.result, 0);
+        return new String(toHex(state.result, state.hex, 0), 0, HEX_LENGTH);
+    }
+
+    /**
+     * 计算ByteBuffer从position到limit之间内容的MD5并写入hex，计算后position等于limit
+     *
+     * @param buffer    ByteBuffer
+     * @param hex       字符数组，从hexOffset开始至少有{@link #HEX_LENGTH}个位置
+     * @param hexOffset 开始写入的位置
+     * @return 写入结束的位置
+     */
+    public static int encode(ByteBuffer buffer, char[] hex, int hexOffset) {
+        Assert.notNull(hex, "Md5Utils hex param is null");
+        State state = STATE.get();
+        digest(state, buffer, state.result, 0);
+        toHex(state.result, hex, hexOffset);
+        return hexOffset + HEX_LENGTH;
+    }
+
+    /**
+     * 字符串按UTF-8编码后计算MD5，null和空白字符串按空字符串计算
+     *
+     * @param str 字符串
+     * @return 16字节的摘要
+     */
+    public static byte[] digest(String str) {
+        State state = STATE.get();
+        digest(state, str, state.result, 0);
+        return state.result.clone();
+    }
+
+    /**
+     * 计算字节数组一段的MD5并写入target
+     *
+     * @param bytes        字节数组
+     * @param offset       开始位置
+     * @param length       字节数
+     * @param target       结果数组，从targetOffset开始至少有{@link #DIGEST_LENGTH}个位置
+     * @param targetOffset 开始写入的位置
+     * @return 写入结束的位置
+     */
+    public static int digest(byte[] bytes, int offset, int length, byte[] target, int targetOffset) {
+        Assert.notNull(target, "Md5Utils target param is null");
+        digest(STATE.get(), bytes, offset, length, target, targetOffset);
+        return targetOffset + DIGEST_LENGTH;
+    }
+
+    /**
+     * 计算ByteBuffer从position到limit之间内容的MD5并写入target，计算后position等于limit
+     *
+     * @param buffer       ByteBuffer
+     * @param target       结果数组，从targetOffset开始至少有{@link #DIGEST_LENGTH}个位置
+     * @param targetOffset 开始写入的位置
+     * @return 写入结束的位置
+     */
+    public static int digest(ByteBuffer buffer, byte[] target, int targetOffset) {
+        Assert.notNull(target, "Md5Utils target param is null");
+        digest(STATE.get(), buffer, target, targetOffset);
+        return targetOffset + DIGEST_LENGTH;
+    }
+
+    /**
+     * 读取输入流直到结束并计算MD5，不关闭输入流
+     *
+     * @param in 输入流
+     * @return 16字节的摘要
+     * @throws IOException 读取失败
+     */
+    public static byte[] digest(InputStream in) throws IOException {
+        Assert.notNull(in, "Md5Utils in param is null");
+        State state = STATE.get();
+        byte[] buffer = state.streamBuffer();
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                state.digest.update(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            state.digest.reset();
+            throw e;
+        }
+        byte[] result = new byte[DIGEST_LENGTH];
+        finish(state.digest, result, 0);
+        return result;
+    }
+
+    /**
+     * 读取输入流直到结束并计算MD5，不关闭输入流
+     *
+     * @param in 输入流
+     * @return 32位小写十六进制字符串
+     * @throws IOException 读取失败
+     */
+    public static String encode(InputStream in) throws IOException {
+        return new String(toHex(digest(in), new char[HEX_LENGTH], 0));
+    }
+
+    /**
+     * 读取通道直到结束并计算MD5，通道需要是阻塞模式，不关闭通道
+     *
+     * @param channel 通道
+     * @return 16字节的摘要
+     * @throws IOException 读取失败
+     */
+    public static byte[] digest(ReadableByteChannel channel) throws IOException {
+        Assert.notNull(channel, "Md5Utils channel param is null");
+        State state = STATE.get();
+        try {
+            update(state, channel);
+        } catch (IOException | RuntimeException e) {
+            state.digest.reset();
+            throw e;
+        }
+        byte[] result = new byte[DIGEST_LENGTH];
+        finish(state.digest, result, 0);
+        return result;
+    }
+
+    /**
+     * 读取通道直到结束并计算MD5，通道需要是阻塞模式，不关闭通道
+     *
+     * @param channel 通道
+     * @return 32位小写十六进制字符串
+     * @throws IOException 读取失败
+     */
+    public static String encode(ReadableByteChannel channel) throws IOException {
+        return new String(toHex(digest(channel), new char[HEX_LENGTH], 0));
+    }
+
+    /**
+     * 按内存映射计算文件一段的MD5，每次映射不超过{@value #MAP_SIZE}字节，不改变通道的position
+     *
+     * @param channel  文件通道
+     * @param position 开始位置
+     * @param size     字节数
+     * @return 16字节的摘要
+     * @throws IOException 映射失败
+     */
+    public static byte[] digest(FileChannel channel, long position, long size) throws IOException {
+        Assert.notNull(channel, "Md5Utils channel param is null");
+        Assert.isTrue(position >= 0 && size >= 0, "Md5Utils position or size param is negative");
+        byte[] result = new byte[DIGEST_LENGTH];
+        digestMapped(STATE.get().digest, channel, position, size, result, 0);
+        return result;
+    }
+
+    /**
+     * 计算文件的MD5，不小于{@value #MAP_THRESHOLD}字节的文件按内存映射读取，否则按块读取
+     *
+     * @param file 文件
+     * @return 16字节的摘要
+     * @throws IOException 读取失败
+     */
+    public static byte[] digest(Path file) throws IOException {
+        Assert.notNull(file, "Md5Utils file param is null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return digest(channel, 0, size);
+            }
+            return digest(channel);
+        }
+    }
+
+    /**
+     * 计算文件的MD5
+     *
+     * @param file 文件
+     * @return 32位小写十六进制字符串
+     * @throws IOException 读取失败
+     */
+    public static String encode(Path file) throws IOException {
+        return new String(toHex(digest(file), new char[HEX_LENGTH], 0));
+    }
+
+    /**
+     * 分段并行计算文件的树形摘要，每段{@value #DEFAULT_SEGMENT_SIZE}字节
+     *
+     * @param file 文件
+     * @return 16字节的树形摘要
+     * @throws IOException 读取失败
+     * @see #digestTree(Path, long)
+     */
+    public static byte[] digestTree(Path file) throws IOException {
+        return digestTree(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 分段并行计算文件的树形摘要，每段{@value #DEFAULT_SEGMENT_SIZE}字节
+     *
+     * @param file 文件
+     * @return 32位小写十六进制字符串
+     * @throws IOException 读取失败
+     * @see #digestTree(Path, long)
+     */
+    public static String encodeTree(Path file) throws IOException {
+        return encodeTree(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 分段并行计算文件的树形摘要 <br>
+     * 文件从头开始按segmentSize分段，最后一段可以较短，空文件为一个空段；各段按内存映射并行计算MD5，
+     * 读取映射内存会阻塞在磁盘I/O上，因此在专用的线程池中计算，线程数不超过CPU核数，调用线程也参与计算，不占用ForkJoinPool.commonPool()。
+     * 结果为各段16字节MD5按顺序拼接后的MD5，即MD5(MD5(段1) + MD5(段2) + ... + MD5(段n))。
+     * 结果只取决于文件内容和segmentSize，与并行度无关；与文件整体的MD5不同，比较时两边的segmentSize需要相同
+     *
+     * @param file        文件
+     * @param segmentSize 每段的字节数
+     * @return 16字节的树形摘要
+     * @throws IOException 读取失败
+     */
+    public static byte[] digestTree(Path file, long segmentSize) throws IOException {
+        Assert.notNull(file, "Md5Utils file param is null");
+        Assert.isTrue(segmentSize > 0, "Md5Utils segmentSize param must be positive");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long segments = Math.max(1, (size + segmentSize - 1) / segmentSize);
+            Assert.isTrue(segments <= Integer.MAX_VALUE / DIGEST_LENGTH, "Md5Utils segmentSize param is too small");
+            byte[] digests = new byte[(int) segments * DIGEST_LENGTH];
+            int count = (int) segments;
+            AtomicInteger next = new AtomicInteger();
+            Runnable worker = () -> {
+                MessageDigest digest = STATE.get().digest;
+                for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                    long position = i * segmentSize;
+                    try {
+                        digestMapped(digest, channel, position, Math.min(segmentSize, size - position), digests, i * DIGEST_LENGTH);
+                    } catch (IOException e) {
+                        // 其他线程不再领取新的段
+                        next.set(count);
+                        throw new UncheckedIOException(e);
+                    } catch (RuntimeException | Error e) {
+                        next.set(count);
+                        throw e;
+                    }
+                }
+            };
+            runTreeWorkers(worker, Math.min(TREE_PARALLELISM, count));
+            byte[] result = new byte[DIGEST_LENGTH];
+            digest(digests, 0, digests.length, result, 0);
+            return result;
+        }
+    }
+
+    /**
+     * 分段并行计算文件的树形摘要
+     *
+     * @param file        文件
+     * @param segmentSize 每段的字节数
+     * @return 32位小写十六进制字符串
+     * @throws IOException 读取失败
+     * @see #digestTree(Path, long)
+     */
+    public static String encodeTree(Path file, long segmentSize) throws IOException {
+        return new String(toHex(digestTree(file, segmentSize), new char[HEX_LENGTH], 0));
+    }
+
+    /**
+     * 批量计算字符串的MD5，值的个数较多时在ForkJoinPool.commonPool()中并行计算，每个线程复用自己的MessageDigest <br>
+     * 字符串按UTF-8编码，null和空白字符串按空字符串计算
+     *
+     * @param values 字符串数组
+     * @return 按顺序拼接的16字节摘要，第i个值的摘要从i * {@link #DIGEST_LENGTH}开始
+     */
+    public static byte[] digestAll(String[] values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        Assert.isTrue(values.length <= Integer.MAX_VALUE / DIGEST_LENGTH, "Md5Utils values param is too long");
+        byte[] digests = new byte[values.length * DIGEST_LENGTH];
+        forEachChunk(values.length, (state, from, to) -> {
+            for (int i = from; i < to; i++) {
+                digest(state, values[i], digests, i * DIGEST_LENGTH);
+            }
+        });
+        return digests;
+    }
+
+    /**
+     * 批量计算字符串的MD5
+     *
+     * @param values 字符串集合
+     * @return 按顺序拼接的16字节摘要
+     * @see #digestAll(String[])
+     */
+    public static byte[] digestAll(List<String> values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        return digestAll(values.toArray(new String[0]));
+    }
+
+    /**
+     * 批量计算字符串的MD5，按流的顺序返回
+     *
+     * @param values 字符串流
+     * @return 按顺序拼接的16字节摘要
+     * @see #digestAll(String[])
+     */
+    public static byte[] digestAll(Stream<String> values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        return digestAll(values.toArray(String[]::new));
+    }
+
+    /**
+     * 批量计算字符串的MD5
+     *
+     * @param values 字符串数组
+     * @return 32位小写十六进制字符串数组
+     * @see #digestAll(String[])
+     */
+    public static String[] encodeAll(String[] values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        String[] result = new String[values.length];
+        forEachChunk(values.length, (state, from, to) -> {
+            for (int i = from; i < to; i++) {
+                digest(state, values[i], state.result, 0);
+                result[i] = new String(toHex(state.result, state.hex, 0), 0, HEX_LENGTH);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 批量计算字符串的MD5
+     *
+     * @param values 字符串集合
+     * @return 32位小写十六进制字符串数组
+     * @see #digestAll(String[])
+     */
+    public static String[] encodeAll(List<String> values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        return encodeAll(values.toArray(new String[0]));
+    }
+
+    /**
+     * 批量计算字符串的MD5，按流的顺序返回
+     *
+     * @param values 字符串流
+     * @return 32位小写十六进制字符串数组
+     * @see #digestAll(String[])
+     */
+    public static String[] encodeAll(Stream<String> values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        return encodeAll(values.toArray(String[]::new));
+    }
+
+    /**
+     * 批量计算字符串的MD5，每个摘要按大端序转换为两个long，可以直接放入long的哈希集合，不需要为每个值创建对象
+     *
+     * @param values 字符串数组
+     * @return 第i个值的摘要为第2i（前8字节）和第2i+1（后8字节）个long
+     * @see #digestAll(String[])
+     */
+    public static long[] digestAllToLongs(String[] values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        Assert.isTrue(values.length <= Integer.MAX_VALUE / 2, "Md5Utils values param is too long");
+        long[] result = new long[values.length * 2];
+        forEachChunk(values.length, (state, from, to) -> {
+            for (int i = from; i < to; i++) {
+                digest(state, values[i], state.result, 0);
+                result[i * 2] = toLong(state.result, 0);
+                result[i * 2 + 1] = toLong(state.result, 8);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 批量计算字符串的MD5，每个摘要按大端序转换为两个long
+     *
+     * @param values 字符串集合
+     * @return 第i个值的摘要为第2i和第2i+1个long
+     * @see #digestAllToLongs(String[])
+     */
+    public static long[] digestAllToLongs(List<String> values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        return digestAllToLongs(values.toArray(new String[0]));
+    }
+
+    /**
+     * 批量计算字符串的MD5，按流的顺序转换为long
+     *
+     * @param values 字符串流
+     * @return 第i个值的摘要为第2i和第2i+1个long
+     * @see #digestAllToLongs(String[])
+     */
+    public static long[] digestAllToLongs(Stream<String> values) {
+        Assert.notNull(values, "Md5Utils values param is null");
+        return digestAllToLongs(values.toArray(String[]::new));
+    }
+
+    /**
+     * 摘要转换为十六进制并写入hex
+     *
+     * @param digest 摘要
+     * @param hex    字符数组，从offset开始至少有digest.length * 2个位置
+     * @param offset 开始写入的位置
+     * @return hex
+     */
+    static char[] toHex(byte[] digest, char[] hex, int offset) {
+        int k = offset;
+        for (byte b : digest) {
+            hex[k++] = HEX_DIGITS[b >>> 4 & 0xf];
+            hex[k++] = HEX_DIGITS[b & 0xf];
+        }
+        return hex;
+    }
+
+    /**
+     * 字符串按UTF-8分段编码并写入摘要，结果与String.getBytes(UTF_8)相同，不成对的代理字符写入'?'
+     *
+     * @param digest 摘要
+     * @param text   字符串
+     * @param buffer 编码缓冲区，长度不小于4
+     */
+    static void updateUtf8(MessageDigest digest, CharSequence text, byte[] buffer) {
+        int limit = buffer.length - 4;
+        int pos = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (pos > limit) {
+                digest.update(buffer, 0, pos);
+                pos = 0;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[pos++] = (byte) (0xc0 | c >> 6);
+                buffer[pos++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                char low;
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(low = text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    buffer[pos++] = (byte) (0xf0 | codePoint >> 18);
+                    buffer[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    buffer[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    buffer[pos++] = (byte) (0x80 | codePoint & 0x3f);
+                    i++;
+                } else {
+                    buffer[pos++] = '?';
+                }
+            } else {
+                buffer[pos++] = (byte) (0xe0 | c >> 12);
+                buffer[pos++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[pos++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        digest.update(buffer, 0, pos);
+    }
+
+    /**
+     * @return 新的MD5 MessageDigest
+     */
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 MessageDigest is not available", e);
+        }
+    }
+
+    private static void digest(State state, String str, byte[] target, int targetOffset) {
+        if (str != null && str.trim().length() != 0) {
+            if (str.length() <= DIRECT_ENCODE_LENGTH) {
+                state.digest.update(str.getBytes(StandardCharsets.UTF_8));
+            } else {
+                updateUtf8(state.digest, str, state.buffer);
+            }
+        }
+        finish(state.digest, target, targetOffset);
+    }
+
+    private static void digest(State state, byte[] bytes, int offset, int length, byte[] target, int targetOffset) {
+        Assert.notNull(bytes, "Md5Utils bytes param is null");
+        state.digest.update(bytes, offset, length);
+        finish(state.digest, target, targetOffset);
+    }
+
+    private static void digest(State state, ByteBuffer buffer, byte[] target, int targetOffset) {
+        Assert.notNull(buffer, "Md5Utils buffer param is null");
+        state.digest.update(buffer);
+        finish(state.digest, target, targetOffset);
+    }
+
+    /**
+     * 在{@link TreeExecutor}中提交parallelism - 1个worker，调用线程执行一个，等待全部结束后抛出第一个异常；
+     * 调用线程的worker结束时所有段都已领取，还没有开始的worker标记为跳过，不在线程池繁忙时等待排队
+     */
+    private static void runTreeWorkers(Runnable worker, int parallelism) throws IOException {
+        List<AtomicBoolean> started = new ArrayList<>(parallelism - 1);
+        List<Future<?>> futures = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            AtomicBoolean flag = new AtomicBoolean();
+            started.add(flag);
+            futures.add(TreeExecutor.EXECUTOR.submit(() -> {
+                if (flag.compareAndSet(false, true)) {
+                    worker.run();
+                }
+            }));
+        }
+        Throwable failure = null;
+        try {
+            worker.run();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+        boolean interrupted = false;
+        for (int i = 0; i < futures.size(); i++) {
+            if (started.get(i).compareAndSet(false, true)) {
+                // 还没有开始，之后执行时直接返回
+                continue;
+            }
+            while (true) {
+                try {
+                    futures.get(i).get();
+                    break;
+                } catch (InterruptedException e) {
+                    // 段已经在计算，等待结束后再恢复中断状态，避免关闭文件时还在读取
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (failure == null) {
+                throw new InterruptedIOException("Md5Utils digestTree interrupted");
+            }
+        }
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
         }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+    }
+
+    /**
+     * 按{@value #BULK_CHUNK_SIZE}个一块处理，超过一块时在ForkJoinPool.commonPool()中并行，每块取一次当前线程的State
+     */
+    private static void forEachChunk(int size, ChunkTask task) {
+        int chunks = (size + BULK_CHUNK_SIZE - 1) / BULK_CHUNK_SIZE;
+        if (chunks <= 1) {
+            task.run(STATE.get(), 0, size);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * BULK_CHUNK_SIZE;
+            task.run(STATE.get(), from, Math.min(size, from + BULK_CHUNK_SIZE));
+        });
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = value << 8 | (bytes[i] & 0xff);
+        }
+        return value;
+    }
+
+    private static void update(State state, ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = state.channelBuffer();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            state.digest.update(buffer);
+            buffer.clear();
+        }
+    }
+
+    private static void digestMapped(MessageDigest digest, FileChannel channel, long position, long size, byte[] target, int targetOffset) throws IOException {
         try {
-            byte[] strTemp = str.getBytes();
-            // 获得MD5摘要算法的 MessageDigest 对象
-            MessageDigest mdTemp = MessageDigest.getInstance("MD5");
-            // 使用指定的字节更新摘要
-            mdTemp.update(strTemp);
-            // 获得密文
-            byte[] md = mdTemp.digest();
-            int j = md.length;
-            // 把密文转换成十六进制的字符串形式
-            char[] newStr = new char[j * 2];
-            int k = 0;
-            for (int i = 0; i < j; i++) {
-                byte byte0 = md[i];
-                newStr[k++] = HEX_DIGITS[byte0 >>> 4 & 0xf];
-                newStr[k++] = HEX_DIGITS[byte0 & 0xf];
+            for (long offset = 0; offset < size; offset += MAP_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position + offset, Math.min(MAP_SIZE, size - offset)));
             }
-            return new String(newStr);
-        } catch (Exception e) {
-            return null;
+        } catch (IOException | RuntimeException e) {
+            digest.reset();
+            throw e;
         }
+        finish(digest, target, targetOffset);
     }
 
+    private static void finish(MessageDigest digest, byte[] target, int targetOffset) {
+        try {
+            digest.digest(target, targetOffset, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            digest.reset();
+            throw new IllegalArgumentException("Md5Utils target param is too short", e);
+        } catch (RuntimeException e) {
+            digest.reset();
+            throw e;
+        }
+    }
+
+    /**
+     * 树形摘要专用的线程池，第一次使用时创建，守护线程，线程数为{@link #TREE_PARALLELISM} - 1
+     */
+    private static final class TreeExecutor {
 
+        private static final ExecutorService EXECUTOR = newExecutor();
+
+        private static ExecutorService newExecutor() {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(1, TREE_PARALLELISM - 1), runnable -> {
+                Thread thread = new Thread(runnable, "md5-tree-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private interface ChunkTask {
+
+        void run(State state, int from, int to);
+    }
+
+    /**
+     * 线程复用的摘要和缓冲区
+     */
+    private static final class State {
+
+        private final MessageDigest digest = newDigest();
+
+        private final byte[] buffer = new byte[ENCODE_BUFFER_SIZE];
+
+        private final byte[] result = new byte[DIGEST_LENGTH];
+
+        private final char[] hex = new char[HEX_LENGTH];
+
+        private byte[] streamBuffer;
+
+        private ByteBuffer channelBuffer;
+
+        private byte[] streamBuffer() {
+            if (streamBuffer == null) {
+                streamBuffer = new byte[STREAM_BUFFER_SIZE];
+            }
+            return streamBuffer;
+        }
+
+        private ByteBuffer channelBuffer() {
+            if (channelBuffer == null) {
+                channelBuffer = ByteBuffer.allocateDirect(STREAM_BUFFER_SIZE);
+            }
+            return channelBuffer;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.password.DelegatingPasswordHasher;
+import com.zuoy.tools.password.LegacyPasswordHasher;
+import com.zuoy.tools.password.PasswordHasher;
+import com.zuoy.tools.password.Pbkdf2PasswordHasher;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码散列工具类 <br>
+ * 新密码使用{@link Pbkdf2PasswordHasher}，已有的{@link IrreversibleCypherUtil#encodeToString(String)}散列通过
+ * {@link #pbkdf2WithLegacy(int)}在登录时校验并升级。
+ * PBKDF2的耗时与迭代次数成正比，不随密码变化，上线前在目标机器上用{@link #calibratePbkdf2Iterations(long)}按目标耗时确定迭代次数
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class PasswordUtils {
+
+    /**
+     * PBKDF2WithHmacSHA256的默认迭代次数
+     */
+    public static final int DEFAULT_PBKDF2_ITERATIONS = 600_000;
+
+    /**
+     * 测算耗时时每次计算的迭代次数
+     */
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+
+    /**
+     * 测算耗时的次数，取中位数
+     */
+    private static final int CALIBRATION_SAMPLES = 9;
+
+    /**
+     * 预热的最短时间，HmacSHA256编译完成前的耗时偏高，会低估迭代次数
+     */
+    private static final long CALIBRATION_WARMUP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 测算结果向下取整的粒度
+     */
+    private static final int ITERATIONS_GRANULARITY = 1000;
+
+    private static final LegacyPasswordHasher LEGACY = new LegacyPasswordHasher(IrreversibleCypherUtil::encodeToString);
+
+    /**
+     * @return 默认迭代次数的PBKDF2密码散列
+     */
+    public static Pbkdf2PasswordHasher pbkdf2() {
+        return pbkdf2(DEFAULT_PBKDF2_ITERATIONS);
+    }
+
+    /**
+     * @param iterations 迭代次数，不小于{@link Pbkdf2PasswordHasher#MIN_ITERATIONS}
+     * @return PBKDF2密码散列
+     */
+    public static Pbkdf2PasswordHasher pbkdf2(int iterations) {
+        return new Pbkdf2PasswordHasher(iterations);
+    }
+
+    /**
+     * @return 兼容{@link IrreversibleCypherUtil#encodeToString(String)}的密码散列
+     */
+    public static LegacyPasswordHasher legacy() {
+        return LEGACY;
+    }
+
+    /**
+     * @param current 当前实现，生成新散列
+     * @param legacy  旧实现，只用于校验
+     * @return 按散列格式委托的密码散列
+     */
+    public static DelegatingPasswordHasher delegating(PasswordHasher current, PasswordHasher... legacy) {
+        return new DelegatingPasswordHasher(current, legacy);
+    }
+
+    /**
+     * 新散列使用PBKDF2，同时校验旧的{@link IrreversibleCypherUtil#encodeToString(String)}散列，
+     * 旧散列和迭代次数较低的散列通过{@link DelegatingPasswordHasher#verifyAndRehash}升级
+     *
+     * @param iterations 迭代次数
+     * @return 按散列格式委托的密码散列
+     */
+    public static DelegatingPasswordHasher pbkdf2WithLegacy(int iterations) {
+        return delegating(pbkdf2(iterations), legacy());
+    }
+
+    /**
+     * 在当前机器上测算单次散列耗时约为targetMillis的迭代次数 <br>
+     * 先预热1秒，再多次计算固定迭代次数取中位数，按比例换算并向下取整到1000；结果为单线程空闲时的耗时，
+     * 并发登录时各请求争用CPU，p99会高于该值，targetMillis需要按并发数预留余量
+     *
+     * @param targetMillis 目标耗时，毫秒
+     * @return 迭代次数，不小于{@link Pbkdf2PasswordHasher#MIN_ITERATIONS}
+     */
+    public static int calibratePbkdf2Iterations(long targetMillis) {
+        Assert.isTrue(targetMillis > 0, "PasswordUtils targetMillis param must be positive");
+        byte[] salt = new byte[16];
+        long warmupEnd = System.nanoTime() + CALIBRATION_WARMUP_NANOS;
+        do {
+            Pbkdf2PasswordHasher.derive("calibration", salt, CALIBRATION_ITERATIONS, 32);
+        } while (System.nanoTime() - warmupEnd < 0);
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            Pbkdf2PasswordHasher.derive("calibration", salt, CALIBRATION_ITERATIONS, 32);
+            samples[i] = Math.max(System.nanoTime() - start, 1);
+        }
+        Arrays.sort(samples);
+        double nanosPerIteration = (double) samples[CALIBRATION_SAMPLES / 2] / CALIBRATION_ITERATIONS;
+        double iterations = targetMillis * 1_000_000d / nanosPerIteration;
+        int rounded = (int) Math.min(iterations, Integer.MAX_VALUE) / ITERATIONS_GRANULARITY * ITERATIONS_GRANULARITY;
+        return Math.max(rounded, Pbkdf2PasswordHasher.MIN_ITERATIONS);
+    }
+}
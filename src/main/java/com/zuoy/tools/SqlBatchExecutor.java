@@ -0,0 +1,391 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.InStrategyEnum;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 按in()条件分块执行的批量查询和更新 <br>
+ * 值集合按chunkSize拆成多块，每块一条语句，用{@link InStrategyEnum#BIND}绑定参数，块的大小相同时SQL相同，可以复用执行计划；
+ * 各块在固定大小的线程池中并发执行，每块使用单独的连接，连接为自动提交时每块单独提交，不会长时间持有大量的锁。<br>
+ * SQL中用{@link #IN_PLACEHOLDER}表示in()条件的位置，其他参数用?，in()条件的参数按占位符之前?的个数插入；
+ * 计数时跳过字符串、带引号的标识符和注释中的?，以及PostgreSQL的??、?|、?&amp;运算符。
+ * 值集合在执行过程中按块逐步读取，读取完成前不能修改
+ * 线程池的线程为守护线程，不再使用时调用{@link #close()}
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class SqlBatchExecutor implements AutoCloseable {
+
+    /**
+     * SQL中in()条件的占位符
+     */
+    public static final String IN_PLACEHOLDER = "${in}";
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final DataSource dataSource;
+
+    private final int chunkSize;
+
+    private final int parallelism;
+
+    private final ExecutorService executor;
+
+    SqlBatchExecutor(DataSource dataSource, int chunkSize, int parallelism) {
+        Assert.notNull(dataSource, "SqlBatchExecutor dataSource param is null");
+        Assert.isTrue(chunkSize > 0, "SqlBatchExecutor chunkSize param must be positive");
+        Assert.isTrue(parallelism > 0, "SqlBatchExecutor parallelism param must be positive");
+        this.dataSource = dataSource;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        String prefix = "sql-batch-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 分块查询，返回各块结果合并的流，按块完成的顺序返回，不保证与values的顺序一致 <br>
+     * 同时执行和缓存结果的块不超过parallelism个，读取流的速度慢时后面的块等待；流需要关闭，关闭时取消未完成的块。
+     * 查询失败时读取流抛出IllegalStateException
+     *
+     * @param sql        含{@link #IN_PLACEHOLDER}的SQL
+     * @param fieldName  in()条件的字段名
+     * @param values     值集合，忽略null值
+     * @param rowMapper  结果行转换
+     * @param parameters 其他参数
+     * @param <T>        结果类型
+     * @return 结果流
+     */
+    public <T> Stream<T> query(String sql, String fieldName, Collection<?> values, RowMapper<T> rowMapper, Object... parameters) {
+        Assert.notNull(rowMapper, "SqlBatchExecutor rowMapper param is null");
+        ChunkStatement statement = new ChunkStatement(sql, fieldName, parameters);
+        ChunkIterator<T> iterator = new ChunkIterator<>(new Chunks(values), chunk -> statement.query(chunk, rowMapper));
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::cancel);
+    }
+
+    /**
+     * 分块执行更新或删除，所有块执行结束后返回；有块失败时取消其他未开始的块并抛出IllegalStateException，已执行的块不回滚
+     *
+     * @param sql        含{@link #IN_PLACEHOLDER}的SQL
+     * @param fieldName  in()条件的字段名
+     * @param values     值集合，忽略null值
+     * @param parameters 其他参数
+     * @return 更新的总行数
+     */
+    public long update(String sql, String fieldName, Collection<?> values, Object... parameters) {
+        ChunkStatement statement = new ChunkStatement(sql, fieldName, parameters);
+        ChunkIterator<Integer> iterator = new ChunkIterator<>(new Chunks(values), chunk -> Collections.singletonList(statement.update(chunk)));
+        long count = 0;
+        try {
+            while (iterator.hasNext()) {
+                count += iterator.next();
+            }
+        } finally {
+            iterator.cancel();
+        }
+        return count;
+    }
+
+    /**
+     * 关闭线程池，正在执行的块继续执行
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return prefix中绑定参数?的个数，跳过字符串、带引号的标识符、注释和PostgreSQL的??、?|、?&amp;运算符
+     */
+    static int countParameters(String prefix) {
+        int count = 0;
+        int length = prefix.length();
+        int i = 0;
+        while (i < length) {
+            char c = prefix.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                // 引号内的内容，连续两个引号为转义
+                i++;
+                while (i < length) {
+                    if (prefix.charAt(i++) == c) {
+                        if (i < length && prefix.charAt(i) == c) {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            } else if (c == '-' && i + 1 < length && prefix.charAt(i + 1) == '-') {
+                int end = prefix.indexOf('\n', i + 2);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && prefix.charAt(i + 1) == '*') {
+                int end = prefix.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '?') {
+                char next = i + 1 < length ? prefix.charAt(i + 1) : 0;
+                if (next == '?' || next == '|' || next == '&') {
+                    i += 2;
+                } else {
+                    count++;
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 结果行转换
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+
+        /**
+         * @param resultSet 当前行
+         * @return 当前行的结果，不能为null
+         * @throws SQLException 读取失败
+         */
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    private interface ChunkTask<T> {
+
+        List<T> execute(Object[] chunk) throws SQLException;
+    }
+
+    /**
+     * 一块的SQL和参数绑定
+     */
+    private final class ChunkStatement {
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private final String fieldName;
+
+        private final Object[] parameters;
+
+        /**
+         * 占位符之前?的个数
+         */
+        private final int leadingParameters;
+
+        private ChunkStatement(String sql, String fieldName, Object[] parameters) {
+            Assert.hasText(sql, "SqlBatchExecutor sql param is null");
+            Assert.hasText(fieldName, "SqlBatchExecutor fieldName param is null");
+            int index = sql.indexOf(IN_PLACEHOLDER);
+            Assert.isTrue(index >= 0, "SqlBatchExecutor sql param has no " + IN_PLACEHOLDER);
+            this.prefix = sql.substring(0, index);
+            this.suffix = sql.substring(index + IN_PLACEHOLDER.length());
+            this.fieldName = fieldName;
+            this.parameters = parameters == null ? new Object[0] : parameters;
+            int count = countParameters(prefix);
+            Assert.isTrue(count <= this.parameters.length, "SqlBatchExecutor parameters param is less than placeholders");
+            this.leadingParameters = count;
+        }
+
+        private <T> List<T> query(Object[] chunk, RowMapper<T> rowMapper) throws SQLException {
+            InClause clause = SqlUtil.getInClause(chunk, fieldName, InStrategyEnum.BIND);
+            List<T> rows = new ArrayList<>();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(prefix + clause.getSql() + suffix)) {
+                bind(statement, clause);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows.add(rowMapper.map(resultSet));
+                    }
+                }
+            }
+            return rows;
+        }
+
+        private int update(Object[] chunk) throws SQLException {
+            InClause clause = SqlUtil.getInClause(chunk, fieldName, InStrategyEnum.BIND);
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(prefix + clause.getSql() + suffix)) {
+                bind(statement, clause);
+                return statement.executeUpdate();
+            }
+        }
+
+        private void bind(PreparedStatement statement, InClause clause) throws SQLException {
+            int index = 1;
+            for (int i = 0; i < leadingParameters; i++) {
+                statement.setObject(index++, parameters[i]);
+            }
+            index = clause.bind(statement, index);
+            for (int i = leadingParameters; i < parameters.length; i++) {
+                statement.setObject(index++, parameters[i]);
+            }
+        }
+    }
+
+    /**
+     * 去掉null后按chunkSize拆分的值，每次读取一块，不预先拆分全部的值
+     */
+    private final class Chunks implements Iterator<Object[]> {
+
+        private final Iterator<?> values;
+
+        /**
+         * 每块的最大个数，值的个数小于chunkSize时为值的个数
+         */
+        private final int capacity;
+
+        private Object[] next;
+
+        private Chunks(Collection<?> values) {
+            this.values = values == null ? Collections.emptyIterator() : values.iterator();
+            this.capacity = values == null ? 0 : Math.min(chunkSize, values.size());
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = read();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] chunk = next;
+            next = null;
+            return chunk;
+        }
+
+        /**
+         * @return 下一块，没有值时为null
+         */
+        private Object[] read() {
+            Object[] chunk = null;
+            int size = 0;
+            while (size < capacity && values.hasNext()) {
+                Object value = values.next();
+                if (value == null) {
+                    continue;
+                }
+                if (chunk == null) {
+                    chunk = new Object[capacity];
+                }
+                chunk[size++] = value;
+            }
+            return size == capacity ? chunk : size == 0 ? null : Arrays.copyOf(chunk, size);
+        }
+    }
+
+    /**
+     * 按完成顺序读取各块的结果，执行中和已完成未读取的块不超过parallelism个
+     */
+    private final class ChunkIterator<T> implements Iterator<T> {
+
+        private final Iterator<Object[]> chunks;
+
+        private final ChunkTask<T> task;
+
+        private final CompletionService<List<T>> completion = new ExecutorCompletionService<>(executor);
+
+        private final List<Future<List<T>>> pending = new ArrayList<>();
+
+        private Iterator<T> rows = Collections.emptyIterator();
+
+        private boolean cancelled;
+
+        private ChunkIterator(Iterator<Object[]> chunks, ChunkTask<T> task) {
+            this.chunks = chunks;
+            this.task = task;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!rows.hasNext()) {
+                if (cancelled) {
+                    return false;
+                }
+                while (pending.size() < parallelism && chunks.hasNext()) {
+                    Object[] chunk = chunks.next();
+                    pending.add(completion.submit(() -> task.execute(chunk)));
+                }
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                rows = take().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rows.next();
+        }
+
+        private List<T> take() {
+            try {
+                Future<List<T>> future = completion.take();
+                pending.remove(future);
+                return future.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("SqlBatchExecutor interrupted", e);
+            } catch (ExecutionException | CancellationException e) {
+                cancel();
+                throw new IllegalStateException("SqlBatchExecutor chunk failed", e.getCause() == null ? e : e.getCause());
+            }
+        }
+
+        /**
+         * 取消未完成的块
+         */
+        private void cancel() {
+            cancelled = true;
+            rows = Collections.emptyIterator();
+            for (Future<List<T>> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package com.zuoy.tools;
 
+import com.zuoy.tools.enums.InStrategyEnum;
+import com.zuoy.tools.enums.SqlDialectEnum;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
 
 /**
  * SQL脚本工具类
@@ -13,6 +25,22 @@ import java.util.List;
  */
 public class SqlUtil {
 
+    /**
+     * in()中值的最大个数，超过后附加 or in()
+     */
+    private static final int IN_GROUP_SIZE = 999;
+
+    /**
+     * {@link #getInClause(Collection, String, SqlDialectEnum)}中值的个数超过该值时按方言选择{@link InStrategyEnum#ARRAY}或
+     * {@link InStrategyEnum#VALUES}
+     */
+    public static final int IN_BIND_THRESHOLD = IN_GROUP_SIZE;
+
+    /**
+     * 预先扩容时每个值的估计字符数
+     */
+    private static final int ESTIMATED_VALUE_LENGTH = 10;
+
     /**
      * 构造in()查询条件，如果in()中长度超过1000则自动or in()附加 <br>
      * values为null 返回1&lt;&gt;1 valus为{null,null} 返回1&lt;&gt;1
@@ -23,11 +51,11 @@ public class SqlUtil {
      * @since 2016-08-24
      */
     public static String getInSql(List valueList, String fieldName) {
-        Object[] values = null;
-        if (!CollectionUtils.isEmpty(valueList)) {
-            values = valueList.toArray();
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        if (CollectionUtils.isEmpty(valueList)) {
+            return InSqlWriter.otherSql(false);
         }
-        return getInSql(values, fieldName);
+        return getInOrNotInSql(valueList, valueList.size(), fieldName, false);
     }
 
     /**
@@ -40,11 +68,11 @@ public class SqlUtil {
      * @since 2016-08-24
      */
     public static String getNotInSql(List valueList, String fieldName) {
-        Object[] values = null;
-        if (!CollectionUtils.isEmpty(valueList)) {
-            values = valueList.toArray();
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        if (CollectionUtils.isEmpty(valueList)) {
+            return InSqlWriter.otherSql(true);
         }
-        return getNotInSql(values, fieldName);
+        return getInOrNotInSql(valueList, valueList.size(), fieldName, true);
     }
 
     /**
@@ -73,6 +101,558 @@ public class SqlUtil {
         return getInOrNotInSql(values, fieldName, true);
     }
 
+    /**
+     * 构造in()查询条件，与{@link #getInSql(List, String)}相同，值为long数组时不需要装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @return (fieldName in ( 1, 2, 3, 4)) 或者 (fieldName in(1,2) or fieldName in(3,4))
+     */
+    public static String getInSql(long[] values, String fieldName) {
+        return getInOrNotInSql(values, fieldName, false);
+    }
+
+    /**
+     * 构造not in()查询条件，与{@link #getNotInSql(List, String)}相同，值为long数组时不需要装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @return (fieldName not in ( 1, 2, 3, 4)) 或者 (fieldName not in(1,2) and fieldName not in(3,4))
+     */
+    public static String getNotInSql(long[] values, String fieldName) {
+        return getInOrNotInSql(values, fieldName, true);
+    }
+
+    /**
+     * 构造in()查询条件，与{@link #getInSql(List, String)}相同，值为int数组时不需要装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @return (fieldName in ( 1, 2, 3, 4)) 或者 (fieldName in(1,2) or fieldName in(3,4))
+     */
+    public static String getInSql(int[] values, String fieldName) {
+        return getInOrNotInSql(values, fieldName, false);
+    }
+
+    /**
+     * 构造not in()查询条件，与{@link #getNotInSql(List, String)}相同，值为int数组时不需要装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @return (fieldName not in ( 1, 2, 3, 4)) 或者 (fieldName not in(1,2) and fieldName not in(3,4))
+     */
+    public static String getNotInSql(int[] values, String fieldName) {
+        return getInOrNotInSql(values, fieldName, true);
+    }
+
+    /**
+     * 将in()查询条件写入out，内容与{@link #getInSql(List, String)}相同，不创建完整的SQL字符串 <br>
+     * out为StringBuilder且values为Collection时按值的个数预先扩容，可以把整条语句写入同一个StringBuilder或直接写入Writer
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @throws IOException 写入out失败
+     */
+    public static void appendInSql(Appendable out, Iterable<?> values, String fieldName) throws IOException {
+        appendInOrNotInSql(out, values, fieldName, false);
+    }
+
+    /**
+     * 将not in()查询条件写入out，内容与{@link #getNotInSql(List, String)}相同
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @throws IOException 写入out失败
+     */
+    public static void appendNotInSql(Appendable out, Iterable<?> values, String fieldName) throws IOException {
+        appendInOrNotInSql(out, values, fieldName, true);
+    }
+
+    /**
+     * 将in()查询条件写入out，out为StringBuilder时按值的实际长度预先扩容
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @throws IOException 写入out失败
+     */
+    public static void appendInSql(Appendable out, long[] values, String fieldName) throws IOException {
+        appendInOrNotInSql(out, values, fieldName, false);
+    }
+
+    /**
+     * 将not in()查询条件写入out，out为StringBuilder时按值的实际长度预先扩容
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @throws IOException 写入out失败
+     */
+    public static void appendNotInSql(Appendable out, long[] values, String fieldName) throws IOException {
+        appendInOrNotInSql(out, values, fieldName, true);
+    }
+
+    /**
+     * 将in()查询条件写入out，out为StringBuilder时按值的实际长度预先扩容
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @throws IOException 写入out失败
+     */
+    public static void appendInSql(Appendable out, int[] values, String fieldName) throws IOException {
+        appendInOrNotInSql(out, values, fieldName, false);
+    }
+
+    /**
+     * 将not in()查询条件写入out，out为StringBuilder时按值的实际长度预先扩容
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @throws IOException 写入out失败
+     */
+    public static void appendNotInSql(Appendable out, int[] values, String fieldName) throws IOException {
+        appendInOrNotInSql(out, values, fieldName, true);
+    }
+
+    /**
+     * 构造去重的in()查询条件，每组999个值，超过后自动or in()附加 <br>
+     * 按类型写入字面量：整数和BigDecimal为十进制数字，Date为timestamp 'yyyy-MM-dd HH:mm:ss[.SSS]'，java.sql.Date为date 'yyyy-MM-dd'，
+     * 字符串、Character、枚举名及其他对象加单引号并把'转义为''。数字按数值去重，1、1L、new BigDecimal("1.0")视为同一个值，保留第一次出现的值；
+     * 值全部为整数（包括可以表示为long的BigInteger和整数值的BigDecimal）时按long去重，不装箱。
+     * 忽略null值，没有值时返回1&lt;&gt;1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序，非整数的值按自然顺序排序，需要可以互相比较
+     * @return (fieldName in ( 1, 2, 3, 4)) 或者 (fieldName in(1,2) or fieldName in(3,4))
+     */
+    public static String getDistinctInSql(Collection<?> values, String fieldName, boolean sorted) {
+        return getDistinctInOrNotInSql(values, fieldName, sorted, false);
+    }
+
+    /**
+     * 构造去重的not in()查询条件，字面量与{@link #getDistinctInSql(Collection, String, boolean)}相同 <br>
+     * 忽略null值，没有值时返回1=1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @return (fieldName not in ( 1, 2, 3, 4)) 或者 (fieldName not in(1,2) and fieldName not in(3,4))
+     */
+    public static String getDistinctNotInSql(Collection<?> values, String fieldName, boolean sorted) {
+        return getDistinctInOrNotInSql(values, fieldName, sorted, true);
+    }
+
+    /**
+     * 构造去重的in()查询条件，不装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @return (fieldName in ( 1, 2, 3, 4)) 或者 (fieldName in(1,2) or fieldName in(3,4))
+     */
+    public static String getDistinctInSql(long[] values, String fieldName, boolean sorted) {
+        return getInOrNotInSql(values == null ? null : distinct(values, sorted), fieldName, false);
+    }
+
+    /**
+     * 构造去重的not in()查询条件，不装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @return (fieldName not in ( 1, 2, 3, 4)) 或者 (fieldName not in(1,2) and fieldName not in(3,4))
+     */
+    public static String getDistinctNotInSql(long[] values, String fieldName, boolean sorted) {
+        return getInOrNotInSql(values == null ? null : distinct(values, sorted), fieldName, true);
+    }
+
+    /**
+     * 构造去重的in()查询条件，不装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @return (fieldName in ( 1, 2, 3, 4)) 或者 (fieldName in(1,2) or fieldName in(3,4))
+     */
+    public static String getDistinctInSql(int[] values, String fieldName, boolean sorted) {
+        return getInOrNotInSql(values == null ? null : distinct(toLongs(values), sorted), fieldName, false);
+    }
+
+    /**
+     * 构造去重的not in()查询条件，不装箱
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @return (fieldName not in ( 1, 2, 3, 4)) 或者 (fieldName not in(1,2) and fieldName not in(3,4))
+     */
+    public static String getDistinctNotInSql(int[] values, String fieldName, boolean sorted) {
+        return getInOrNotInSql(values == null ? null : distinct(toLongs(values), sorted), fieldName, true);
+    }
+
+    /**
+     * 将去重的in()查询条件写入out，内容与{@link #getDistinctInSql(Collection, String, boolean)}相同
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @throws IOException 写入out失败
+     */
+    public static void appendDistinctInSql(Appendable out, Collection<?> values, String fieldName, boolean sorted) throws IOException {
+        appendDistinctInOrNotInSql(out, values, fieldName, sorted, false);
+    }
+
+    /**
+     * 将去重的not in()查询条件写入out，内容与{@link #getDistinctNotInSql(Collection, String, boolean)}相同
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @throws IOException 写入out失败
+     */
+    public static void appendDistinctNotInSql(Appendable out, Collection<?> values, String fieldName, boolean sorted) throws IOException {
+        appendDistinctInOrNotInSql(out, values, fieldName, sorted, true);
+    }
+
+    /**
+     * 将去重的in()查询条件写入out，不装箱
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @throws IOException 写入out失败
+     */
+    public static void appendDistinctInSql(Appendable out, long[] values, String fieldName, boolean sorted) throws IOException {
+        appendInOrNotInSql(out, values == null ? null : distinct(values, sorted), fieldName, false);
+    }
+
+    /**
+     * 将去重的not in()查询条件写入out，不装箱
+     *
+     * @param out       输出
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param sorted    是否从小到大排序
+     * @throws IOException 写入out失败
+     */
+    public static void appendDistinctNotInSql(Appendable out, long[] values, String fieldName, boolean sorted) throws IOException {
+        appendInOrNotInSql(out, values == null ? null : distinct(values, sorted), fieldName, true);
+    }
+
+    /**
+     * 创建分块执行的批量查询和更新，每块999个值，与in()每组的个数相同
+     *
+     * @param dataSource  数据源
+     * @param parallelism 同时执行的块数
+     * @return 批量执行器，不再使用时关闭
+     */
+    public static SqlBatchExecutor batchExecutor(DataSource dataSource, int parallelism) {
+        return new SqlBatchExecutor(dataSource, IN_GROUP_SIZE, parallelism);
+    }
+
+    /**
+     * 创建分块执行的批量查询和更新
+     *
+     * @param dataSource  数据源
+     * @param chunkSize   每块的值个数
+     * @param parallelism 同时执行的块数
+     * @return 批量执行器，不再使用时关闭
+     */
+    public static SqlBatchExecutor batchExecutor(DataSource dataSource, int chunkSize, int parallelism) {
+        return new SqlBatchExecutor(dataSource, chunkSize, parallelism);
+    }
+
+    /**
+     * 构造带绑定参数的in()查询条件，使用各数据库都支持的{@link InStrategyEnum#BIND}，
+     * 与{@link #getInClause(Collection, String, SqlDialectEnum)}传入{@link SqlDialectEnum#GENERIC}相同 <br>
+     * 忽略null值，没有值时返回1&lt;&gt;1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getInClause(Collection<?> values, String fieldName) {
+        return getInClause(values, fieldName, SqlDialectEnum.GENERIC);
+    }
+
+    /**
+     * 按数据库方言构造带绑定参数的in()查询条件 <br>
+     * 值的个数不超过{@link #IN_BIND_THRESHOLD}时使用{@link InStrategyEnum#BIND}；
+     * 否则依次选择方言支持的{@link InStrategyEnum#ARRAY}、{@link InStrategyEnum#VALUES}，都不支持时使用分组的{@link InStrategyEnum#BIND}。
+     * 补齐后的参数个数不超过{@link SqlDialectEnum#getMaxParameters()}，值的个数超过该上限且方言不支持数组时抛出IllegalArgumentException，
+     * 需要改用{@link #getInTempTableClause}或{@link #batchExecutor}分块执行。
+     * 忽略null值，没有值时返回1&lt;&gt;1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param dialect   数据库方言
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getInClause(Collection<?> values, String fieldName, SqlDialectEnum dialect) {
+        return getInOrNotInClause(values == null ? null : values.toArray(), fieldName, dialect, false);
+    }
+
+    /**
+     * 按数据库方言构造带绑定参数的not in()查询条件，构造方式的选择与{@link #getInClause(Collection, String, SqlDialectEnum)}相同 <br>
+     * 忽略null值，没有值时返回1=1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param dialect   数据库方言
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getNotInClause(Collection<?> values, String fieldName, SqlDialectEnum dialect) {
+        return getInOrNotInClause(values == null ? null : values.toArray(), fieldName, dialect, true);
+    }
+
+    /**
+     * 按指定方式构造带绑定参数的in()查询条件 <br>
+     * 参数个数的上限为{@link SqlDialectEnum#GENERIC}的上限，超过时抛出IllegalArgumentException。
+     * 忽略null值，没有值时返回1&lt;&gt;1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param strategy  构造方式
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getInClause(Collection<?> values, String fieldName, InStrategyEnum strategy) {
+        return getInOrNotInClause(values == null ? null : values.toArray(), fieldName, strategy, false);
+    }
+
+    /**
+     * 按指定方式构造带绑定参数的in()查询条件 <br>
+     * 参数个数的上限为{@link SqlDialectEnum#GENERIC}的上限，超过时抛出IllegalArgumentException。
+     * 忽略null值，没有值时返回1&lt;&gt;1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param strategy  构造方式
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getInClause(Object[] values, String fieldName, InStrategyEnum strategy) {
+        return getInOrNotInClause(values, fieldName, strategy, false);
+    }
+
+    /**
+     * 按指定方式构造带绑定参数的not in()查询条件 <br>
+     * 参数个数的上限为{@link SqlDialectEnum#GENERIC}的上限，超过时抛出IllegalArgumentException。
+     * 忽略null值，没有值时返回1=1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param strategy  构造方式
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getNotInClause(Collection<?> values, String fieldName, InStrategyEnum strategy) {
+        return getInOrNotInClause(values == null ? null : values.toArray(), fieldName, strategy, true);
+    }
+
+    /**
+     * 按指定方式构造带绑定参数的not in()查询条件 <br>
+     * 参数个数的上限为{@link SqlDialectEnum#GENERIC}的上限，超过时抛出IllegalArgumentException。
+     * 忽略null值，没有值时返回1=1
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param strategy  构造方式
+     * @return 查询条件和绑定参数
+     */
+    public static InClause getNotInClause(Object[] values, String fieldName, InStrategyEnum strategy) {
+        return getInOrNotInClause(values, fieldName, strategy, true);
+    }
+
+    /**
+     * 构造关联临时表的in()查询条件：( fieldName in (select tempColumn from tempTable) ) <br>
+     * SQL与值的个数无关，值在{@link InClause#prepare(java.sql.Connection)}时批量写入临时表，适用于值很多的情况。
+     * 忽略null值，没有值时返回1&lt;&gt;1
+     *
+     * @param values     值集合
+     * @param fieldName  字段名
+     * @param tempTable  临时表名，需要预先创建
+     * @param tempColumn 临时表的列名
+     * @return 查询条件
+     */
+    public static InClause getInTempTableClause(Collection<?> values, String fieldName, String tempTable, String tempColumn) {
+        return getInOrNotInTempTableClause(values, fieldName, tempTable, tempColumn, false);
+    }
+
+    /**
+     * 构造关联临时表的not in()查询条件：( fieldName not in (select tempColumn from tempTable) ) <br>
+     * 忽略null值，没有值时返回1=1
+     *
+     * @param values     值集合
+     * @param fieldName  字段名
+     * @param tempTable  临时表名，需要预先创建
+     * @param tempColumn 临时表的列名
+     * @return 查询条件
+     */
+    public static InClause getNotInTempTableClause(Collection<?> values, String fieldName, String tempTable, String tempColumn) {
+        return getInOrNotInTempTableClause(values, fieldName, tempTable, tempColumn, true);
+    }
+
+    private static InClause getInOrNotInTempTableClause(Collection<?> values, String fieldName, String tempTable, String tempColumn, boolean isNotIn) {
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        Assert.hasText(tempTable, "SqlUtil tempTable param is null");
+        Assert.hasText(tempColumn, "SqlUtil tempColumn param is null");
+        Object[] bindValues = bindValues(values == null ? null : values.toArray());
+        if (bindValues.length == 0) {
+            return new InClause(isNotIn ? " 1=1 " : " 1<>1 ", bindValues, null);
+        }
+        String sql = "( " + fieldName + (isNotIn ? " not in " : " in ") + "(select " + tempColumn + " from " + tempTable + ") )";
+        return new InClause(sql, new Object[0], null, tempTable, tempColumn, bindValues);
+    }
+
+    /**
+     * 构造带绑定参数的in()或not in()查询条件
+     *
+     * @param values    值集合
+     * @param fieldName 字段名
+     * @param strategy  构造方式
+     * @param isNotIn   sql是否notIn
+     * @return 查询条件和绑定参数
+     */
+    private static InClause getInOrNotInClause(Object[] values, String fieldName, InStrategyEnum strategy, boolean isNotIn) {
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        Assert.notNull(strategy, "SqlUtil strategy param is null");
+        if (strategy == InStrategyEnum.LITERAL) {
+            return new InClause(getInOrNotInSql(values, fieldName, isNotIn), new Object[0], strategy);
+        }
+        return getInOrNotInClause(bindValues(values), fieldName, strategy, SqlDialectEnum.GENERIC.getMaxParameters(), isNotIn);
+    }
+
+    /**
+     * 按数据库方言选择构造方式
+     */
+    private static InClause getInOrNotInClause(Object[] values, String fieldName, SqlDialectEnum dialect, boolean isNotIn) {
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        Assert.notNull(dialect, "SqlUtil dialect param is null");
+        Object[] bindValues = bindValues(values);
+        InStrategyEnum strategy;
+        if (bindValues.length <= IN_BIND_THRESHOLD) {
+            strategy = InStrategyEnum.BIND;
+        } else if (dialect.supportsArray()) {
+            strategy = InStrategyEnum.ARRAY;
+        } else if (dialect.supportsValues()) {
+            strategy = InStrategyEnum.VALUES;
+        } else {
+            strategy = InStrategyEnum.BIND;
+        }
+        return getInOrNotInClause(bindValues, fieldName, strategy, dialect.getMaxParameters(), isNotIn);
+    }
+
+    /**
+     * @param bindValues    去掉null的值
+     * @param maxParameters 绑定参数的最大个数
+     */
+    private static InClause getInOrNotInClause(Object[] bindValues, String fieldName, InStrategyEnum strategy, int maxParameters, boolean isNotIn) {
+        if (bindValues.length == 0) {
+            return new InClause(isNotIn ? " 1=1 " : " 1<>1 ", bindValues, strategy);
+        }
+        if (strategy == InStrategyEnum.ARRAY) {
+            String sql = isNotIn ? "( not (" + fieldName + " = any(?)) )" : "( " + fieldName + " = any(?) )";
+            return new InClause(sql, new Object[]{bindValues}, strategy, InClause.arrayTypeName(bindValues));
+        }
+        if (bindValues.length > maxParameters) {
+            throw new IllegalArgumentException("SqlUtil values param has " + bindValues.length + " values, more than "
+                    + maxParameters + " bind parameters, use getInTempTableClause or batchExecutor instead");
+        }
+        if (strategy == InStrategyEnum.VALUES) {
+            return getValuesClause(bindValues, fieldName, maxParameters, isNotIn);
+        }
+        return getBindClause(bindValues, fieldName, maxParameters, isNotIn);
+    }
+
+    /**
+     * ( fieldName in ( ?,? ) or fieldName in ( ?,? )) <br>
+     * 每组{@link #IN_GROUP_SIZE}个?，最后一组的个数补齐到2的幂（不超过{@link #IN_GROUP_SIZE}），补齐的参数重复最后一个值，
+     * 不影响查询结果，值的个数相近时SQL相同；补齐后的个数不超过maxParameters
+     */
+    private static InClause getBindClause(Object[] values, String fieldName, int maxParameters, boolean isNotIn) {
+        int fullGroups = (values.length - 1) / IN_GROUP_SIZE;
+        int count = fullGroups * IN_GROUP_SIZE + bucketSize(values.length - fullGroups * IN_GROUP_SIZE, IN_GROUP_SIZE);
+        count = Math.min(count, maxParameters);
+        Object[] parameters = pad(values, count);
+        String inOrNotIn = isNotIn ? " not in " : " in ";
+        String concatenationOperator = isNotIn ? " and " : " or ";
+        StringBuilder sql = new StringBuilder(count * 2 + (fullGroups + 1) * (fieldName.length() + 16));
+        sql.append("( ").append(fieldName).append(inOrNotIn).append("( ");
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && i % IN_GROUP_SIZE == 0) {
+                sql.append(")").append(concatenationOperator).append(fieldName).append(inOrNotIn).append("( ");
+            } else if (i > 0) {
+                sql.append(',');
+            }
+            sql.append('?');
+        }
+        sql.append(" ))");
+        return new InClause(sql.toString(), parameters, InStrategyEnum.BIND);
+    }
+
+    /**
+     * ( fieldName in (select v from (values (?),(?)) t(v)) ) <br>
+     * ?的个数补齐到2的幂，不超过maxParameters，补齐的参数重复最后一个值
+     */
+    private static InClause getValuesClause(Object[] values, String fieldName, int maxParameters, boolean isNotIn) {
+        int count = bucketSize(values.length, maxParameters);
+        Object[] parameters = pad(values, count);
+        StringBuilder sql = new StringBuilder(count * 4 + fieldName.length() + 48);
+        sql.append("( ").append(fieldName).append(isNotIn ? " not in " : " in ").append("(select v from (values ");
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "(?)" : ",(?)");
+        }
+        sql.append(") t(v)) )");
+        return new InClause(sql.toString(), parameters, InStrategyEnum.VALUES);
+    }
+
+    /**
+     * @return 不小于size的2的幂，超过max时为max
+     */
+    private static int bucketSize(int size, int max) {
+        int bucket = Integer.highestOneBit(size);
+        if (bucket < size) {
+            bucket = bucket << 1;
+        }
+        return bucket <= 0 || bucket > max ? max : bucket;
+    }
+
+    /**
+     * @return 长度为count的参数数组，多出的位置重复最后一个值
+     */
+    private static Object[] pad(Object[] values, int count) {
+        if (values.length == count) {
+            return values;
+        }
+        Object[] parameters = Arrays.copyOf(values, count);
+        Arrays.fill(parameters, values.length, count, values[values.length - 1]);
+        return parameters;
+    }
+
+    /**
+     * @return 去掉null的值，Character转为String
+     */
+    private static Object[] bindValues(Object[] values) {
+        if (values == null) {
+            return new Object[0];
+        }
+        Object[] bindValues = new Object[values.length];
+        int size = 0;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            bindValues[size++] = value instanceof Character ? value.toString() : value;
+        }
+        return size == bindValues.length ? bindValues : Arrays.copyOf(bindValues, size);
+    }
+
     /**
      * 构造in()查询条件，如果in()中长度超过1000则自动or in()附加 <br>
      * values 返回1&lt;&gt;1 values{null,null} 返回1&lt;&gt;1
@@ -85,34 +665,243 @@ public class SqlUtil {
      */
     private static String getInOrNotInSql(Object[] values, String fieldName, boolean isNotIn) {
         Assert.hasText(fieldName, "SqlUtil fieldName param is null");
-        String otherSql = isNotIn ? " 1=1 " : " 1<>1 ";
         if (values == null || values.length == 0) {
-            return otherSql;
+            return InSqlWriter.otherSql(isNotIn);
         }
-        StringBuilder sql = new StringBuilder();
-        String inOrNotIn = isNotIn ? " not in " : " in ";
-        String concatenationOperator = isNotIn ? " and " : " or ";
-        sql.append("( ").append(fieldName).append(inOrNotIn).append("( ");
-        int num = 1;
-        boolean flag = false;
+        return getInOrNotInSql(Arrays.asList(values), values.length, fieldName, isNotIn);
+    }
+
+    private static String getInOrNotInSql(Iterable<?> values, int count, String fieldName, boolean isNotIn) {
+        StringBuilder buffer = InSqlWriter.borrow(InSqlWriter.length((long) count * ESTIMATED_VALUE_LENGTH, count, fieldName, isNotIn));
+        try {
+            appendInOrNotInSql(buffer, values, fieldName, isNotIn);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return InSqlWriter.release(buffer);
+    }
+
+    private static String getInOrNotInSql(long[] values, String fieldName, boolean isNotIn) {
+        return getInOrNotInSql(values == null ? 0 : values.length, i -> values[i], fieldName, isNotIn);
+    }
+
+    private static String getInOrNotInSql(int[] values, String fieldName, boolean isNotIn) {
+        return getInOrNotInSql(values == null ? 0 : values.length, i -> values[i], fieldName, isNotIn);
+    }
+
+    /**
+     * long[]和int[]共用，values按下标读取第i个值
+     */
+    private static String getInOrNotInSql(int count, IntToLongFunction values, String fieldName, boolean isNotIn) {
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        if (count == 0) {
+            return InSqlWriter.otherSql(isNotIn);
+        }
+        StringBuilder buffer = InSqlWriter.borrow(0);
+        try {
+            appendInOrNotInSql(buffer, count, values, fieldName, isNotIn);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return InSqlWriter.release(buffer);
+    }
+
+    private static void appendInOrNotInSql(Appendable out, Iterable<?> values, String fieldName, boolean isNotIn) throws IOException {
+        Assert.notNull(out, "SqlUtil out param is null");
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        if (out instanceof StringBuilder && values instanceof Collection) {
+            int count = ((Collection<?>) values).size();
+            StringBuilder builder = (StringBuilder) out;
+            builder.ensureCapacity(builder.length() + InSqlWriter.length((long) count * ESTIMATED_VALUE_LENGTH, count, fieldName, isNotIn));
+        }
+        InSqlWriter writer = new InSqlWriter(out, fieldName, isNotIn);
+        if (values != null) {
+            for (Object value : values) {
+                writer.write(value);
+            }
+        }
+        writer.finish();
+    }
+
+    private static void appendInOrNotInSql(Appendable out, long[] values, String fieldName, boolean isNotIn) throws IOException {
+        appendInOrNotInSql(out, values == null ? 0 : values.length, i -> values[i], fieldName, isNotIn);
+    }
+
+    private static void appendInOrNotInSql(Appendable out, int[] values, String fieldName, boolean isNotIn) throws IOException {
+        appendInOrNotInSql(out, values == null ? 0 : values.length, i -> values[i], fieldName, isNotIn);
+    }
+
+    /**
+     * long[]和int[]共用，values按下标读取第i个值
+     */
+    private static void appendInOrNotInSql(Appendable out, int count, IntToLongFunction values, String fieldName, boolean isNotIn) throws IOException {
+        Assert.notNull(out, "SqlUtil out param is null");
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        InSqlWriter writer = new InSqlWriter(out, fieldName, isNotIn);
+        if (out instanceof StringBuilder) {
+            long valueLength = 0;
+            for (int i = 0; i < count; i++) {
+                valueLength += InSqlWriter.stringSize(values.applyAsLong(i));
+            }
+            StringBuilder builder = (StringBuilder) out;
+            builder.ensureCapacity(builder.length() + InSqlWriter.length(valueLength, count, fieldName, isNotIn));
+        }
+        for (int i = 0; i < count; i++) {
+            writer.write(values.applyAsLong(i));
+        }
+        writer.finish();
+    }
+
+    private static String getDistinctInOrNotInSql(Collection<?> values, String fieldName, boolean sorted, boolean isNotIn) {
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        if (CollectionUtils.isEmpty(values)) {
+            return InSqlWriter.otherSql(isNotIn);
+        }
+        StringBuilder buffer = InSqlWriter.borrow(0);
+        try {
+            appendDistinctInOrNotInSql(buffer, values, fieldName, sorted, isNotIn);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return InSqlWriter.release(buffer);
+    }
+
+    private static void appendDistinctInOrNotInSql(Appendable out, Collection<?> values, String fieldName, boolean sorted, boolean isNotIn) throws IOException {
+        long[] numbers = integralValues(values);
+        if (numbers != null) {
+            appendInOrNotInSql(out, distinct(numbers, sorted), fieldName, isNotIn);
+            return;
+        }
+        Assert.notNull(out, "SqlUtil out param is null");
+        Assert.hasText(fieldName, "SqlUtil fieldName param is null");
+        InSqlWriter writer = new InSqlWriter(out, fieldName, isNotIn);
+        for (Object value : distinctValues(values, sorted)) {
+            writer.writeLiteral(value);
+        }
+        writer.finish();
+    }
+
+    /**
+     * @return 值全部为整数时返回去掉null的long数组，否则返回null
+     */
+    private static long[] integralValues(Collection<?> values) {
+        if (values == null) {
+            return new long[0];
+        }
+        long[] numbers = new long[values.size()];
+        int size = 0;
         for (Object value : values) {
             if (value == null) {
                 continue;
             }
-            if (num == 1000) {
-                sql.append(")").append(concatenationOperator).append(fieldName).append(inOrNotIn).append("( ");
-                num = 1;
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                numbers[size++] = ((Number) value).longValue();
+                continue;
             }
-            sql.append(num == 1 ? "" : ",");
-            if (value instanceof Character) {
-                sql.append("'").append(value).append("'");
-            } else {
-                sql.append(value);
+            Object key = distinctKey(value);
+            if (!(key instanceof Long)) {
+                return null;
             }
-            num++;
-            flag = true;
+            numbers[size++] = (Long) key;
         }
-        sql.append(" ))");
-        return flag ? sql.toString() : otherSql;
+        return size == numbers.length ? numbers : Arrays.copyOf(numbers, size);
+    }
+
+    /**
+     * @return 去掉null和重复值后的值，数字按{@link #distinctKey(Object)}去重，sorted为false时保持第一次出现的顺序
+     */
+    private static List<Object> distinctValues(Collection<?> values, boolean sorted) {
+        Set<Object> seen = new HashSet<>(values.size() * 4 / 3 + 1);
+        List<Object> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value != null && seen.add(distinctKey(value))) {
+                result.add(value);
+            }
+        }
+        if (sorted) {
+            try {
+                result.sort(SqlUtil::compareValues);
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException("SqlUtil values param is not comparable", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 去重的键，数值相等的数字键相同 <br>
+     * 可以表示为long的整数值为Long，其他数字为去掉末尾0的BigDecimal，NaN和无穷大为原值；其他值为原值
+     */
+    private static Object distinctKey(Object value) {
+        if (!(value instanceof Number)) {
+            return value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        BigDecimal number = toBigDecimal((Number) value);
+        if (number == null) {
+            return value;
+        }
+        if (number.signum() == 0) {
+            return 0L;
+        }
+        number = number.stripTrailingZeros();
+        if (number.scale() <= 0 && number.precision() - number.scale() <= 19) {
+            try {
+                return number.longValueExact();
+            } catch (ArithmeticException e) {
+                // 超出long的范围
+            }
+        }
+        return number;
+    }
+
+    /**
+     * @return 数字的精确值，NaN和无穷大为null
+     */
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(value.longValue());
+        }
+        if ((value instanceof Double || value instanceof Float)
+                && (Double.isNaN(value.doubleValue()) || Double.isInfinite(value.doubleValue()))) {
+            return null;
+        }
+        // 与写入的字面量一致，按toString()的十进制表示
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * 数字按数值比较，其他值按自然顺序比较
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            BigDecimal leftNumber = toBigDecimal((Number) left);
+            BigDecimal rightNumber = toBigDecimal((Number) right);
+            if (leftNumber != null && rightNumber != null) {
+                return leftNumber.compareTo(rightNumber);
+            }
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+
+    private static long[] distinct(long[] values, boolean sorted) {
+        return sorted ? LongHashSet.sortedDistinct(values) : LongHashSet.distinct(values);
+    }
+
+    private static long[] toLongs(int[] values) {
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
     }
 }
@@ -0,0 +1,137 @@
+package com.zuoy.tools;
+
+/**
+ * 树节点ID到下标的索引 <br>
+ * 使用开放寻址的数组保存，不会为每个节点创建Entry和装箱的Integer，支持null作为ID
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class TreeIdIndex {
+
+    /**
+     * 不存在时返回的下标
+     */
+    static final int NOT_FOUND = -1;
+
+    private String[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int nullValue = NOT_FOUND;
+
+    /**
+     * @param expectedSize 预计的ID数量
+     */
+    TreeIdIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        keys = new String[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * 保存ID对应的下标，ID已存在时覆盖
+     *
+     * @param id    主键ID
+     * @param value 下标，必须大于等于0
+     */
+    void put(String id, int value) {
+        if (id == null) {
+            nullValue = value;
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = spread(id.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(id)) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * @param id 主键ID
+     * @return 下标，不存在返回{@link #NOT_FOUND}
+     */
+    int get(String id) {
+        if (id == null) {
+            return nullValue;
+        }
+        int mask = keys.length - 1;
+        int slot = spread(id.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(id)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * 按字符串的一段查找下标，不会创建子字符串
+     *
+     * @param text 字符串
+     * @param from 开始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 下标，不存在返回{@link #NOT_FOUND}
+     */
+    int get(String text, int from, int to) {
+        int length = to - from;
+        //与String#hashCode的计算方式一致
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int mask = keys.length - 1;
+        int slot = spread(hash) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.length() == length && key.regionMatches(0, text, from, length)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[oldKeys.length << 1];
+        values = new int[oldKeys.length << 1];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = spread(oldKeys[i].hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * 打散连续的hash值，避免线性探测时聚集
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        return hash ^ (hash >>> 13);
+    }
+}
@@ -0,0 +1,65 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.tree.DiscontinuityTreeNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 树形结构的先序遍历迭代器 <br>
+ * 使用显式栈保存每一层孩子集合的迭代器，不使用递归，遍历时设置层级和叶子节点标识
+ *
+ * @param <T> 树节点类型
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class TreeNodeIterator<T extends DiscontinuityTreeNode<T>> implements Iterator<T> {
+
+    private final Deque<Iterator<T>> stack = new ArrayDeque<>();
+
+    private final boolean keepTree;
+
+    /**
+     * @param treeList 树形结构集合
+     * @param keepTree 是否保留树形结构，为false时与{@link TreeNodeUtils#transformToList(List)}一样清空孩子节点
+     */
+    TreeNodeIterator(List<T> treeList, boolean keepTree) {
+        this.keepTree = keepTree;
+        if (treeList != null) {
+            stack.push(treeList.iterator());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!stack.isEmpty()) {
+            if (stack.peek().hasNext()) {
+                return true;
+            }
+            stack.pop();
+        }
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T treeNode = stack.peek().next();
+        treeNode.setLevel(stack.size() - 1);
+        List<T> children = treeNode.getChildren();
+        boolean leaf = children == null || children.isEmpty();
+        treeNode.setIsLeaf(leaf);
+        if (!leaf) {
+            stack.push(children.iterator());
+            if (!keepTree) {
+                treeNode.setChildren(null);
+            }
+        }
+        return treeNode;
+    }
+}
@@ -2,10 +2,15 @@ package com.zuoy.tools;
 
 import com.zuoy.tools.tree.DiscontinuityTreeNode;
 import com.zuoy.tools.tree.TreeNode;
-import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * List数据，转换树形结构和顺序结构工具类
@@ -15,6 +20,21 @@ import java.util.*;
  */
 public abstract class TreeNodeUtils {
 
+    /**
+     * 并行构建树的最小数据量，数据量小于该值时直接使用串行构建
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * 并行排序时，单个任务处理的兄弟节点数量
+     */
+    private static final int SORT_BATCH_SIZE = 1 << 10;
+
+    /**
+     * ConcurrentHashMap不支持null作为key，使用该对象代替null主键
+     */
+    private static final Object NULL_ID = new Object();
+
     /**
      * 将树形结构集合数据转成顺序结构数据
      *
@@ -28,48 +48,79 @@ public abstract class TreeNodeUtils {
             return treeList;
         }
         List<T> tempTreeNodes = new ArrayList<>();
-        for (T treeNode : treeList) {
+        //使用显式栈代替递归进行先序遍历，栈中保存每一层的孩子集合以及遍历到的位置，栈的下标即为level级别
+        List<?>[] levels = new List<?>[16];
+        int[] positions = new int[16];
+        int level = 0;
+        levels[0] = randomAccess(treeList);
+        while (level >= 0) {
+            @SuppressWarnings("unchecked")
+            List<T> current = (List<T>) levels[level];
+            int position = positions[level];
+            if (position == current.size()) {
+                levels[level--] = null;
+                continue;
+            }
+            positions[level] = position + 1;
+            T treeNode = current.get(position);
             // 重新设置level级别
-            treeNode.setLevel(0);
-            treeNode.setIsLeaf(CollectionUtils.isEmpty(treeNode.getChildren()));
-            tempTreeNodes.add(treeNode);
+            treeNode.setLevel(level);
             List<T> children = treeNode.getChildren();
-            if (!CollectionUtils.isEmpty(children)) {
-                transformToList(tempTreeNodes, children, treeNode);
+            boolean leaf = children == null || children.isEmpty();
+            treeNode.setIsLeaf(leaf);
+            tempTreeNodes.add(treeNode);
+            if (!leaf) {
+                if (++level == levels.length) {
+                    levels = Arrays.copyOf(levels, level << 1);
+                    positions = Arrays.copyOf(positions, level << 1);
+                }
+                levels[level] = randomAccess(children);
+                positions[level] = 0;
                 treeNode.setChildren(null);
             }
         }
         return tempTreeNodes;
     }
 
+    private static <T> List<T> randomAccess(List<T> list) {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+
     /**
-     * 将树形结构集合数据转成顺序结构数据，并重新设置级别
+     * 将树形结构集合数据按先序遍历逐个返回，不会一次性生成顺序结构集合，遍历时重新设置级别和叶子节点标识 <br>
+     * 使用显式栈遍历，树的深度不受线程栈限制
      *
-     * @param tempTreeNodes
-     * @param treeList
-     * @param parentTreeNode
-     * @param <T>
-     */
-    private static <T extends DiscontinuityTreeNode<T>> void transformToList(List<T> tempTreeNodes, List<T> treeList, T parentTreeNode) {
-        for (T treeNode : treeList) {
-            treeNode.setLevel(parentTreeNode.getLevel() + 1);
-            treeNode.setIsLeaf(CollectionUtils.isEmpty(treeNode.getChildren()));
-            tempTreeNodes.add(treeNode);
-            List<T> children = treeNode.getChildren();
-            if (!CollectionUtils.isEmpty(children)) {
-                transformToList(tempTreeNodes, children, treeNode);
-                treeNode.setChildren(null);
-            }
-        }
+     * @param treeList 树形结构集合
+     * @param keepTree 是否保留树形结构，为false时与{@link #transformToList(List)}一样清空孩子节点
+     * @param <T>      树节点类型
+     * @return 顺序结构迭代器
+     */
+    public static <T extends DiscontinuityTreeNode<T>> Iterator<T> transformToIterator(List<T> treeList, boolean keepTree) {
+        return new TreeNodeIterator<>(treeList, keepTree);
     }
 
+    /**
+     * 将树形结构集合数据转成顺序结构的流，按先序遍历惰性求值，遍历时重新设置级别和叶子节点标识
+     *
+     * @param treeList 树形结构集合
+     * @param keepTree 是否保留树形结构，为false时与{@link #transformToList(List)}一样清空孩子节点
+     * @param <T>      树节点类型
+     * @return 顺序结构的流
+     * @see #transformToIterator(List, boolean)
+     */
+    public static <T extends DiscontinuityTreeNode<T>> Stream<T> transformToStream(List<T> treeList, boolean keepTree) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(transformToIterator(treeList, keepTree),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
 
     /**
      * 将无结构集合转换为树形结构集合
      *
      * @param list 无结构集合
      * @param <T>  1、实现{@link DiscontinuityTreeNode}接口的对象进行转换，将会丢失连续的节点。<br>
-     *             2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点。
+     *             2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点，
+     *             并挂载到全路径中最近的存在的祖先节点。
      * @return 树形数据结构集合
      */
     public static <T extends DiscontinuityTreeNode<T>> List<T> transformToTree(List<T> list) {
@@ -82,63 +133,41 @@ public abstract class TreeNodeUtils {
      * @param handlerList 无结构集合
      * @param comparator  排序器
      * @param <T>         1、实现{@link DiscontinuityTreeNode}接口的对象进行转换，将会丢失连续的节点。<br>
-     *                    2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点。
+     *                    2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点，
+     *                    并挂载到全路径中最近的存在的祖先节点。
      * @return 树形数据结构集合
      */
     public static <T extends DiscontinuityTreeNode<T>> List<T> transformToTree(List<T> handlerList, Comparator<? super T> comparator) {
         if (CollectionUtils.isEmpty(handlerList)) {
             return handlerList;
         }
-        //使用map，把对象ID作为map的key，对象作为map的值。
-        //此时map的key相当于集合对象的指针，通过指针直接修改对象中的孩子节点
-        Map<String, T> map = new HashMap<>();
-        for (T discontinuityTreeNode : handlerList) {
-            map.put(discontinuityTreeNode.getId(), discontinuityTreeNode);
+        List<T> nodes = handlerList instanceof RandomAccess ? handlerList : new ArrayList<>(handlerList);
+        //使用索引，把对象ID作为key，对象的下标作为值。
+        //此时索引相当于集合对象的指针，通过指针直接修改对象中的孩子节点
+        TreeIdIndex index = new TreeIdIndex(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i).getId(), i);
         }
+        TreePathIndex pathIndex = new TreePathIndex(index);
 
         List<T> tempTreeNodes = new ArrayList<>();
         //遍历需要构建树的结合
-        for (T discontinuityTreeNode : handlerList) {
-            //在map中查找当前对象的父对象
-            T mapTreeNode = map.get(discontinuityTreeNode.getParentId());
+        for (int i = 0; i < nodes.size(); i++) {
+            T discontinuityTreeNode = nodes.get(i);
+            //在索引中查找当前对象的父对象
+            int parentIndex = index.get(discontinuityTreeNode.getParentId());
             //如果父对象不为空，且父对象就不是自己本身
-            if (mapTreeNode != null && !discontinuityTreeNode.getId().equals(discontinuityTreeNode.getParentId())) {
+            if (parentIndex != TreeIdIndex.NOT_FOUND && !discontinuityTreeNode.getId().equals(discontinuityTreeNode.getParentId())) {
                 //将当前的树形节点加入到父对象的孩子中
-                setChildrenValue(mapTreeNode, discontinuityTreeNode);
+                setChildrenValue(nodes.get(parentIndex), discontinuityTreeNode);
             } else {
                 //如果父对象为空，或者父对象就是自己本身，执行下面代码
-                //建立是否连续树形节点标识
-                boolean continuityFlag = false;
-                //是否是连续树形节点
-                if (discontinuityTreeNode instanceof TreeNode) {
-                    //将非连续树形节点专为连续树形节点
-                    TreeNode treeNode = (TreeNode) discontinuityTreeNode;
-                    String simpleClassName = discontinuityTreeNode.getClass().getSimpleName();
-                    //获取分隔符
-                    String split = treeNode.getSplit();
-                    Assert.hasText(split, simpleClassName + "#getSplit() method can not return null");
-                    //获取该节点的全路径
-                    String path = treeNode.getPath();
-                    Assert.hasText(path, simpleClassName + "#getPath() method can not return null");
-                    String[] paths = path.split(split);
-                    //根据全路径节点，找到当前节点所处的下标
-                    int currentIndex = -1;
-                    for (int i = 0; i < paths.length; i++) {
-                        if (discontinuityTreeNode.getId().equals(paths[i])) {
-                            currentIndex = i;
-                            break;
-                        }
-                    }
-                    //只有当当前节点处于第三个位置，即下标为2之后，出现不连续节点
-                    if (currentIndex >= 2) {
-                        T tempNode = map.get(paths[currentIndex - 2]);
-                        setChildrenValue(tempNode, discontinuityTreeNode);
-                        //更改标识，设置为连续节点
-                        continuityFlag = true;
-                    }
-                }
-                //如果不是连续节点，则将对象加入数组中
-                if (!continuityFlag) {
+                //不连续节点挂载到全路径中最近的存在的祖先节点
+                int ancestorIndex = pathIndex.findAncestor(discontinuityTreeNode, i);
+                if (ancestorIndex != TreeIdIndex.NOT_FOUND) {
+                    setChildrenValue(nodes.get(ancestorIndex), discontinuityTreeNode);
+                } else {
+                    //如果不是连续节点，则将对象加入数组中
                     tempTreeNodes.add(discontinuityTreeNode);
                 }
             }
@@ -147,12 +176,175 @@ public abstract class TreeNodeUtils {
         if (comparator != null) {
             //将顶级集合先排序
             tempTreeNodes.sort(comparator);
-            //遍历孩子节点，进行递归排序
+            //遍历孩子节点，进行循环排序
             loopSort(tempTreeNodes, comparator);
         }
         return tempTreeNodes;
     }
 
+    /**
+     * 将无结构集合并行转换为树形结构集合
+     *
+     * @param list 无结构集合
+     * @param <T>  1、实现{@link DiscontinuityTreeNode}接口的对象进行转换，将会丢失连续的节点。<br>
+     *             2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点。
+     * @return 树形数据结构集合
+     * @see #transformToTreeParallel(List, Comparator)
+     */
+    public static <T extends DiscontinuityTreeNode<T>> List<T> transformToTreeParallel(List<T> list) {
+        return transformToTreeParallel(list, null);
+    }
+
+    /**
+     * 将无结构集合并行转换为树形结构集合，结果与{@link #transformToTree(List, Comparator)}完全一致 <br>
+     * 1、并发建立ID索引，ID重复时与串行构建相同，以最后出现的节点为准<br>
+     * 2、并发计算每个节点的父节点下标（包括不连续节点的重新挂载）<br>
+     * 3、按父节点稳定分组，每个父节点只由一个任务挂载孩子节点，无需全局锁<br>
+     * 4、存在排序器时，子树排序以fork-join任务执行<br>
+     * 数据量较小时直接使用串行构建
+     *
+     * @param handlerList 无结构集合
+     * @param comparator  排序器
+     * @param <T>         1、实现{@link DiscontinuityTreeNode}接口的对象进行转换，将会丢失连续的节点。<br>
+     *                    2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点。
+     * @return 树形数据结构集合
+     */
+    public static <T extends DiscontinuityTreeNode<T>> List<T> transformToTreeParallel(List<T> handlerList, Comparator<? super T> comparator) {
+        if (CollectionUtils.isEmpty(handlerList) || handlerList.size() < PARALLEL_THRESHOLD) {
+            return transformToTree(handlerList, comparator);
+        }
+        List<T> nodes = handlerList instanceof RandomAccess ? handlerList : new ArrayList<>(handlerList);
+        int size = nodes.size();
+        //并发建立ID索引，值为节点下标，ID重复时保留最大下标，与HashMap#put的覆盖效果一致
+        Map<Object, Integer> index = new ConcurrentHashMap<>(size + (size >> 1));
+        IntStream.range(0, size).parallel()
+                .forEach(i -> index.merge(idKey(nodes.get(i).getId()), i, Math::max));
+
+        //并发计算每个节点的父节点下标，-1表示顶级节点
+        TreePathIndex pathIndex = new TreePathIndex((path, from, to) -> {
+            Integer ancestorIndex = index.get(path.substring(from, to));
+            return ancestorIndex == null ? TreeIdIndex.NOT_FOUND : ancestorIndex;
+        });
+        int[] parents = new int[size];
+        IntStream.range(0, size).parallel()
+                .forEach(i -> parents[i] = getParentIndex(nodes.get(i), i, index, pathIndex));
+
+        //高32位为父节点下标，低32位为自身下标，排序后同一父节点的孩子连续且保持原有顺序
+        long[] links = IntStream.range(0, size).parallel()
+                .filter(i -> parents[i] >= 0)
+                .mapToLong(i -> ((long) parents[i] << 32) | i)
+                .toArray();
+        Arrays.parallelSort(links);
+        //每一段的起始位置，对应一个父节点
+        int[] runs = IntStream.range(0, links.length).parallel()
+                .filter(k -> k == 0 || (links[k] >>> 32) != (links[k - 1] >>> 32))
+                .toArray();
+        IntStream.range(0, runs.length).parallel().forEach(r -> {
+            int from = runs[r];
+            int to = r + 1 < runs.length ? runs[r + 1] : links.length;
+            T parent = nodes.get((int) (links[from] >>> 32));
+            if (parent.getChildren() == null) {
+                parent.setChildren(new ArrayList<>(to - from));
+            }
+            List<T> children = parent.getChildren();
+            for (int k = from; k < to; k++) {
+                children.add(nodes.get((int) links[k]));
+            }
+        });
+
+        List<T> tempTreeNodes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (parents[i] < 0) {
+                tempTreeNodes.add(nodes.get(i));
+            }
+        }
+        if (comparator != null) {
+            tempTreeNodes.sort(comparator);
+            ForkJoinPool.commonPool().invoke(new LoopSortTask<>(null, tempTreeNodes, 0, tempTreeNodes.size(), comparator));
+        }
+        return tempTreeNodes;
+    }
+
+    /**
+     * 将无结构集合转换为基于下标的紧凑树形结构 <br>
+     * 节点ID只转换一次为连续下标，不使用HashMap和装箱对象，父子关系保存在int数组中，
+     * 需要时再通过{@link CompactTree#toTree()}生成与{@link #transformToTree(List, Comparator)}相同的树形结构
+     *
+     * @param handlerList 无结构集合
+     * @param comparator  排序器，可以为null
+     * @param <T>         1、实现{@link DiscontinuityTreeNode}接口的对象进行转换，将会丢失连续的节点。<br>
+     *                    2、实现{@link TreeNode}接口的对象进行转换，如果出现不连续节点，将会自动保留之后的节点。
+     * @return 紧凑树形结构
+     */
+    public static <T extends DiscontinuityTreeNode<T>> CompactTree<T> transformToCompactTree(List<T> handlerList, Comparator<? super T> comparator) {
+        List<T> nodes = handlerList == null ? Collections.emptyList()
+                : handlerList instanceof RandomAccess ? handlerList : new ArrayList<>(handlerList);
+        int size = nodes.size();
+        TreeIdIndex index = new TreeIdIndex(size);
+        for (int i = 0; i < size; i++) {
+            index.put(nodes.get(i).getId(), i);
+        }
+        CompactTree<T> tree = new CompactTree<>(nodes, index);
+        TreePathIndex pathIndex = new TreePathIndex(index);
+        for (int i = 0; i < size; i++) {
+            T treeNode = nodes.get(i);
+            int parentIndex = index.get(treeNode.getParentId());
+            if (parentIndex != TreeIdIndex.NOT_FOUND && !treeNode.getId().equals(treeNode.getParentId())) {
+                tree.link(parentIndex, i);
+                continue;
+            }
+            int ancestorIndex = pathIndex.findAncestor(treeNode, i);
+            if (ancestorIndex == TreeIdIndex.NOT_FOUND) {
+                tree.addRoot(i);
+            } else {
+                tree.link(ancestorIndex, i);
+            }
+        }
+        if (comparator != null) {
+            tree.sort(comparator);
+        }
+        return tree;
+    }
+
+    /**
+     * 将无结构集合转换为可增量维护的树形结构，之后的新增、删除、移动、启用、禁用不需要重新构建整棵树
+     *
+     * @param handlerList 无结构集合，所有节点均为启用状态，ID不能重复
+     * @param comparator  排序器，可以为null
+     * @param <T>         1、实现{@link DiscontinuityTreeNode}接口的对象，父节点不存在或被禁用时作为顶级节点。<br>
+     *                    2、实现{@link TreeNode}接口的对象，父节点不存在或被禁用时挂载到最近的启用的祖先节点。
+     * @return 可增量维护的树形结构
+     */
+    public static <T extends DiscontinuityTreeNode<T>> IndexedTree<T> transformToIndexedTree(List<T> handlerList, Comparator<? super T> comparator) {
+        IndexedTree<T> tree = new IndexedTree<T>(comparator);
+        if (!CollectionUtils.isEmpty(handlerList)) {
+            tree.build(handlerList);
+        }
+        return tree;
+    }
+
+    /**
+     * 计算节点的父节点下标，规则与{@link #transformToTree(List, Comparator)}一致
+     *
+     * @param treeNode  树节点
+     * @param selfIndex 树节点的下标
+     * @param index     ID索引
+     * @param pathIndex 全路径索引
+     * @param <T>       树节点类型
+     * @return 父节点下标，-1表示顶级节点
+     */
+    private static <T extends DiscontinuityTreeNode<T>> int getParentIndex(T treeNode, int selfIndex, Map<Object, Integer> index, TreePathIndex pathIndex) {
+        Integer parentIndex = index.get(idKey(treeNode.getParentId()));
+        if (parentIndex != null && !treeNode.getId().equals(treeNode.getParentId())) {
+            return parentIndex;
+        }
+        return pathIndex.findAncestor(treeNode, selfIndex);
+    }
+
+    private static Object idKey(String id) {
+        return id == null ? NULL_ID : id;
+    }
+
     /**
      * 设置孩子节点
      *
@@ -169,20 +361,73 @@ public abstract class TreeNodeUtils {
     }
 
     /**
-     * 递归循环排序
+     * 循环排序，使用显式栈代替递归，树的深度不受线程栈限制
      *
      * @param childNodes 子节点集合
      * @param comparator 排序器
      * @param <T>        树节点类型
      */
     private static <T extends DiscontinuityTreeNode<T>> void loopSort(List<T> childNodes, Comparator<? super T> comparator) {
-        for (T treeNode : childNodes) {
-            List<T> children = treeNode.getChildren();
-            if (children == null || treeNode.getChildren().size() <= 1) {
-                continue;
+        Deque<List<T>> stack = new ArrayDeque<>();
+        stack.push(childNodes);
+        while (!stack.isEmpty()) {
+            for (T treeNode : stack.pop()) {
+                List<T> children = treeNode.getChildren();
+                if (children == null || children.size() <= 1) {
+                    continue;
+                }
+                children.sort(comparator);
+                stack.push(children);
+            }
+        }
+    }
+
+    /**
+     * 并行循环排序，与{@link #loopSort(List, Comparator)}的排序范围一致 <br>
+     * 使用CountedCompleter，子任务之间不互相等待，树的深度不会增加线程栈深度
+     *
+     * @param <T> 树节点类型
+     */
+    private static final class LoopSortTask<T extends DiscontinuityTreeNode<T>> extends CountedCompleter<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> nodes;
+
+        private final int from;
+
+        private final int to;
+
+        private final Comparator<? super T> comparator;
+
+        LoopSortTask(CountedCompleter<?> completer, List<T> nodes, int from, int to, Comparator<? super T> comparator) {
+            super(completer);
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public void compute() {
+            int hi = to;
+            //兄弟节点过多时，拆分成多个任务
+            while (hi - from > SORT_BATCH_SIZE) {
+                int mid = (from + hi) >>> 1;
+                addToPendingCount(1);
+                new LoopSortTask<>(this, nodes, mid, hi, comparator).fork();
+                hi = mid;
+            }
+            for (int i = from; i < hi; i++) {
+                List<T> children = nodes.get(i).getChildren();
+                if (children == null || children.size() <= 1) {
+                    continue;
+                }
+                children.sort(comparator);
+                addToPendingCount(1);
+                new LoopSortTask<>(this, children, 0, children.size(), comparator).fork();
             }
-            treeNode.getChildren().sort(comparator);
-            loopSort(treeNode.getChildren(), comparator);
+            tryComplete();
         }
     }
 }
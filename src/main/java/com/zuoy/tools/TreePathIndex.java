@@ -0,0 +1,214 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.tree.DiscontinuityTreeNode;
+import com.zuoy.tools.tree.TreeNode;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link TreeNode}全路径索引，用于不连续节点查找祖先节点 <br>
+ * 分隔符与原实现一样按{@link String#split(String)}的正则表达式处理：不含正则元字符或只含转义的元字符（如"\\."、"\\|"、
+ * {@link Pattern#quote(String)}的结果）时还原为普通字符串，直接在全路径字符串上查找各段的位置，
+ * 不会拆分出字符串数组，也不会创建子字符串；其他正则表达式按{@link Matcher}查找各段。
+ * 只有一个字符的元字符（如"."、"|"）按普通字符串处理，原实现按正则拆分后找不到祖先节点
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class TreePathIndex {
+
+    /**
+     * 按全路径中的一段查找节点下标
+     */
+    interface SegmentLookup {
+
+        /**
+         * @param path 全路径
+         * @param from 开始位置（包含）
+         * @param to   结束位置（不包含）
+         * @return 节点下标，不存在返回{@link TreeIdIndex#NOT_FOUND}
+         */
+        int indexOf(String path, int from, int to);
+    }
+
+    /**
+     * 正则表达式的元字符
+     */
+    private static final String REGEX_META = ".$|()[{^?*+\\";
+
+    private final SegmentLookup lookup;
+
+    /**
+     * 最近一次使用的分隔符，分隔符通常是常量，不可变对象，可以在并行构建时共享
+     */
+    private volatile Separator separator;
+
+    TreePathIndex(SegmentLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    TreePathIndex(TreeIdIndex idIndex) {
+        this(idIndex::get);
+    }
+
+    /**
+     * 查找不连续节点最近的祖先节点，即从全路径中当前节点的上一段开始向前查找，返回第一个存在的节点
+     *
+     * @param discontinuityTreeNode 父节点不存在的节点
+     * @param selfIndex             当前节点的下标，查找时跳过自身
+     * @return 祖先节点下标，不是{@link TreeNode}或者全路径中没有存在的祖先时返回{@link TreeIdIndex#NOT_FOUND}
+     */
+    int findAncestor(DiscontinuityTreeNode<?> discontinuityTreeNode, int selfIndex) {
+        if (!(discontinuityTreeNode instanceof TreeNode)) {
+            return TreeIdIndex.NOT_FOUND;
+        }
+        TreeNode<?> treeNode = (TreeNode<?>) discontinuityTreeNode;
+        String simpleClassName = discontinuityTreeNode.getClass().getSimpleName();
+        //获取分隔符
+        String split = treeNode.getSplit();
+        Assert.hasText(split, simpleClassName + "#getSplit() method can not return null");
+        //获取该节点的全路径
+        String path = treeNode.getPath();
+        Assert.hasText(path, simpleClassName + "#getPath() method can not return null");
+        Separator resolved = separator;
+        if (resolved == null || !resolved.split.equals(split)) {
+            resolved = new Separator(split);
+            separator = resolved;
+        }
+        if (resolved.literal == null) {
+            return findAncestor(path, resolved.pattern, discontinuityTreeNode.getId(), selfIndex);
+        }
+        split = resolved.literal;
+        //当前节点在全路径中的开始位置
+        int current = indexOfSegment(path, split, discontinuityTreeNode.getId());
+        if (current <= 0) {
+            return TreeIdIndex.NOT_FOUND;
+        }
+        //从上一段开始，逐段向前查找
+        int end = current - split.length();
+        while (end >= 0) {
+            int previous = path.lastIndexOf(split, end - split.length());
+            int start = previous < 0 ? 0 : previous + split.length();
+            int ancestorIndex = lookup.indexOf(path, start, end);
+            if (ancestorIndex != TreeIdIndex.NOT_FOUND && ancestorIndex != selfIndex) {
+                return ancestorIndex;
+            }
+            end = previous;
+        }
+        return TreeIdIndex.NOT_FOUND;
+    }
+
+    /**
+     * 按正则表达式分隔符查找祖先节点，各段的位置与{@link String#split(String)}一致
+     */
+    private int findAncestor(String path, Pattern pattern, String id, int selfIndex) {
+        //每段的开始和结束位置
+        int[] bounds = new int[16];
+        int count = 0;
+        int from = 0;
+        Matcher matcher = pattern.matcher(path);
+        while (true) {
+            boolean found = matcher.find();
+            if (found && matcher.end() == 0) {
+                //开头的零宽度匹配不产生空的段
+                continue;
+            }
+            if (count + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length << 1);
+            }
+            bounds[count++] = from;
+            bounds[count++] = found ? matcher.start() : path.length();
+            if (!found) {
+                break;
+            }
+            from = matcher.end();
+        }
+        int current = -1;
+        for (int i = 0; i < count; i += 2) {
+            if (bounds[i + 1] - bounds[i] == id.length() && path.regionMatches(bounds[i], id, 0, id.length())) {
+                current = i;
+                break;
+            }
+        }
+        //从上一段开始，逐段向前查找
+        for (int i = current - 2; i >= 0; i -= 2) {
+            int ancestorIndex = lookup.indexOf(path, bounds[i], bounds[i + 1]);
+            if (ancestorIndex != TreeIdIndex.NOT_FOUND && ancestorIndex != selfIndex) {
+                return ancestorIndex;
+            }
+        }
+        return TreeIdIndex.NOT_FOUND;
+    }
+
+    /**
+     * 查找ID在全路径中第一次出现的开始位置
+     *
+     * @return 开始位置，不存在返回-1
+     */
+    private static int indexOfSegment(String path, String split, String id) {
+        int from = 0;
+        while (true) {
+            int separator = path.indexOf(split, from);
+            int to = separator < 0 ? path.length() : separator;
+            if (to - from == id.length() && path.regionMatches(from, id, 0, id.length())) {
+                return from;
+            }
+            if (separator < 0) {
+                return -1;
+            }
+            from = separator + split.length();
+        }
+    }
+
+    /**
+     * 解析后的分隔符
+     */
+    private static final class Separator {
+
+        private final String split;
+
+        /**
+         * 还原后的普通字符串，正则表达式时为null
+         */
+        private final String literal;
+
+        private final Pattern pattern;
+
+        private Separator(String split) {
+            this.split = split;
+            this.literal = toLiteral(split);
+            this.pattern = literal == null ? Pattern.compile(split) : null;
+        }
+
+        /**
+         * @return 还原后的普通字符串，含有未转义的元字符或字母数字的转义（如\\s）时为null
+         */
+        private static String toLiteral(String split) {
+            int length = split.length();
+            if (length == 1) {
+                return split;
+            }
+            if (length >= 4 && split.startsWith("\\Q") && split.indexOf("\\E") == length - 2) {
+                return split.substring(2, length - 2);
+            }
+            StringBuilder literal = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                char c = split.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 == length || Character.isLetterOrDigit(split.charAt(i + 1))) {
+                        return null;
+                    }
+                    literal.append(split.charAt(++i));
+                } else if (REGEX_META.indexOf(c) >= 0) {
+                    return null;
+                } else {
+                    literal.append(c);
+                }
+            }
+            return literal.toString();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.zuoy.tools;
+
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * 默认时区在当前年份前后若干年内的偏移量表 <br>
+ * 预先计算范围内所有时区切换的时间和切换后的偏移量，并按天记录每天之后第一次切换的下标，
+ * 查找偏移量只需要一次数组下标访问，一天、月、季度、年的开始时间由本地时间的整数运算得出，不再每次创建DateTime或Calendar。<br>
+ * Joda的方法和{@link java.util.Calendar}分别使用Joda和JDK的时区数据，两者的版本可能不同，所以各自建表，
+ * 默认时区变化后在下一次使用时重建。<br>
+ * 年数通过系统属性{@value #YEARS_PROPERTY}配置，默认{@value #DEFAULT_YEARS}年；
+ * 超出范围的时间、时区切换所在的一天返回{@link #INVALID}，由调用方使用原有的方式计算
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class ZoneOffsetTable {
+
+    /**
+     * 当前年份前后的年数
+     */
+    static final String YEARS_PROPERTY = "zuoy.tools.date.table.years";
+
+    static final int DEFAULT_YEARS = 50;
+
+    /**
+     * 超出范围或者无法直接计算
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = CalendarMath.MILLIS_PER_DAY;
+
+    private static volatile ZoneOffsetTable jodaTable;
+
+    private static volatile ZoneOffsetTable calendarTable;
+
+    /**
+     * 时区，Joda的时区对象或者JDK的时区ID
+     */
+    private final Object zone;
+
+    /**
+     * 覆盖范围的开始时间（包含）
+     */
+    private final long from;
+
+    /**
+     * 覆盖范围的结束时间（不包含）
+     */
+    private final long to;
+
+    /**
+     * 时区切换的时间，升序
+     */
+    private final long[] transitions;
+
+    /**
+     * offsets[i]为第i次切换前的偏移量，最后一个元素为最后一次切换后的偏移量
+     */
+    private final int[] offsets;
+
+    /**
+     * firstTransitions[d]为从开始时间起第d天开始时（包含）之后第一次切换的下标
+     */
+    private final int[] firstTransitions;
+
+    private ZoneOffsetTable(Object zone, long from, long to, long[] transitions, int[] offsets) {
+        this.zone = zone;
+        this.from = from;
+        this.to = to;
+        this.transitions = transitions;
+        this.offsets = offsets;
+        this.firstTransitions = new int[(int) ((to - from + MILLIS_PER_DAY - 1) / MILLIS_PER_DAY)];
+        int index = 0;
+        for (int day = 0; day < firstTransitions.length; day++) {
+            long start = from + day * MILLIS_PER_DAY;
+            while (index < transitions.length && transitions[index] < start) {
+                index++;
+            }
+            firstTransitions[day] = index;
+        }
+    }
+
+    /**
+     * @return Joda默认时区的偏移量表
+     */
+    static ZoneOffsetTable joda() {
+        DateTimeZone zone = DateTimeZone.getDefault();
+        ZoneOffsetTable table = jodaTable;
+        if (table == null || table.zone != zone) {
+            table = build(zone);
+            jodaTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * @param zone Joda的时区
+     * @return 时区为Joda默认时区时返回偏移量表，否则返回null
+     */
+    static ZoneOffsetTable joda(DateTimeZone zone) {
+        ZoneOffsetTable table = joda();
+        return table.zone == zone ? table : null;
+    }
+
+    /**
+     * @return JDK默认时区的偏移量表，与{@link java.util.Calendar}使用的偏移量一致
+     */
+    static ZoneOffsetTable calendar() {
+        TimeZone zone = TimeZone.getDefault();
+        ZoneOffsetTable table = calendarTable;
+        if (table == null || !table.zone.equals(zone.getID())) {
+            table = build(zone);
+            calendarTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * @return 是否在覆盖范围内
+     */
+    boolean covers(long millis) {
+        return millis >= from && millis < to;
+    }
+
+    /**
+     * @param millis 覆盖范围内的毫秒数
+     * @return 偏移量
+     */
+    int offset(long millis) {
+        return offsets[countTransitions(millis)];
+    }
+
+    /**
+     * @param millis 覆盖范围内的毫秒数
+     * @return 不晚于该时间的切换次数，即之后第一次切换的下标
+     */
+    private int countTransitions(long millis) {
+        int index = firstTransitions[(int) ((millis - from) / MILLIS_PER_DAY)];
+        while (index < transitions.length && transitions[index] <= millis) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return 本地时间，超出范围返回{@link #INVALID}
+     */
+    long toLocal(long millis) {
+        return covers(millis) ? millis + offset(millis) : INVALID;
+    }
+
+    /**
+     * 本地时间转换为毫秒数，只处理{@link #isUnambiguousDay(long)}的日期，
+     * 这样的本地时间只对应一个毫秒数，Joda各种转换方式的结果都相同
+     *
+     * @param local 本地时间
+     * @return 毫秒数，超出范围或者在时区切换附近返回{@link #INVALID}
+     */
+    long toMillis(long local) {
+        if (local == INVALID) {
+            return INVALID;
+        }
+        long start = Math.floorDiv(local, MILLIS_PER_DAY) * MILLIS_PER_DAY;
+        if (!covers(start - 2 * MILLIS_PER_DAY) || !covers(start + 3 * MILLIS_PER_DAY)) {
+            return INVALID;
+        }
+        int offset = offset(local - offset(local));
+        start -= offset;
+        return isUnambiguousDay(start) && offset(start) == offset ? local - offset : INVALID;
+    }
+
+    /**
+     * @param start 当地一天的开始时间
+     * @return 该天以及前一天是否都没有时区切换
+     */
+    boolean isWholeDay(long start) {
+        return hasNoTransition(start - MILLIS_PER_DAY, start + MILLIS_PER_DAY);
+    }
+
+    /**
+     * 后一天的切换也可能使当天最后一段本地时间重复出现（例如America/St_Johns在00:01切换），
+     * 所以前一天、当天、后一天都没有时区切换时，当天的每个本地时间才只对应一个毫秒数
+     *
+     * @param start 当地一天的开始时间
+     * @return 前一天、当天、后一天是否都没有时区切换
+     */
+    boolean isUnambiguousDay(long start) {
+        return hasNoTransition(start - MILLIS_PER_DAY, start + MILLIS_PER_DAY + MILLIS_PER_DAY);
+    }
+
+    /**
+     * @return (from, to)之间是否没有时区切换，超出范围返回false
+     */
+    private boolean hasNoTransition(long from, long to) {
+        if (!covers(from) || !covers(to - 1)) {
+            return false;
+        }
+        int next = countTransitions(from);
+        return next == transitions.length || transitions[next] >= to;
+    }
+
+    /**
+     * @return 所在一天的开始时间，超出范围或者在时区切换附近时返回{@link #INVALID}
+     */
+    long startOfDay(long millis) {
+        long local = toLocal(millis);
+        return local == INVALID ? INVALID : toMillis(Math.floorDiv(local, MILLIS_PER_DAY) * MILLIS_PER_DAY);
+    }
+
+    private static ZoneOffsetTable build(DateTimeZone zone) {
+        long[] range = range();
+        long from = range[0];
+        long to = range[1];
+        long[] transitions = new long[16];
+        int[] offsets = new int[17];
+        int count = 0;
+        offsets[0] = zone.getOffset(from);
+        long current = from;
+        while (!zone.isFixed()) {
+            long next = zone.nextTransition(current);
+            if (next <= current || next >= to) {
+                break;
+            }
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = next;
+            offsets[++count] = zone.getOffset(next);
+            current = next;
+        }
+        return new ZoneOffsetTable(zone, from, to, Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+    }
+
+    /**
+     * 按JDK的时区规则建表，并与{@link TimeZone#getOffset(long)}逐段核对，不一致时（例如自定义的时区）返回空表
+     */
+    private static ZoneOffsetTable build(TimeZone zone) {
+        long[] range = range();
+        long from = range[0];
+        long to = range[1];
+        ZoneOffsetTable empty = new ZoneOffsetTable(zone.getID(), 0, 0, new long[0], new int[]{0});
+        ZoneRules rules;
+        try {
+            rules = zone.toZoneId().getRules();
+        } catch (RuntimeException e) {
+            return empty;
+        }
+        long[] transitions = new long[16];
+        int[] offsets = new int[17];
+        int count = 0;
+        offsets[0] = rules.getOffset(Instant.ofEpochMilli(from)).getTotalSeconds() * 1000;
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(from));
+        while (transition != null && transition.getInstant().toEpochMilli() < to) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = transition.getInstant().toEpochMilli();
+            offsets[++count] = transition.getOffsetAfter().getTotalSeconds() * 1000;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        for (int i = 0; i <= count; i++) {
+            long start = i == 0 ? from : transitions[i - 1];
+            long end = i == count ? to : transitions[i];
+            if (zone.getOffset(start) != offsets[i] || zone.getOffset(end - 1) != offsets[i]) {
+                return empty;
+            }
+        }
+        return new ZoneOffsetTable(zone.getID(), from, to, Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+    }
+
+    /**
+     * @return 当前年份前后若干年的开始和结束时间，前后各多留两天
+     */
+    private static long[] range() {
+        int years = Math.max(0, Integer.getInteger(YEARS_PROPERTY, DEFAULT_YEARS));
+        int year = CalendarMath.toYyyymmdd(Math.floorDiv(DateTimeUtils.currentTimeMillis(), MILLIS_PER_DAY)) / 10000;
+        long from = (CalendarMath.toEpochDay(year - years, 1, 1) - 2) * MILLIS_PER_DAY;
+        long to = (CalendarMath.toEpochDay(year + years + 1, 1, 1) + 2) * MILLIS_PER_DAY;
+        return new long[]{from, to};
+    }
+}
@@ -0,0 +1,44 @@
+package com.zuoy.tools.enums;
+
+/**
+ * 日期粒度枚举类，按本地时间划分时间段
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public enum DateGranularityEnum {
+    SECOND,
+    MINUTE,
+    HOUR,
+    DAY,
+    MONTH,
+    QUARTER,
+    YEAR;
+
+    /**
+     * 日期格式中最小字段对应的粒度，例如yyyy-MM为月，yyyy-MM-dd HH:mm:ss为秒
+     *
+     * @param pattern 日期格式
+     * @return 粒度
+     * @throws IllegalArgumentException 格式包含毫秒
+     */
+    public static DateGranularityEnum of(DatePatternEnum pattern) {
+        String text = pattern.getPattern();
+        if (text.indexOf('S') >= 0) {
+            throw new IllegalArgumentException("DateGranularityEnum pattern [" + text + "] with millis is not supported");
+        }
+        if (text.indexOf('s') >= 0) {
+            return SECOND;
+        }
+        if (text.indexOf('m') >= 0) {
+            return MINUTE;
+        }
+        if (text.indexOf('H') >= 0) {
+            return HOUR;
+        }
+        if (text.indexOf('d') >= 0) {
+            return DAY;
+        }
+        return text.indexOf('M') >= 0 ? MONTH : YEAR;
+    }
+}
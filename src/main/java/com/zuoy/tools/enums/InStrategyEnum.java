@@ -0,0 +1,28 @@
+package com.zuoy.tools.enums;
+
+/**
+ * in()查询条件的构造方式枚举类
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public enum InStrategyEnum {
+    /**
+     * 值直接写入SQL，与SqlUtil.getInSql一致，没有绑定参数
+     */
+    LITERAL,
+    /**
+     * 每个值一个?占位符，每组最多999个，最后一组补齐到固定的几个长度，值的数量相近时SQL相同，可以复用执行计划
+     */
+    BIND,
+    /**
+     * 所有值作为一个数组参数，fieldName = any(?)，not in为not (fieldName = any(?))，SQL与值的数量无关，适用于PostgreSQL、H2等支持数组的数据库，
+     * 所有值需要是同一种类型
+     */
+    ARRAY,
+    /**
+     * fieldName in (select v from (values (?),(?)) t(v))，不受每组1000个的限制，占位符数量补齐到2的幂，不超过数据库的参数上限；
+     * Oracle、MySQL不支持该写法
+     */
+    VALUES
+}
@@ -0,0 +1,67 @@
+package com.zuoy.tools.enums;
+
+/**
+ * 数据库方言枚举类，用于选择in()查询条件的构造方式和绑定参数个数的上限
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public enum SqlDialectEnum {
+    /**
+     * 通用，只使用各数据库都支持的 in (?,?) or in (?,?)，参数上限65535
+     */
+    GENERIC(65535, false, false),
+    /**
+     * Oracle，不支持 (values ...) t(v) 和数组参数，参数上限65535
+     */
+    ORACLE(65535, false, false),
+    /**
+     * MySQL，不支持 (values ...) t(v) 和数组参数，参数上限65535
+     */
+    MYSQL(65535, false, false),
+    /**
+     * PostgreSQL，支持values和数组参数，参数上限65535
+     */
+    POSTGRESQL(65535, true, true),
+    /**
+     * SQL Server，支持values，不支持数组参数，参数上限2100
+     */
+    SQLSERVER(2100, true, false),
+    /**
+     * H2，支持values和数组参数，参数上限65535
+     */
+    H2(65535, true, true);
+
+    /**
+     * 一条语句中绑定参数的最大个数
+     */
+    private final int maxParameters;
+
+    private final boolean supportsValues;
+
+    private final boolean supportsArray;
+
+    SqlDialectEnum(int maxParameters, boolean supportsValues, boolean supportsArray) {
+        this.maxParameters = maxParameters;
+        this.supportsValues = supportsValues;
+        this.supportsArray = supportsArray;
+    }
+
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    /**
+     * @return 是否支持{@link InStrategyEnum#VALUES}
+     */
+    public boolean supportsValues() {
+        return supportsValues;
+    }
+
+    /**
+     * @return 是否支持{@link InStrategyEnum#ARRAY}
+     */
+    public boolean supportsArray() {
+        return supportsArray;
+    }
+}
@@ -0,0 +1,104 @@
+package com.zuoy.tools.password;
+
+import org.springframework.util.Assert;
+
+import java.util.function.Consumer;
+
+/**
+ * 按散列格式委托的密码散列 <br>
+ * 新散列总是使用当前实现；校验时按{@link PasswordHasher#supports(String)}依次选择当前实现和旧实现，
+ * 不是当前实现的格式或当前实现要求重新散列时{@link #needsRehash(String)}返回true。
+ * 登录时调用{@link #verifyAndRehash(String, String, Consumer)}，校验通过后用明文生成新散列交给调用方保存，
+ * 旧散列在用户下次登录时逐步升级。一般通过{@code PasswordUtils.delegating(PasswordHasher, PasswordHasher...)}创建
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class DelegatingPasswordHasher implements PasswordHasher {
+
+    private final PasswordHasher current;
+
+    /**
+     * 当前实现在前，其后为旧实现
+     */
+    private final PasswordHasher[] hashers;
+
+    /**
+     * @param current 当前实现，生成新散列
+     * @param legacy  旧实现，只用于校验
+     */
+    public DelegatingPasswordHasher(PasswordHasher current, PasswordHasher... legacy) {
+        Assert.notNull(current, "DelegatingPasswordHasher current param is null");
+        Assert.noNullElements(legacy, "DelegatingPasswordHasher legacy param has null element");
+        this.current = current;
+        this.hashers = new PasswordHasher[legacy == null ? 1 : legacy.length + 1];
+        this.hashers[0] = current;
+        for (int i = 1; i < hashers.length; i++) {
+            hashers[i] = legacy[i - 1];
+        }
+    }
+
+    @Override
+    public String hash(String password) {
+        return current.hash(password);
+    }
+
+    @Override
+    public boolean matches(String password, String hashed) {
+        Assert.notNull(password, "DelegatingPasswordHasher password param is null");
+        PasswordHasher hasher = find(hashed);
+        return hasher != null && hasher.matches(password, hashed);
+    }
+
+    @Override
+    public boolean supports(String hashed) {
+        return find(hashed) != null;
+    }
+
+    @Override
+    public boolean needsRehash(String hashed) {
+        return !current.supports(hashed) || current.needsRehash(hashed);
+    }
+
+    /**
+     * 校验密码，通过且需要重新散列时用当前实现生成新散列并交给rehashed保存；
+     * 重新散列增加一次当前实现的耗时，只在升级时发生
+     *
+     * @param password 明文密码
+     * @param hashed   已保存的散列
+     * @param rehashed 保存新散列，不需要升级时不调用
+     * @return 是否匹配
+     */
+    public boolean verifyAndRehash(String password, String hashed, Consumer<String> rehashed) {
+        Assert.notNull(rehashed, "DelegatingPasswordHasher rehashed param is null");
+        if (!matches(password, hashed)) {
+            return false;
+        }
+        if (needsRehash(hashed)) {
+            rehashed.accept(current.hash(password));
+        }
+        return true;
+    }
+
+    /**
+     * @return 当前实现
+     */
+    public PasswordHasher getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return 支持该格式的实现，没有时为null
+     */
+    private PasswordHasher find(String hashed) {
+        if (hashed == null) {
+            return null;
+        }
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.supports(hashed)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.zuoy.tools.password;
+
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Function;
+
+/**
+ * 兼容{@code IrreversibleCypherUtil.encodeToString(String)}的密码散列，只用于校验已有的散列并升级 <br>
+ * 旧散列没有盐，加密次数由hashCode决定且很低，格式为32位小写十六进制或44位base64，没有前缀，{@link #needsRehash(String)}总是返回true；
+ * hashCode为0-9的密码原实现无法加密，{@link #matches(String, String)}返回false，{@link #hash(String)}抛出NumberFormatException。
+ * 一般通过{@code PasswordUtils.legacy()}获取
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class LegacyPasswordHasher implements PasswordHasher {
+
+    private static final int HEX_LENGTH = 32;
+
+    private static final int BASE64_LENGTH = 44;
+
+    /**
+     * 旧的加密方法
+     */
+    private final Function<String, String> encoder;
+
+    /**
+     * @param encoder 旧的加密方法，即IrreversibleCypherUtil::encodeToString，hashCode为0-9时抛出NumberFormatException
+     */
+    public LegacyPasswordHasher(Function<String, String> encoder) {
+        Assert.notNull(encoder, "LegacyPasswordHasher encoder param is null");
+        this.encoder = encoder;
+    }
+
+    @Override
+    public String hash(String password) {
+        Assert.notNull(password, "LegacyPasswordHasher password param is null");
+        return encoder.apply(password);
+    }
+
+    @Override
+    public boolean matches(String password, String hashed) {
+        Assert.notNull(password, "LegacyPasswordHasher password param is null");
+        if (!supports(hashed)) {
+            return false;
+        }
+        String actual;
+        try {
+            actual = encoder.apply(password);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(actual.getBytes(StandardCharsets.ISO_8859_1), hashed.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Override
+    public boolean supports(String hashed) {
+        if (hashed == null) {
+            return false;
+        }
+        if (hashed.length() == HEX_LENGTH) {
+            for (int i = 0; i < HEX_LENGTH; i++) {
+                char c = hashed.charAt(i);
+                if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (hashed.length() == BASE64_LENGTH && hashed.charAt(BASE64_LENGTH - 1) == '=') {
+            for (int i = 0; i < BASE64_LENGTH - 1; i++) {
+                char c = hashed.charAt(i);
+                if ((c < 'A' || c > 'Z') && (c < 'a' || c > 'z') && (c < '0' || c > '9') && c != '+' && c != '/') {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 旧散列没有盐且加密次数很低，总是需要升级
+     */
+    @Override
+    public boolean needsRehash(String hashed) {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "LegacyPasswordHasher";
+    }
+}
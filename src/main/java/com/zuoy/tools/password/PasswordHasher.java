@@ -0,0 +1,39 @@
+package com.zuoy.tools.password;
+
+/**
+ * 密码散列 <br>
+ * 实现类的散列结果自带格式标识和参数，{@link #supports(String)}按格式判断是否由该实现生成，
+ * 多种实现可以共存，通过{@link DelegatingPasswordHasher}组合后逐步升级旧的散列
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public interface PasswordHasher {
+
+    /**
+     * @param password 明文密码
+     * @return 散列结果
+     */
+    String hash(String password);
+
+    /**
+     * 校验密码，散列格式不正确时返回false
+     *
+     * @param password 明文密码
+     * @param hashed   散列结果
+     * @return 是否匹配
+     */
+    boolean matches(String password, String hashed);
+
+    /**
+     * @param hashed 散列结果
+     * @return 是否为该实现的格式
+     */
+    boolean supports(String hashed);
+
+    /**
+     * @param hashed 散列结果
+     * @return 是否需要用当前参数重新散列，如迭代次数低于当前配置
+     */
+    boolean needsRehash(String hashed);
+}
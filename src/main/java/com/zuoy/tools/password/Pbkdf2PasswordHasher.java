@@ -0,0 +1,167 @@
+package com.zuoy.tools.password;
+
+import org.springframework.util.Assert;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * PBKDF2WithHmacSHA256密码散列，只依赖JDK <br>
+ * 散列结果格式为 $pbkdf2-sha256$迭代次数$盐$散列值 ，盐和散列值为不带填充的base64，
+ * 每次散列使用SecureRandom生成16字节的盐，散列值32字节，校验时按结果中的迭代次数计算并常量时间比较。
+ * 耗时与迭代次数成正比、与密码内容无关，迭代次数可以通过{@code PasswordUtils.calibratePbkdf2Iterations(long)}按目标耗时确定。
+ * 线程安全，一般通过{@code PasswordUtils.pbkdf2(int)}创建
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public final class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    /**
+     * 散列结果的前缀
+     */
+    public static final String PREFIX = "$pbkdf2-sha256$";
+
+    /**
+     * 允许的最小迭代次数
+     */
+    public static final int MIN_ITERATIONS = 1000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+    private final int iterations;
+
+    /**
+     * @param iterations 迭代次数，不小于{@link #MIN_ITERATIONS}
+     */
+    public Pbkdf2PasswordHasher(int iterations) {
+        Assert.isTrue(iterations >= MIN_ITERATIONS, "Pbkdf2PasswordHasher iterations param is less than " + MIN_ITERATIONS);
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String hash(String password) {
+        Assert.notNull(password, "Pbkdf2PasswordHasher password param is null");
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations, HASH_LENGTH);
+        return PREFIX + iterations + '$' + ENCODER.encodeToString(salt) + '$' + ENCODER.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(String password, String hashed) {
+        Assert.notNull(password, "Pbkdf2PasswordHasher password param is null");
+        Parsed parsed = Parsed.parse(hashed);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] actual = derive(password, parsed.salt, parsed.iterations, parsed.hash.length);
+        return MessageDigest.isEqual(actual, parsed.hash);
+    }
+
+    @Override
+    public boolean supports(String hashed) {
+        return hashed != null && hashed.startsWith(PREFIX);
+    }
+
+    /**
+     * @return 格式不正确或迭代次数低于当前配置时返回true
+     */
+    @Override
+    public boolean needsRehash(String hashed) {
+        Parsed parsed = Parsed.parse(hashed);
+        return parsed == null || parsed.iterations < iterations || parsed.hash.length != HASH_LENGTH;
+    }
+
+    /**
+     * @return 迭代次数
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * 计算散列值，不改变迭代次数的配置，用于测算耗时
+     *
+     * @param password   明文密码
+     * @param salt       盐
+     * @param iterations 迭代次数
+     * @param length     散列值的字节数
+     * @return 散列值
+     */
+    public static byte[] derive(String password, byte[] salt, int iterations, int length) {
+        char[] chars = password.toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Pbkdf2PasswordHasher " + ALGORITHM + " is not supported", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Pbkdf2PasswordHasher{iterations=" + iterations + '}';
+    }
+
+    /**
+     * 解析后的散列结果
+     */
+    private static final class Parsed {
+
+        private final int iterations;
+
+        private final byte[] salt;
+
+        private final byte[] hash;
+
+        private Parsed(int iterations, byte[] salt, byte[] hash) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        /**
+         * @return 格式不正确时为null
+         */
+        private static Parsed parse(String hashed) {
+            if (hashed == null || !hashed.startsWith(PREFIX)) {
+                return null;
+            }
+            int saltStart = hashed.indexOf('$', PREFIX.length()) + 1;
+            int hashStart = saltStart == 0 ? 0 : hashed.indexOf('$', saltStart) + 1;
+            if (hashStart == 0) {
+                return null;
+            }
+            try {
+                int iterations = Integer.parseInt(hashed.substring(PREFIX.length(), saltStart - 1));
+                Base64.Decoder decoder = Base64.getDecoder();
+                byte[] salt = decoder.decode(hashed.substring(saltStart, hashStart - 1).getBytes(StandardCharsets.ISO_8859_1));
+                byte[] hash = decoder.decode(hashed.substring(hashStart).getBytes(StandardCharsets.ISO_8859_1));
+                if (iterations < 1 || salt.length == 0 || hash.length == 0) {
+                    return null;
+                }
+                return new Parsed(iterations, salt, hash);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -23,7 +23,8 @@ public interface TreeNode<T> extends DiscontinuityTreeNode<T> {
     String getPath();
 
     /**
-     * 全路径的分隔符
+     * 全路径的分隔符，按{@link String#split(String)}的正则表达式处理，如"\\."、"\\|"；
+     * 只有一个字符时按普通字符串处理
      *
      * @return 分隔符
      */
@@ -0,0 +1,107 @@
+package com.zuoy.tools;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * 日期测试的时区和时间样本 <br>
+ * 样本包含1900-2100年间的随机时间、各时区夏令时切换前后的时间和切换当天的零点，以及0-9999年范围以外的时间
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+final class DateSamples {
+
+    /**
+     * 测试的时区，圣保罗在零点切换夏令时，豪勋爵岛的夏令时只相差半小时，阿皮亚在2011年跳过了一整天
+     */
+    static final List<String> ZONES = Collections.unmodifiableList(Arrays.asList(
+            "Asia/Shanghai", "UTC", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe",
+            "Pacific/Apia", "Europe/Dublin", "Asia/Kolkata"));
+
+    private static final long HOUR = 3600_000L;
+
+    private static final long MIN_RANDOM = -2208988800000L;
+
+    private static final long MAX_RANDOM = 4102444800000L;
+
+    private final DateTimeZone jodaZone;
+
+    private final TimeZone jdkZone;
+
+    private DateSamples() {
+        this.jodaZone = DateTimeZone.getDefault();
+        this.jdkZone = TimeZone.getDefault();
+    }
+
+    /**
+     * @return 当前的默认时区，用于测试结束后恢复
+     */
+    static DateSamples saveDefaultZone() {
+        return new DateSamples();
+    }
+
+    /**
+     * 恢复保存的默认时区
+     */
+    void restore() {
+        DateTimeZone.setDefault(jodaZone);
+        TimeZone.setDefault(jdkZone);
+    }
+
+    /**
+     * 同时设置Joda和JDK的默认时区
+     *
+     * @param id 时区
+     * @return Joda时区
+     */
+    static DateTimeZone useZone(String id) {
+        DateTimeZone zone = DateTimeZone.forID(id);
+        DateTimeZone.setDefault(zone);
+        TimeZone.setDefault(TimeZone.getTimeZone(id));
+        return zone;
+    }
+
+    /**
+     * @param zone 时区
+     * @param seed 随机种子
+     * @return 时间样本
+     */
+    static long[] instants(DateTimeZone zone, long seed) {
+        Random random = new Random(seed);
+        long[] samples = new long[4096];
+        int size = 0;
+        for (int i = 0; i < 300; i++) {
+            samples[size++] = MIN_RANDOM + (long) (random.nextDouble() * (MAX_RANDOM - MIN_RANDOM));
+        }
+        long[] fixed = {0L, -1L, 1L, -62135596800000L, -62198755200001L, 253402300799999L, 253402300800000L,
+                -65000000000000L, 300000000000000L, 946684799999L, 951782400000L, 1293839999999L};
+        for (long millis : fixed) {
+            samples[size++] = millis;
+        }
+        long from = new LocalDate(1985, 1, 1).toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis();
+        long to = new LocalDate(2040, 1, 1).toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis();
+        long transition = zone.nextTransition(from);
+        while (transition != from && transition < to && size + 12 <= samples.length) {
+            long[] around = {transition - 1, transition, transition + 1, transition - HOUR / 2, transition + HOUR / 2,
+                    transition - HOUR, transition + HOUR, transition - 24 * HOUR, transition + 24 * HOUR};
+            for (long millis : around) {
+                samples[size++] = millis;
+            }
+            // 切换当天和前一天的零点，圣保罗的零点本身可能不存在
+            LocalDate day = new LocalDate(transition, zone);
+            samples[size++] = day.toDateTimeAtStartOfDay(zone).getMillis();
+            samples[size++] = day.minusDays(1).toDateTimeAtStartOfDay(zone).getMillis();
+            samples[size++] = day.plusDays(1).toDateTimeAtStartOfDay(zone).getMillis() - 1;
+            from = transition;
+            transition = zone.nextTransition(from);
+        }
+        return Arrays.copyOf(samples, size);
+    }
+}
@@ -0,0 +1,232 @@
+package com.zuoy.tools;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * {@link DateUtils}基于{@link ZoneOffsetTable}的日期计算与原有Joda、Calendar实现的对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class DateUtilsTest {
+
+    private static final int[] DAYS = {0, 1, -1, 7, 30, -45, 365, -366, 3650};
+
+    private static final int[] MONTHS = {0, 1, -1, 2, 11, 12, -13, 25, -120};
+
+    private static final int[] YEARS = {0, 1, -1, 3, 4, -4, 100, -100};
+
+    private DateSamples saved;
+
+    @Before
+    public void saveZone() {
+        saved = DateSamples.saveDefaultZone();
+    }
+
+    @After
+    public void restoreZone() {
+        saved.restore();
+    }
+
+    @Test
+    public void fieldsMatchJoda() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            for (long millis : DateSamples.instants(zone, id.hashCode())) {
+                String message = id + " " + millis;
+                DateTime dateTime = new DateTime(millis);
+                Assert.assertEquals(message, dateTime.getDayOfMonth(), DateUtils.getDay(new Date(millis)));
+                Assert.assertEquals(message, dateTime.getMonthOfYear(), DateUtils.getMonth(new Date(millis)));
+                Assert.assertEquals(message, dateTime.getYear(), DateUtils.getYear(new Date(millis)));
+            }
+        }
+    }
+
+    @Test
+    public void getDateMatchesCalendar() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode());
+            for (long millis : instants) {
+                Calendar instance = Calendar.getInstance();
+                instance.setTime(new Date(millis));
+                instance.set(Calendar.HOUR_OF_DAY, 0);
+                instance.set(Calendar.MINUTE, 0);
+                instance.set(Calendar.SECOND, 0);
+                instance.set(Calendar.MILLISECOND, 0);
+                Assert.assertEquals(id + " " + millis, instance.getTime(), DateUtils.getDate(new Date(millis)));
+            }
+            long[] truncated = DateUtils.truncateToDay(instants);
+            long[] parallel = DateUtils.truncateToDay(instants, true);
+            for (int i = 0; i < instants.length; i++) {
+                Assert.assertEquals(id + " " + instants[i], DateUtils.getDate(new Date(instants[i])).getTime(), truncated[i]);
+                Assert.assertEquals(id + " " + instants[i], truncated[i], parallel[i]);
+            }
+        }
+    }
+
+    @Test
+    public void addMatchesJoda() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            for (long millis : DateSamples.instants(zone, id.hashCode())) {
+                for (int day : DAYS) {
+                    assertSameAsJoda(id + " addDay " + day, millis, m -> new DateTime(m).plusDays(day).getMillis(),
+                            m -> DateUtils.addDay(new Date(m), day).getTime(), m -> DateUtils.addDay(m, day));
+                }
+                for (int month : MONTHS) {
+                    assertSameAsJoda(id + " addMonth " + month, millis, m -> new DateTime(m).plusMonths(month).getMillis(),
+                            m -> DateUtils.addMonth(new Date(m), month).getTime(), m -> DateUtils.addMonth(m, month));
+                }
+                for (int year : YEARS) {
+                    assertSameAsJoda(id + " addYear " + year, millis, m -> new DateTime(m).plusYears(year).getMillis(),
+                            m -> DateUtils.addYear(new Date(m), year).getTime(), m -> DateUtils.addYear(m, year));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void betweenDayMatchesJoda() {
+        Random random = new Random(12);
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode());
+            for (int i = 0; i < instants.length; i++) {
+                long start = instants[i];
+                long[] ends = {instants[(i + 1) % instants.length], start + random.nextInt(40) * 3_600_000L,
+                        start - random.nextInt(40) * 3_600_000L, start + 86_400_000L, start - 86_400_000L + 1};
+                for (long end : ends) {
+                    long expected = Days.daysBetween(new DateTime(start), new DateTime(end)).getDays();
+                    Assert.assertEquals(id + " " + start + " " + end, expected, DateUtils.getBetweenDay(new Date(start), new Date(end)));
+                    Assert.assertEquals(id + " " + start + " " + end, expected, DateUtils.getBetweenDay(start, end));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void firstAndLastDayMatchJoda() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode());
+            for (long millis : instants) {
+                assertSameAsJoda(id + " monthFirstDay", millis, m -> new DateTime(m).dayOfMonth().withMinimumValue().getMillis(),
+                        m -> DateUtils.getMonthFirstDay(new Date(m)).getTime(), DateUtils::getMonthFirstDay);
+                assertSameAsJoda(id + " monthLastDay", millis, m -> new DateTime(m).dayOfMonth().withMaximumValue().getMillis(),
+                        m -> DateUtils.getMonthLastDay(new Date(m)).getTime(), DateUtils::getMonthLastDay);
+                assertSameAsJoda(id + " seasonFirstDay", millis, m -> seasonDay(m, true),
+                        m -> DateUtils.getSeasonFirstDay(new Date(m)).getTime(), DateUtils::getSeasonFirstDay);
+                assertSameAsJoda(id + " seasonLastDay", millis, m -> seasonDay(m, false),
+                        m -> DateUtils.getSeasonLastDay(new Date(m)).getTime(), DateUtils::getSeasonLastDay);
+                assertSameAsJoda(id + " yearFirstDay", millis, m -> new DateTime(m).dayOfYear().withMinimumValue().getMillis(),
+                        m -> DateUtils.getYearFirstDay(new Date(m)).getTime(), DateUtils::getYearFirstDay);
+                assertSameAsJoda(id + " yearLastDay", millis, m -> new DateTime(m).dayOfYear().withMaximumValue().getMillis(),
+                        m -> DateUtils.getYearLastDay(new Date(m)).getTime(), DateUtils::getYearLastDay);
+            }
+            assertBulk(id, instants, DateUtils.monthFirstDay(instants), DateUtils.monthFirstDay(instants, true), DateUtils::getMonthFirstDay);
+            assertBulk(id, instants, DateUtils.seasonFirstDay(instants), DateUtils.seasonFirstDay(instants, true), DateUtils::getSeasonFirstDay);
+            assertBulk(id, instants, DateUtils.yearFirstDay(instants), DateUtils.yearFirstDay(instants, true), DateUtils::getYearFirstDay);
+        }
+    }
+
+    @Test
+    public void transitionDaysMatchJoda() {
+        for (String id : new String[]{"America/Sao_Paulo", "Australia/Lord_Howe"}) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long transition = zone.nextTransition(new DateTime(1990, 1, 1, 0, 0, zone).getMillis());
+            long end = new DateTime(2030, 1, 1, 0, 0, zone).getMillis();
+            for (; transition < end; transition = zone.nextTransition(transition)) {
+                // 切换前后各两个小时内的每15分钟，以及前后一天、一个月、一年的同一时间
+                for (long millis = transition - 7_200_000L; millis <= transition + 7_200_000L; millis += 900_000L) {
+                    for (int day : new int[]{1, -1}) {
+                        assertSameAsJoda(id + " addDay " + day, millis, m -> new DateTime(m).plusDays(day).getMillis(),
+                                m -> DateUtils.addDay(new Date(m), day).getTime(), m -> DateUtils.addDay(m, day));
+                        assertSameAsJoda(id + " addMonth " + day, millis, m -> new DateTime(m).plusMonths(day).getMillis(),
+                                m -> DateUtils.addMonth(new Date(m), day).getTime(), m -> DateUtils.addMonth(m, day));
+                        assertSameAsJoda(id + " addYear " + day, millis, m -> new DateTime(m).plusYears(day).getMillis(),
+                                m -> DateUtils.addYear(new Date(m), day).getTime(), m -> DateUtils.addYear(m, day));
+                    }
+                    assertSameAsJoda(id + " monthFirstDay", millis, m -> new DateTime(m).dayOfMonth().withMinimumValue().getMillis(),
+                            m -> DateUtils.getMonthFirstDay(new Date(m)).getTime(), DateUtils::getMonthFirstDay);
+                    assertSameAsJoda(id + " monthLastDay", millis, m -> new DateTime(m).dayOfMonth().withMaximumValue().getMillis(),
+                            m -> DateUtils.getMonthLastDay(new Date(m)).getTime(), DateUtils::getMonthLastDay);
+                    long start = millis;
+                    long expected = Days.daysBetween(new DateTime(start), new DateTime(transition + 86_400_000L)).getDays();
+                    Assert.assertEquals(id + " " + start, expected, DateUtils.getBetweenDay(start, transition + 86_400_000L));
+                    Calendar instance = Calendar.getInstance();
+                    instance.setTimeInMillis(millis);
+                    instance.set(Calendar.HOUR_OF_DAY, 0);
+                    instance.set(Calendar.MINUTE, 0);
+                    instance.set(Calendar.SECOND, 0);
+                    instance.set(Calendar.MILLISECOND, 0);
+                    Assert.assertEquals(id + " getDate " + millis, instance.getTime(), DateUtils.getDate(new Date(millis)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 对比Date和long两个重载与Joda的结果，Joda抛出异常时两个重载都要抛出相同的异常
+     */
+    private static void assertSameAsJoda(String message, long millis, LongFunction<Long> joda,
+                                         LongFunction<Long> date, LongFunction<Long> primitive) {
+        message = message + " " + millis;
+        RuntimeException expected = null;
+        long expectedMillis = 0L;
+        try {
+            expectedMillis = joda.apply(millis);
+        } catch (RuntimeException e) {
+            expected = e;
+        }
+        for (LongFunction<Long> actual : new LongFunction[]{date, primitive}) {
+            if (expected == null) {
+                Assert.assertEquals(message, expectedMillis, (long) actual.apply(millis));
+                continue;
+            }
+            try {
+                actual.apply(millis);
+                Assert.fail(message);
+            } catch (RuntimeException e) {
+                Assert.assertEquals(message, expected.getClass(), e.getClass());
+                Assert.assertEquals(message, expected.getMessage(), e.getMessage());
+            }
+        }
+    }
+
+    private static void assertBulk(String id, long[] instants, long[] serial, long[] parallel, LongFunction<Long> single) {
+        for (int i = 0; i < instants.length; i++) {
+            long expected;
+            try {
+                expected = single.apply(instants[i]);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            Assert.assertEquals(id + " " + instants[i], expected, serial[i]);
+            Assert.assertEquals(id + " " + instants[i], expected, parallel[i]);
+        }
+    }
+
+    /**
+     * 原有的季度第一天、最后一天的实现
+     */
+    private static long seasonDay(long millis, boolean first) {
+        DateTime dateTime = new DateTime(millis);
+        int curMonth = dateTime.getMonthOfYear();
+        int firstMonth = (curMonth - 1) / 3 * 3 + DateTimeConstants.JANUARY;
+        dateTime = dateTime.withMonthOfYear(first ? firstMonth : firstMonth + 2);
+        return first ? dateTime.dayOfMonth().withMinimumValue().getMillis() : dateTime.dayOfMonth().withMaximumValue().getMillis();
+    }
+}
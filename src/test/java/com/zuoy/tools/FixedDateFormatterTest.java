@@ -0,0 +1,155 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * {@link FixedDateFormatter}以及{@link DateUtils#formatDate(Date, DatePatternEnum)}与Joda格式化结果的对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class FixedDateFormatterTest {
+
+    private DateSamples saved;
+
+    @Before
+    public void saveZone() {
+        saved = DateSamples.saveDefaultZone();
+    }
+
+    @After
+    public void restoreZone() {
+        saved.restore();
+    }
+
+    @Test
+    public void everyPatternMatchesJoda() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode());
+            for (DatePatternEnum pattern : DatePatternEnum.values()) {
+                for (long millis : instants) {
+                    assertSameAsJoda(id, millis, pattern);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void transitionDaysMatchJoda() {
+        for (String id : new String[]{"America/Sao_Paulo", "Australia/Lord_Howe"}) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long transition = zone.nextTransition(new DateTime(1990, 1, 1, 0, 0, zone).getMillis());
+            long end = new DateTime(2030, 1, 1, 0, 0, zone).getMillis();
+            for (; transition < end; transition = zone.nextTransition(transition)) {
+                // 切换前后各一个小时内的每一分钟，按时间顺序格式化，经过缓存的一天的边界
+                for (long millis = transition - 3600_000L; millis <= transition + 3600_000L; millis += 60_000L) {
+                    for (DatePatternEnum pattern : DatePatternEnum.values()) {
+                        assertSameAsJoda(id, millis, pattern);
+                        assertSameAsJoda(id, millis - 1, pattern);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void defaultZoneChange() {
+        long millis = new DateTime(2019, 1, 5, 23, 30, DateTimeZone.UTC).getMillis();
+        DateSamples.useZone("UTC");
+        Assert.assertEquals("2019-01-05 23:30:00", FixedDateFormatter.format(millis, DatePatternEnum.YYYY_MM_DD_HH_MM_SS));
+        DateSamples.useZone("Asia/Shanghai");
+        Assert.assertEquals("2019-01-06 07:30:00", FixedDateFormatter.format(millis, DatePatternEnum.YYYY_MM_DD_HH_MM_SS));
+        DateSamples.useZone("Asia/Kolkata");
+        Assert.assertEquals("2019-01-06 05:00:00", FixedDateFormatter.format(millis, DatePatternEnum.YYYY_MM_DD_HH_MM_SS));
+    }
+
+    @Test
+    public void outOfRangeYearsUseJoda() {
+        DateSamples.useZone("UTC");
+        long[] instants = {new DateTime(10000, 1, 1, 0, 0, DateTimeZone.UTC).getMillis(),
+                new DateTime(-1, 12, 31, 23, 59, 59, 999, DateTimeZone.UTC).getMillis(),
+                new DateTime(0, 1, 1, 0, 0, DateTimeZone.UTC).getMillis(),
+                new DateTime(9999, 12, 31, 23, 59, 59, 999, DateTimeZone.UTC).getMillis()};
+        for (long millis : instants) {
+            for (DatePatternEnum pattern : DatePatternEnum.values()) {
+                assertSameAsJoda("UTC", millis, pattern);
+            }
+        }
+        Assert.assertEquals("10000-01-01", FixedDateFormatter.format(instants[0], DatePatternEnum.YYYY_MM_DD));
+    }
+
+    @Test
+    public void bulkMatchesSingle() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode() + 1);
+            Arrays.sort(instants);
+            for (DatePatternEnum pattern : DatePatternEnum.values()) {
+                String[] serial = DateUtils.formatDates(instants, pattern);
+                String[] parallel = DateUtils.formatDates(instants, pattern, true);
+                for (int i = 0; i < instants.length; i++) {
+                    String expected = joda(instants[i], pattern);
+                    Assert.assertEquals(id + " " + pattern + " " + instants[i], expected, serial[i]);
+                    Assert.assertEquals(id + " " + pattern + " " + instants[i], expected, parallel[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lengths() {
+        for (DatePatternEnum pattern : DatePatternEnum.values()) {
+            int length = FixedDateFormatter.length(pattern);
+            if (FixedDateFormatter.supports(pattern)) {
+                Assert.assertEquals(pattern.name(), pattern.getPattern().length(), length);
+            } else {
+                Assert.assertEquals(pattern.name(), -1, length);
+            }
+        }
+        Assert.assertFalse(FixedDateFormatter.supports(DatePatternEnum.YYYY_MM_DD_ZH));
+        Assert.assertTrue(FixedDateFormatter.supports(DatePatternEnum.YYMMDD));
+    }
+
+    /**
+     * 对比DateUtils、FixedDateFormatter各个重载与Joda的格式化结果
+     */
+    private static void assertSameAsJoda(String zone, long millis, DatePatternEnum pattern) {
+        String message = zone + " " + pattern + " " + millis;
+        String expected = joda(millis, pattern);
+        Assert.assertEquals(message, expected, DateUtils.formatDate(new Date(millis), pattern));
+        Assert.assertEquals(message, expected, DateUtils.formatDate(millis, pattern));
+        Assert.assertEquals(message, expected, FixedDateFormatter.format(millis, pattern));
+
+        char[] buffer = new char[expected.length() + 3];
+        Assert.assertEquals(message, expected.length() + 2, FixedDateFormatter.format(millis, pattern, buffer, 2));
+        Assert.assertEquals(message, expected, new String(buffer, 2, expected.length()));
+
+        StringBuilder builder = new StringBuilder("#");
+        FixedDateFormatter.format(millis, pattern, builder);
+        Assert.assertEquals(message, "#" + expected, builder.toString());
+
+        byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer target = ByteBuffer.allocate(bytes.length + 1);
+        target.put((byte) '#');
+        FixedDateFormatter.format(millis, pattern, target);
+        Assert.assertEquals(message, bytes.length + 1, target.position());
+        Assert.assertEquals(message, expected, new String(target.array(), 1, bytes.length, StandardCharsets.UTF_8));
+    }
+
+    private static String joda(long millis, DatePatternEnum pattern) {
+        return new DateTime(millis).toString(DateTimeFormat.forPattern(pattern.getPattern()));
+    }
+}
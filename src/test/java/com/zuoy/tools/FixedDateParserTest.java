@@ -0,0 +1,234 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.DatePatternEnum;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.format.DateTimeFormat;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link FixedDateParser}以及{@link DateUtils#parseDate(String, DatePatternEnum)}与Joda解析结果的对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class FixedDateParserTest {
+
+    private DateSamples saved;
+
+    @Before
+    public void saveZone() {
+        saved = DateSamples.saveDefaultZone();
+    }
+
+    @After
+    public void restoreZone() {
+        saved.restore();
+    }
+
+    @Test
+    public void everyPatternMatchesJoda() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode());
+            for (DatePatternEnum pattern : DatePatternEnum.values()) {
+                for (long millis : instants) {
+                    String text = new DateTime(millis).toString(DateTimeFormat.forPattern(pattern.getPattern()));
+                    long parsed = assertSameAsJoda(id, text, pattern);
+                    int year = new DateTime(millis).getYear();
+                    if (FixedDateParser.supports(pattern) && year >= 0 && year <= 9999 && parsed != FixedDateParser.INVALID) {
+                        // Joda可以解析的定长输入都应该由定长解析完成
+                        Assert.assertNotEquals(id + " " + pattern + " " + text,
+                                FixedDateParser.INVALID, FixedDateParser.parse(text, pattern));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void gapAndOverlapDays() {
+        for (String id : new String[]{"America/Sao_Paulo", "Australia/Lord_Howe"}) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            int gaps = 0;
+            int overlaps = 0;
+            long transition = zone.nextTransition(new DateTime(1990, 1, 1, 0, 0, zone).getMillis());
+            long end = new DateTime(2030, 1, 1, 0, 0, zone).getMillis();
+            for (; transition < end; transition = zone.nextTransition(transition)) {
+                int before = zone.getOffset(transition - 1);
+                int after = zone.getOffset(transition);
+                LocalDateTime local = new LocalDateTime(transition, zone);
+                // 切换前后各一个小时内的每一分钟，包含不存在和重复的本地时间
+                for (int minute = -60; minute <= 60; minute++) {
+                    LocalDateTime time = local.plusMinutes(minute);
+                    for (DatePatternEnum pattern : DatePatternEnum.values()) {
+                        String text = time.toString(pattern.getPattern());
+                        long millis = assertSameAsJoda(id, text, pattern);
+                        if (zone.isLocalDateTimeGap(time) && pattern == DatePatternEnum.YYYY_MM_DD_HH_MM_SS) {
+                            Assert.assertEquals(id + " " + text, FixedDateParser.INVALID, FixedDateParser.parse(text, pattern));
+                            gaps++;
+                        }
+                        long utc = time.toDateTime(DateTimeZone.UTC).getMillis();
+                        if (after < before && pattern == DatePatternEnum.YYYY_MM_DD_HH_MM_SS
+                                && zone.getOffset(utc - before) == before && zone.getOffset(utc - after) == after) {
+                            // 重叠的本地时间取较早的时间，即切换前的偏移量
+                            Assert.assertEquals(id + " " + text, utc - before, millis);
+                            Assert.assertEquals(id + " " + text, utc - before, FixedDateParser.parse(text, pattern));
+                            overlaps++;
+                        }
+                    }
+                }
+            }
+            Assert.assertTrue(id, gaps > 0);
+            Assert.assertTrue(id, overlaps > 0);
+        }
+    }
+
+    @Test
+    public void missingMidnightKeepsJodaException() {
+        DateTimeZone zone = DateSamples.useZone("America/Sao_Paulo");
+        long transition = zone.nextTransition(new DateTime(2010, 1, 1, 0, 0, zone).getMillis());
+        while (zone.getOffset(transition) < zone.getOffset(transition - 1)) {
+            transition = zone.nextTransition(transition);
+        }
+        // 夏令时开始当天的零点不存在
+        LocalDate day = new LocalDate(transition, zone);
+        Assert.assertTrue(zone.isLocalDateTimeGap(day.toLocalDateTime(LocalTime.MIDNIGHT)));
+        String text = day.toString(DatePatternEnum.YYYY_MM_DD.getPattern());
+        Assert.assertEquals(FixedDateParser.INVALID, FixedDateParser.parse(text, DatePatternEnum.YYYY_MM_DD));
+        RuntimeException expected = jodaException(text, DatePatternEnum.YYYY_MM_DD);
+        Assert.assertNotNull(expected);
+        try {
+            DateUtils.parseDate(text, DatePatternEnum.YYYY_MM_DD);
+            Assert.fail(text);
+        } catch (RuntimeException e) {
+            Assert.assertEquals(expected.getClass(), e.getClass());
+            Assert.assertEquals(expected.getMessage(), e.getMessage());
+        }
+    }
+
+    @Test
+    public void invalidInput() {
+        DateSamples.useZone("Asia/Shanghai");
+        String[][] cases = {
+                {"YYYY_MM_DD", "2019-13-01"}, {"YYYY_MM_DD", "2019-00-10"}, {"YYYY_MM_DD", "2019-02-29"},
+                {"YYYY_MM_DD", "2019-02-30"}, {"YYYY_MM_DD", "2019-04-31"}, {"YYYY_MM_DD", "2019-1-5"},
+                {"YYYY_MM_DD", "2019/01/05"}, {"YYYY_MM_DD", "2019-01-05 "}, {"YYYY_MM_DD", " 2019-01-05"},
+                {"YYYY_MM_DD", "+019-01-05"}, {"YYYY_MM_DD", "-019-01-05"}, {"YYYY_MM_DD", "201a-01-05"},
+                {"YYYY_MM_DD", ""}, {"YYYY_MM_DD", "abcd"}, {"YYYYMMDD", "2019010"}, {"YYYYMMDD", "201901050"},
+                {"YYYYMMDD", "20190132"}, {"YYYY_MM", "2019-13"}, {"YYYYMM", "201900"},
+                {"HH_MM_SS", "24:00:00"}, {"HH_MM_SS", "23:60:00"}, {"HH_MM_SS", "23:59:60"}, {"HHMMSS", "12345"},
+                {"YYYY_MM_DD_HH_MM_SS", "2019-01-05T12:00:00"}, {"YYYY_MM_DD_HH_MM_SS", "2019-01-05 12:00"},
+                {"YYYY_MM_DD_HH_MM_SS", "2019-01-05 12:00:00.000"}, {"YYYY_MM_DD_HH_MM_SS_SSS", "2019-01-05 12:00:00.1"},
+                {"YYYYMMDDHHMMSS", "2019010512000"}, {"YYYYMMDDHHMMSSS", "201901051200-12"}};
+        for (String[] c : cases) {
+            DatePatternEnum pattern = DatePatternEnum.valueOf(c[0]);
+            String text = c[1];
+            Assert.assertEquals(c[0] + " " + text, FixedDateParser.INVALID, FixedDateParser.parse(text, pattern));
+            Assert.assertEquals(c[0] + " " + text, FixedDateParser.INVALID,
+                    FixedDateParser.parse(text.getBytes(StandardCharsets.UTF_8), 0, text.length(), pattern));
+            assertSameAsJoda("Asia/Shanghai", text, pattern);
+        }
+        Assert.assertEquals(FixedDateParser.INVALID, FixedDateParser.parse(null, DatePatternEnum.YYYY_MM_DD));
+        Assert.assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("2019-01-05", 0, 11, DatePatternEnum.YYYY_MM_DD));
+        Assert.assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("2019-01-05", 3, 2, DatePatternEnum.YYYY_MM_DD));
+        Assert.assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("190105", DatePatternEnum.YYMMDD));
+        Assert.assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("2019年01月05日", DatePatternEnum.YYYY_MM_DD_ZH));
+    }
+
+    @Test
+    public void invalidInputKeepsJodaExceptionInBulk() {
+        DateSamples.useZone("Asia/Shanghai");
+        String[] texts = {"2019-01-05", "2019-1-6", "2019-02-30"};
+        RuntimeException expected = jodaException(texts[2], DatePatternEnum.YYYY_MM_DD);
+        Assert.assertNotNull(expected);
+        try {
+            DateUtils.parseDates(texts, DatePatternEnum.YYYY_MM_DD);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals(expected.getClass(), e.getClass());
+            Assert.assertEquals(expected.getMessage(), e.getMessage());
+        }
+        long[] parsed = DateUtils.parseDates(new String[]{"2019-01-05", "2019-1-6"}, DatePatternEnum.YYYY_MM_DD);
+        Assert.assertEquals(DateUtils.parseMillis("2019-01-05", DatePatternEnum.YYYY_MM_DD), parsed[0]);
+        Assert.assertEquals(jodaMillis("2019-1-6", DatePatternEnum.YYYY_MM_DD), parsed[1]);
+    }
+
+    @Test
+    public void bulkMatchesSingle() {
+        for (String id : DateSamples.ZONES) {
+            DateTimeZone zone = DateSamples.useZone(id);
+            long[] instants = DateSamples.instants(zone, id.hashCode() + 1);
+            List<String> texts = new ArrayList<>();
+            for (long millis : instants) {
+                if (new DateTime(millis).getYear() >= 1000 && new DateTime(millis).getYear() <= 9999) {
+                    texts.add(new DateTime(millis).toString(DateTimeFormat.forPattern(DatePatternEnum.YYYY_MM_DD_HH_MM_SS_SSS.getPattern())));
+                }
+            }
+            String[] array = texts.toArray(new String[0]);
+            long[] serial = DateUtils.parseDates(array, DatePatternEnum.YYYY_MM_DD_HH_MM_SS_SSS);
+            long[] parallel = DateUtils.parseDates(array, DatePatternEnum.YYYY_MM_DD_HH_MM_SS_SSS, true);
+            for (int i = 0; i < array.length; i++) {
+                long expected = jodaMillis(array[i], DatePatternEnum.YYYY_MM_DD_HH_MM_SS_SSS);
+                Assert.assertEquals(id + " " + array[i], expected, serial[i]);
+                Assert.assertEquals(id + " " + array[i], expected, parallel[i]);
+            }
+        }
+    }
+
+    /**
+     * 对比DateUtils、FixedDateParser与Joda的解析结果，Joda抛出异常时DateUtils抛出相同的异常，FixedDateParser返回INVALID
+     *
+     * @return Joda解析的毫秒数，Joda抛出异常时返回{@link FixedDateParser#INVALID}
+     */
+    private static long assertSameAsJoda(String zone, String text, DatePatternEnum pattern) {
+        String message = zone + " " + pattern + " " + text;
+        RuntimeException expected = jodaException(text, pattern);
+        long fixed = FixedDateParser.parse(text, pattern);
+        if (expected != null) {
+            Assert.assertEquals(message, FixedDateParser.INVALID, fixed);
+            try {
+                DateUtils.parseDate(text, pattern);
+                Assert.fail(message);
+            } catch (RuntimeException e) {
+                Assert.assertEquals(message, expected.getClass(), e.getClass());
+                Assert.assertEquals(message, expected.getMessage(), e.getMessage());
+            }
+            return FixedDateParser.INVALID;
+        }
+        long millis = jodaMillis(text, pattern);
+        Assert.assertEquals(message, new Date(millis), DateUtils.parseDate(text, pattern));
+        if (fixed != FixedDateParser.INVALID) {
+            Assert.assertEquals(message, millis, fixed);
+            String padded = "##" + text + "#";
+            Assert.assertEquals(message, millis, FixedDateParser.parse(padded, 2, 2 + text.length(), pattern));
+            byte[] bytes = padded.getBytes(StandardCharsets.UTF_8);
+            Assert.assertEquals(message, millis, FixedDateParser.parse(bytes, 2, bytes.length - 1, pattern));
+        }
+        return millis;
+    }
+
+    private static long jodaMillis(String text, DatePatternEnum pattern) {
+        return DateTime.parse(text, DateTimeFormat.forPattern(pattern.getPattern())).getMillis();
+    }
+
+    private static RuntimeException jodaException(String text, DatePatternEnum pattern) {
+        try {
+            jodaMillis(text, pattern);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.enums.InStrategyEnum;
+import com.zuoy.tools.enums.SqlDialectEnum;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link SqlUtil#getInClause}各构造方式在H2内存数据库上执行的结果
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class InClauseTest {
+
+    private static final int ROWS = 5000;
+
+    private Connection connection;
+
+    @Before
+    public void createTable() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:in_clause");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table item(id bigint primary key)");
+            statement.execute("insert into item select x from system_range(1, " + ROWS + ")");
+            statement.execute("create local temporary table tmp_ids(id bigint)");
+        }
+    }
+
+    @After
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * 每组999个?，最后一组补齐到2的幂，补齐的参数重复最后一个值
+     */
+    @Test
+    public void bindPadsAroundGroupBoundaries() throws SQLException {
+        assertBind(998, 999, 1);
+        assertBind(999, 999, 1);
+        assertBind(1000, 1000, 2);
+        assertBind(1001, 1001, 2);
+        assertBind(1003, 1003, 2);
+        assertBind(1998, 1998, 2);
+        assertBind(1999, 1999, 3);
+        assertBind(5, 8, 1);
+        Set<String> shapes = new HashSet<>();
+        for (int size = 5; size <= 8; size++) {
+            shapes.add(SqlUtil.getInClause(ids(size), "id", InStrategyEnum.BIND).getSql());
+        }
+        Assert.assertEquals(1, shapes.size());
+    }
+
+    @Test
+    public void arrayBindsMixedIntegralValues() throws SQLException {
+        List<Object> values = Arrays.asList(1, 2L, (short) 3, null, 4000L, ROWS + 1);
+        InClause clause = SqlUtil.getInClause(values, "id", InStrategyEnum.ARRAY);
+        Assert.assertEquals(1, clause.getParameterCount());
+        Assert.assertEquals(4, count(clause));
+        Assert.assertEquals(ROWS - 4, count(SqlUtil.getNotInClause(values, "id", InStrategyEnum.ARRAY)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayRejectsMixedTypes() {
+        SqlUtil.getInClause(Arrays.asList(1L, "2"), "id", InStrategyEnum.ARRAY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayRejectsIntegralAndDecimal() {
+        SqlUtil.getInClause(Arrays.asList(1L, new BigDecimal("2.5")), "id", InStrategyEnum.ARRAY);
+    }
+
+    @Test
+    public void valuesMatchesBind() throws SQLException {
+        List<Object> values = new ArrayList<>(ids(300));
+        values.add(ROWS + 1L);
+        InClause clause = SqlUtil.getInClause(values, "id", InStrategyEnum.VALUES);
+        Assert.assertEquals(512, clause.getParameterCount());
+        Assert.assertEquals(300, count(clause));
+        Assert.assertEquals(count(SqlUtil.getInClause(values, "id", InStrategyEnum.BIND)), count(clause));
+        Assert.assertEquals(ROWS - count(clause), count(SqlUtil.getNotInClause(values, "id", InStrategyEnum.VALUES)));
+    }
+
+    @Test
+    public void tempTableIsFilledByPrepare() throws SQLException {
+        List<Object> values = ids(3000);
+        InClause clause = SqlUtil.getInTempTableClause(values, "id", "tmp_ids", "id");
+        Assert.assertEquals(0, clause.getParameterCount());
+        int expected = count(SqlUtil.getInClause(values, "id", InStrategyEnum.BIND));
+        Assert.assertEquals(expected, count(clause));
+        // 再次prepare先清空临时表
+        Assert.assertEquals(expected, count(clause));
+        Assert.assertEquals(ROWS - expected, count(SqlUtil.getNotInTempTableClause(values, "id", "tmp_ids", "id")));
+    }
+
+    @Test
+    public void nullAndEmptyValues() throws SQLException {
+        List<Object> values = Arrays.asList(null, 3L, null, 7L);
+        for (InStrategyEnum strategy : InStrategyEnum.values()) {
+            Assert.assertEquals(strategy.name(), 2, count(SqlUtil.getInClause(values, "id", strategy)));
+            Assert.assertEquals(strategy.name(), ROWS - 2, count(SqlUtil.getNotInClause(values, "id", strategy)));
+            Assert.assertEquals(strategy.name(), 0, count(SqlUtil.getInClause(Arrays.asList(null, null), "id", strategy)));
+            Assert.assertEquals(strategy.name(), ROWS, count(SqlUtil.getNotInClause(Collections.emptyList(), "id", strategy)));
+        }
+        Assert.assertEquals(0, count(SqlUtil.getInClause((List<Object>) null, "id")));
+        Assert.assertEquals(0, count(SqlUtil.getInTempTableClause(Collections.emptyList(), "id", "tmp_ids", "id")));
+    }
+
+    @Test
+    public void dialectChoosesStrategy() {
+        Assert.assertEquals(InStrategyEnum.BIND, SqlUtil.getInClause(ids(999), "id", SqlDialectEnum.POSTGRESQL).getStrategy());
+        Assert.assertEquals(InStrategyEnum.ARRAY, SqlUtil.getInClause(ids(100_000), "id", SqlDialectEnum.POSTGRESQL).getStrategy());
+        Assert.assertEquals(InStrategyEnum.VALUES, SqlUtil.getInClause(ids(1000), "id", SqlDialectEnum.SQLSERVER).getStrategy());
+        Assert.assertEquals(InStrategyEnum.BIND, SqlUtil.getInClause(ids(5000), "id", SqlDialectEnum.ORACLE).getStrategy());
+        Assert.assertEquals(InStrategyEnum.BIND, SqlUtil.getNotInClause(ids(5000), "id", SqlDialectEnum.MYSQL).getStrategy());
+    }
+
+    @Test
+    public void sqlServerParameterLimit() {
+        InClause clause = SqlUtil.getInClause(ids(2100), "id", SqlDialectEnum.SQLSERVER);
+        Assert.assertEquals(2100, clause.getParameterCount());
+        try {
+            SqlUtil.getInClause(ids(2101), "id", SqlDialectEnum.SQLSERVER);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("2100"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void genericParameterLimit() {
+        SqlUtil.getInClause(ids(65_536), "id");
+    }
+
+    private void assertBind(int size, int parameters, int groups) throws SQLException {
+        List<Object> values = ids(size);
+        InClause clause = SqlUtil.getInClause(values, "id", InStrategyEnum.BIND);
+        Assert.assertEquals(parameters, clause.getParameterCount());
+        Assert.assertEquals(groups, clause.getSql().split(" or ").length);
+        Assert.assertEquals(Math.min(size, ROWS), count(clause));
+        InClause notIn = SqlUtil.getNotInClause(values, "id", InStrategyEnum.BIND);
+        Assert.assertEquals(groups, notIn.getSql().split(" and ").length);
+        Assert.assertEquals(ROWS - Math.min(size, ROWS), count(notIn));
+    }
+
+    /**
+     * @return 1到size的值
+     */
+    private static List<Object> ids(int size) {
+        List<Object> ids = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private int count(InClause clause) throws SQLException {
+        clause.prepare(connection);
+        try (PreparedStatement statement = connection.prepareStatement("select count(*) from item where " + clause.getSql())) {
+            clause.bind(statement, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
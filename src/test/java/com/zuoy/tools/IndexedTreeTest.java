@@ -0,0 +1,288 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.tree.TreeNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * {@link IndexedTree}增量维护的结果与{@link TreeNodeUtils#transformToTree(List, Comparator)}重新构建的结果对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class IndexedTreeTest {
+
+    private static final Comparator<Node> COMPARATOR = Comparator.<Node>comparingInt(node -> node.key).thenComparing(node -> node.id);
+
+    private static final int UNIVERSE = 40;
+
+    @Test
+    public void adoptsOrphanAnchoredElsewhere() {
+        Node p = new Node("P", null, "P", 0);
+        Node y = new Node("Y", "X", "Y", 0);
+        IndexedTree<Node> tree = TreeNodeUtils.transformToIndexedTree(new ArrayList<>(Arrays.asList(p, y)), COMPARATOR);
+        tree.insert(new Node("X", "P", "P/X", 0));
+        Assert.assertEquals("P[X[Y]]", dump(tree.snapshot()));
+    }
+
+    @Test
+    public void adoptsPathDescendantsAcrossAnchors() {
+        Node a = new Node("A", null, "A", 0);
+        Node c = new Node("C", "B", "A/B/C", 0);
+        Node d = new Node("D", "C", "A/B/C/D", 0);
+        Node e = new Node("E", "Z", "A/B/E", 0);
+        IndexedTree<Node> tree = TreeNodeUtils.transformToIndexedTree(new ArrayList<>(Arrays.asList(a, c, d, e)), COMPARATOR);
+        Assert.assertEquals("A[C[D]E]", dump(tree.snapshot()));
+        tree.insert(new Node("B", "A", "A/B", 0));
+        Assert.assertEquals("A[B[C[D]E]]", dump(tree.snapshot()));
+        tree.delete("B");
+        Assert.assertEquals("A", dump(tree.snapshot()));
+    }
+
+    @Test
+    public void randomInsertMoveDeleteMatchRebuild() {
+        for (int seed = 0; seed < 40; seed++) {
+            randomOperations(new Random(seed), true, false);
+        }
+    }
+
+    /**
+     * 禁用节点的子孙节点沿祖先节点向上挂载，全路径与父ID一致时与重新构建的结果相同
+     */
+    @Test
+    public void randomEnableDisableMatchRebuild() {
+        for (int seed = 0; seed < 40; seed++) {
+            randomOperations(new Random(seed), false, true);
+        }
+    }
+
+    /**
+     * @param flatPaths 部分节点的全路径只有自身
+     * @param toggle    是否启用、禁用节点
+     */
+    private static void randomOperations(Random random, boolean flatPaths, boolean toggle) {
+        //所有可能出现的节点的父ID和全路径，节点不一定在树中；部分节点的全路径只有自身，父节点不存在时不能按全路径挂载
+        Map<String, String> parents = new HashMap<>();
+        Map<String, String> paths = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        List<String> flat = new ArrayList<>();
+        for (int i = 0; i < UNIVERSE; i++) {
+            String id = "n" + i;
+            String parentId = i < 3 || random.nextInt(8) == 0 ? null : ids.get(random.nextInt(ids.size()));
+            ids.add(id);
+            if (flatPaths && random.nextInt(4) == 0) {
+                flat.add(id);
+            }
+            parents.put(id, parentId);
+            paths.put(id, pathOf(id, parentId, paths, flat));
+        }
+        Map<String, Node> present = new LinkedHashMap<>();
+        for (String id : ids) {
+            if (random.nextInt(3) == 0) {
+                present.put(id, new Node(id, parents.get(id), paths.get(id), random.nextInt(5)));
+            }
+        }
+        IndexedTree<Node> tree = TreeNodeUtils.transformToIndexedTree(new ArrayList<>(present.values()), COMPARATOR);
+        assertTree(tree, present);
+        for (int step = 0; step < 300; step++) {
+            String id = ids.get(random.nextInt(ids.size()));
+            Node node = present.get(id);
+            int operation = random.nextInt(10);
+            if (node == null) {
+                node = new Node(id, parents.get(id), paths.get(id), random.nextInt(5));
+                present.put(id, node);
+                tree.insert(node, !toggle || random.nextInt(5) != 0);
+            } else if (operation < 3) {
+                tree.delete(id);
+                present.keySet().removeIf(key -> tree.get(key) == null);
+            } else if (operation < 6) {
+                move(random, tree, present, ids, parents, paths, flat, node);
+            } else if (operation < 8 || !toggle) {
+                Node copy = new Node(id, node.parentId, node.path, random.nextInt(5));
+                present.put(id, copy);
+                tree.move(copy);
+            } else if (tree.isEnabled(id)) {
+                tree.disable(id);
+            } else {
+                tree.enable(id);
+            }
+            assertTree(tree, present);
+        }
+    }
+
+    /**
+     * 修改父ID后同步修改所有子孙节点的全路径，在树中的子孙节点按从上到下的顺序重新挂载
+     */
+    private static void move(Random random, IndexedTree<Node> tree, Map<String, Node> present, List<String> ids,
+                             Map<String, String> parents, Map<String, String> paths, List<String> flat, Node node) {
+        List<String> subtree = new ArrayList<>(Collections.singletonList(node.id));
+        for (int i = 0; i < subtree.size(); i++) {
+            for (String id : ids) {
+                if (subtree.get(i).equals(parents.get(id))) {
+                    subtree.add(id);
+                }
+            }
+        }
+        List<String> targets = new ArrayList<>();
+        for (String id : ids) {
+            if (!subtree.contains(id)) {
+                targets.add(id);
+            }
+        }
+        String parentId = targets.isEmpty() || random.nextInt(6) == 0 ? null : targets.get(random.nextInt(targets.size()));
+        parents.put(node.id, parentId);
+        for (String id : subtree) {
+            String parent = parents.get(id);
+            paths.put(id, pathOf(id, parent, paths, flat));
+            Node descendant = present.get(id);
+            if (descendant != null) {
+                descendant.parentId = parent;
+                descendant.path = paths.get(id);
+            }
+        }
+        for (String id : subtree) {
+            Node descendant = present.get(id);
+            if (descendant != null) {
+                tree.move(descendant);
+            }
+        }
+    }
+
+    private static String pathOf(String id, String parentId, Map<String, String> paths, List<String> flat) {
+        return parentId == null || flat.contains(id) ? id : paths.get(parentId) + "/" + id;
+    }
+
+    /**
+     * 与只包含启用节点的重新构建结果一致，层级和叶子节点标识正确
+     */
+    private static void assertTree(IndexedTree<Node> tree, Map<String, Node> present) {
+        List<Node> enabled = new ArrayList<>();
+        for (Node node : present.values()) {
+            Assert.assertSame(node, tree.get(node.id));
+            if (tree.isEnabled(node.id)) {
+                enabled.add(new Node(node.id, node.parentId, node.path, node.key));
+            }
+        }
+        Assert.assertEquals(present.size(), tree.size());
+        List<Node> expected = TreeNodeUtils.transformToTree(enabled, COMPARATOR);
+        //transformToTree不对只有一个孩子的节点继续向下排序，IndexedTree的所有孩子集合都有序
+        sortAll(expected);
+        Assert.assertEquals(dump(expected), dump(tree.snapshot()));
+        assertLevels(tree.snapshot(), 0);
+    }
+
+    private static void sortAll(List<Node> nodes) {
+        nodes.sort(COMPARATOR);
+        for (Node node : nodes) {
+            if (node.children != null) {
+                sortAll(node.children);
+            }
+        }
+    }
+
+    private static void assertLevels(List<Node> nodes, int level) {
+        for (Node node : nodes) {
+            Assert.assertEquals(Integer.valueOf(level), node.level);
+            boolean leaf = node.children == null || node.children.isEmpty();
+            Assert.assertEquals(leaf, node.leaf);
+            if (!leaf) {
+                assertLevels(node.children, level + 1);
+            }
+        }
+    }
+
+    private static String dump(List<Node> nodes) {
+        StringBuilder builder = new StringBuilder();
+        for (Node node : nodes) {
+            builder.append(node.id);
+            if (node.children != null && !node.children.isEmpty()) {
+                builder.append('[').append(dump(node.children)).append(']');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static final class Node implements TreeNode<Node> {
+
+        private final String id;
+
+        private final int key;
+
+        private String parentId;
+
+        private String path;
+
+        private List<Node> children;
+
+        private Integer level;
+
+        private Boolean leaf;
+
+        private Node(String id, String parentId, String path, int key) {
+            this.id = id;
+            this.parentId = parentId;
+            this.path = path;
+            this.key = key;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public void setChildren(List<Node> children) {
+            this.children = children;
+        }
+
+        @Override
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        @Override
+        public void setLevel(Integer level) {
+            this.level = level;
+        }
+
+        @Override
+        public Integer getLevel() {
+            return level;
+        }
+
+        @Override
+        public void setIsLeaf(Boolean isLeaf) {
+            this.leaf = isLeaf;
+        }
+
+        @Override
+        public Boolean getIsLeaf() {
+            return leaf;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getSplit() {
+            return "/";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.zuoy.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * {@link IrreversibleCypherUtil#encodeToString(String)}与原实现的结果对比，期望值由原实现逐轮使用String计算生成
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class IrreversibleCypherUtilTest {
+
+    /**
+     * 输入、hashCode、原实现的结果，覆盖ASCII、非ASCII、负数和Integer.MIN_VALUE的hashCode，奇数和偶数加密次数
+     */
+    private static final String[][] GOLDEN = {
+            {"a", "97", "MWVlYzQ4NDdlM2U3YzEwNzBhNmEyYjYzNmJhODcwN2E="},
+            {"ab", "3105", "b12d18d506b5ad26f827cff38aff0951"},
+            {"admin", "92668751", "NWU5NDE0Y2Y0ODc3MmQ5YmJlZDBkNzgxYjg0ZjBiMDg="},
+            {"password", "1216985755", "MGZkMmU3NDQwYjEyNzNhMTdjMWMyODM4ZTUzNjVkYjk="},
+            {"P@ssw0rd-2026", "-1227220812", "Mzc4OWM2YWFmMmFkMWVhM2JmYmFjOGNjNmRhYWRlY2I="},
+            {"123456", "1450575459", "0ce3a95afa7a47d878a19c4a38613370"},
+            {"zuoy", "3750501", "MTYxNTI4ODU3YTNlZDEyMzZjMWZiYWFkOTI0YWZhYTQ="},
+            {"The quick brown fox jumps over the lazy dog", "-609428141", "d67d2336b26c289a4aa3ffc30f88073d"},
+            {"密码", "759035", "30e6d90d7c1d90353cb9908474658797"},
+            {"管理员123", "-2145153825", "721229f7b4f3daa1970ae40cb8ecb87a"},
+            {"äöüß", "7036789", "de7a0abcab8e1761e504818bd24d8bf6"},
+            {"😀smile", "-1220768891", "MDU2ZDQ1N2FiYmQwYTQ4MzlhNDRlMGU4OTM4YzJlNzQ="},
+            {"polygenelubricants", "-2147483648", "0ffdf6222c8ee3e5af2da5f3dcaa5f4b"},
+            {"\t\n", "289", "Nzg4ZGRhODdiOTdhOGM5NDNlMTEyNDVjNWYzMTk1NDM="},
+            {"\n", "10", "862c9886aafc51a6c55682e17beb791d"},
+            {"0123456789abcdef0123456789abcdef", "-1783317168", "ODUxNmFjOTlkYzYwNjAzMjk1ZGU3YmRiNmExNTM1MzA="},
+    };
+
+    @Test
+    public void matchesLegacyOutput() {
+        for (String[] golden : GOLDEN) {
+            Assert.assertEquals(golden[0], Integer.parseInt(golden[1]), golden[0].hashCode());
+            Assert.assertEquals(golden[0], golden[2], IrreversibleCypherUtil.encodeToString(golden[0]));
+        }
+    }
+
+    @Test
+    public void batchMatchesSingle() {
+        String[] values = new String[600];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = GOLDEN[i % GOLDEN.length][0];
+        }
+        String[] result = IrreversibleCypherUtil.encodeToString(Arrays.asList(values));
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(GOLDEN[i % GOLDEN.length][2], result[i]);
+        }
+        Assert.assertArrayEquals(result, IrreversibleCypherUtil.encodeToString(Arrays.stream(values)));
+    }
+
+    /**
+     * hashCode为0-9时原实现解析空字符串抛出NumberFormatException，空字符串的hashCode为0
+     */
+    @Test
+    public void singleDigitHashThrows() {
+        for (int hash = 0; hash < 10; hash++) {
+            String value = hash == 0 ? "" : String.valueOf((char) hash);
+            Assert.assertEquals(hash, value.hashCode());
+            try {
+                IrreversibleCypherUtil.encodeToString(value);
+                Assert.fail("hash " + hash);
+            } catch (NumberFormatException e) {
+                Assert.assertEquals("For input string: \"\"", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void encodeCount() {
+        Assert.assertEquals(2, IrreversibleCypherUtil.getEncodeCount(Integer.MIN_VALUE));
+        Assert.assertEquals(5, IrreversibleCypherUtil.getEncodeCount(-9));
+        Assert.assertEquals(6, IrreversibleCypherUtil.getEncodeCount(10));
+        Assert.assertEquals(50, IrreversibleCypherUtil.getEncodeCount(99));
+        Assert.assertEquals(11, IrreversibleCypherUtil.getEncodeCount(Integer.MAX_VALUE));
+    }
+}
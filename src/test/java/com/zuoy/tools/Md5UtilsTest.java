@@ -0,0 +1,151 @@
+package com.zuoy.tools;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * {@link Md5Utils}分段UTF-8编码和树形摘要与JDK结果的对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class Md5UtilsTest {
+
+    /**
+     * 与Md5Utils的编码缓冲区大小一致
+     */
+    private static final int ENCODE_BUFFER_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void updateUtf8MatchesGetBytes() {
+        Random random = new Random(21);
+        for (int i = 0; i < 200; i++) {
+            String text = randomText(random, random.nextInt(6000));
+            for (int bufferSize : new int[]{4, 5, 7, 64, ENCODE_BUFFER_SIZE}) {
+                assertUtf8(text, bufferSize);
+            }
+        }
+    }
+
+    /**
+     * 代理对以及不成对的代理字符位于编码缓冲区的边界
+     */
+    @Test
+    public void surrogatesAtBufferEdge() {
+        String[] tails = {"\uD83D\uDE00", "\uD83D", "\uDE00", "\uDE00\uD83D", "\uD83D\uD83D\uDE00", "é\uD83D\uDE00", "中\uD83D"};
+        for (int prefix = ENCODE_BUFFER_SIZE - 8; prefix <= ENCODE_BUFFER_SIZE + 4; prefix++) {
+            char[] ascii = new char[prefix];
+            Arrays.fill(ascii, 'a');
+            for (String tail : tails) {
+                String text = new String(ascii) + tail + "b" + tail;
+                assertUtf8(text, ENCODE_BUFFER_SIZE);
+                assertUtf8(new String(ascii) + tail, ENCODE_BUFFER_SIZE);
+                Assert.assertEquals(text, md5Hex(text.getBytes(StandardCharsets.UTF_8)), Md5Utils.encode(text));
+            }
+        }
+    }
+
+    /**
+     * 超过直接编码长度的字符串使用分段编码，结果与String.getBytes(UTF_8)一致
+     */
+    @Test
+    public void longStringsMatchGetBytes() {
+        Random random = new Random(1024);
+        String[] values = new String[64];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomText(random, 1000 + random.nextInt(9000));
+            String expected = md5Hex(values[i].getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals(expected, Md5Utils.encode(values[i]));
+            Assert.assertArrayEquals(md5(values[i].getBytes(StandardCharsets.UTF_8)), Md5Utils.digest(values[i]));
+        }
+        String[] hex = Md5Utils.encodeAll(values);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(md5Hex(values[i].getBytes(StandardCharsets.UTF_8)), hex[i]);
+        }
+    }
+
+    @Test
+    public void digestTreeOfEmptyFile() throws IOException {
+        Path file = folder.newFile("empty").toPath();
+        byte[] expected = md5(md5(new byte[0]));
+        Assert.assertArrayEquals(expected, Md5Utils.digestTree(file));
+        Assert.assertArrayEquals(expected, Md5Utils.digestTree(file, 1));
+        Assert.assertEquals(String.format("%032x", new BigInteger(1, expected)), Md5Utils.encodeTree(file));
+    }
+
+    /**
+     * 最后一段较短、正好整除、只有一段的文件
+     */
+    @Test
+    public void digestTreeSegments() throws IOException {
+        Random random = new Random(5);
+        byte[] content = new byte[100_000];
+        random.nextBytes(content);
+        Path file = folder.newFile("content").toPath();
+        Files.write(file, content);
+        for (long segmentSize : new long[]{4096, 25_000, 33_333, 99_999, 100_000, 100_001, 1L << 30}) {
+            Assert.assertArrayEquals(String.valueOf(segmentSize), treeDigest(content, (int) Math.min(segmentSize, Integer.MAX_VALUE)),
+                    Md5Utils.digestTree(file, segmentSize));
+        }
+        Assert.assertArrayEquals(md5(md5(content)), Md5Utils.digestTree(file));
+    }
+
+    private static void assertUtf8(String text, int bufferSize) {
+        MessageDigest digest = Md5Utils.newDigest();
+        Md5Utils.updateUtf8(digest, text, new byte[bufferSize]);
+        Assert.assertArrayEquals(text.length() + " " + bufferSize, md5(text.getBytes(StandardCharsets.UTF_8)), digest.digest());
+    }
+
+    /**
+     * ASCII、双字节、三字节、代理对以及不成对的代理字符混合的字符串
+     */
+    private static String randomText(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            int kind = random.nextInt(10);
+            if (kind < 4) {
+                builder.append((char) ('!' + random.nextInt(90)));
+            } else if (kind < 6) {
+                builder.append((char) (0x80 + random.nextInt(0x780)));
+            } else if (kind < 8) {
+                builder.append((char) (0x800 + random.nextInt(0xd000 - 0x800)));
+            } else if (kind == 8) {
+                builder.appendCodePoint(0x10000 + random.nextInt(0x100000));
+            } else {
+                builder.append((char) (0xd800 + random.nextInt(0x800)));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static byte[] treeDigest(byte[] content, int segmentSize) {
+        MessageDigest digest = Md5Utils.newDigest();
+        for (int position = 0; position < content.length; position += segmentSize) {
+            int length = Math.min(segmentSize, content.length - position);
+            digest.update(md5(Arrays.copyOfRange(content, position, position + length)));
+        }
+        return digest.digest();
+    }
+
+    private static byte[] md5(byte[] bytes) {
+        return Md5Utils.newDigest().digest(bytes);
+    }
+
+    private static String md5Hex(byte[] bytes) {
+        return String.format("%032x", new BigInteger(1, md5(bytes)));
+    }
+}
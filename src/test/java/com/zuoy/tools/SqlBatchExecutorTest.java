@@ -0,0 +1,144 @@
+package com.zuoy.tools;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link SqlBatchExecutor}在H2内存数据库上分块查询和更新
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class SqlBatchExecutorTest {
+
+    private static final AtomicInteger DATABASE_NUMBER = new AtomicInteger();
+
+    private JdbcDataSource dataSource;
+
+    private Connection keepAlive;
+
+    private SqlBatchExecutor executor;
+
+    @Before
+    public void createTable() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batch" + DATABASE_NUMBER.incrementAndGet());
+        keepAlive = dataSource.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("create table item(id bigint primary key, name varchar(20), status int)");
+            statement.execute("insert into item select x, 'n' || x, 0 from system_range(1, 1000)");
+        }
+        executor = SqlUtil.batchExecutor(dataSource, 100, 3);
+    }
+
+    @After
+    public void close() throws SQLException {
+        executor.close();
+        keepAlive.close();
+    }
+
+    @Test
+    public void queryJoinsAllChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1200; id += 2) {
+            ids.add(id);
+        }
+        ids.add(null);
+        try (Stream<Long> rows = executor.query("select id from item where status = ? and " + SqlBatchExecutor.IN_PLACEHOLDER + " and id > ?",
+                "id", ids, resultSet -> resultSet.getLong(1), 0, 10)) {
+            List<Long> result = rows.sorted().collect(Collectors.toList());
+            Assert.assertEquals(495, result.size());
+            Assert.assertEquals(Long.valueOf(11), result.get(0));
+            Assert.assertEquals(Long.valueOf(999), result.get(result.size() - 1));
+        }
+    }
+
+    @Test
+    public void updateReturnsTotalCount() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 500; id <= 1500; id++) {
+            ids.add(id);
+        }
+        Assert.assertEquals(501, executor.update("update item set status = ? where " + SqlBatchExecutor.IN_PLACEHOLDER, "id", ids, 1));
+        try (Stream<String> rows = executor.query("select name from item where status = ? and " + SqlBatchExecutor.IN_PLACEHOLDER,
+                "id", Arrays.asList(499, 500, 1000), resultSet -> resultSet.getString(1), 1)) {
+            Assert.assertEquals(Arrays.asList("n1000", "n500"), rows.sorted().collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * 字符串、带引号的标识符和注释中的?不是绑定参数
+     */
+    @Test
+    public void questionMarksOutsideParametersAreSkipped() {
+        String sql = "select id from item /* ? */ where name <> 'a?''?' and \"NAME\" <> ? -- ?\n and "
+                + SqlBatchExecutor.IN_PLACEHOLDER + " and status = ?";
+        try (Stream<Long> rows = executor.query(sql, "id", Arrays.asList(1L, 2L, 3L), resultSet -> resultSet.getLong(1), "n2", 0)) {
+            Assert.assertEquals(Arrays.asList(1L, 3L), rows.sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void countParameters() {
+        Assert.assertEquals(2, SqlBatchExecutor.countParameters("select * from t where a = ? and b = ?"));
+        Assert.assertEquals(1, SqlBatchExecutor.countParameters("select * from t where 'it''s ?' <> ? "));
+        Assert.assertEquals(1, SqlBatchExecutor.countParameters("select * from t where data ?? 'a' and data ?| array['b'] and data ?& x and c = ?"));
+        Assert.assertEquals(0, SqlBatchExecutor.countParameters("select `?`, \"?\" from t /* ? */ -- ?"));
+        Assert.assertEquals(1, SqlBatchExecutor.countParameters("select 1 -- ?\nfrom t where a = ?"));
+    }
+
+    /**
+     * 值集合按块逐步读取，只读取第一行时不会读取全部的值
+     */
+    @Test
+    public void chunksAreReadLazily() {
+        AtomicInteger read = new AtomicInteger();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            ids.add(id);
+        }
+        AbstractCollection<Long> counting = new AbstractCollection<Long>() {
+            @Override
+            public Iterator<Long> iterator() {
+                Iterator<Long> iterator = ids.iterator();
+                return new Iterator<Long>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Long next() {
+                        read.incrementAndGet();
+                        return iterator.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ids.size();
+            }
+        };
+        try (Stream<Long> rows = executor.query("select id from item where " + SqlBatchExecutor.IN_PLACEHOLDER,
+                "id", counting, resultSet -> resultSet.getLong(1))) {
+            Assert.assertTrue(rows.findFirst().isPresent());
+        }
+        Assert.assertTrue("read " + read.get(), read.get() <= 4 * 100);
+    }
+}
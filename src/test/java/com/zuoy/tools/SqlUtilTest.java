@@ -0,0 +1,40 @@
+package com.zuoy.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * {@link SqlUtil}去重的in()查询条件
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class SqlUtilTest {
+
+    @Test
+    public void distinctMixedNumericTypes() {
+        Assert.assertEquals("( f in ( 1,'a''b' ))",
+                SqlUtil.getDistinctInSql(Arrays.asList(1, 1L, new BigDecimal("1"), "a'b"), "f", false));
+        Assert.assertEquals("( f in ( 1,2.5 ))",
+                SqlUtil.getDistinctInSql(Arrays.asList(1, new BigDecimal("1.00"), BigInteger.ONE, 2.5, new BigDecimal("2.50")), "f", false));
+    }
+
+    @Test
+    public void distinctIntegralBigNumbersUseLongs() {
+        Assert.assertEquals("( f in ( 2,3,10 ))",
+                SqlUtil.getDistinctInSql(Arrays.asList(3, new BigDecimal("1E+1"), BigInteger.valueOf(2), 10L, (short) 3), "f", true));
+        Assert.assertEquals("( f not in ( 9223372036854775808,9223372036854775807 ))",
+                SqlUtil.getDistinctNotInSql(Arrays.asList(new BigInteger("9223372036854775808"), Long.MAX_VALUE,
+                        new BigDecimal("9223372036854775807.0")), "f", false));
+    }
+
+    @Test
+    public void distinctSortedMixedNumbers() {
+        Assert.assertEquals("( f in ( 0.50,1,2.5,99999999999999999999 ))",
+                SqlUtil.getDistinctInSql(Arrays.asList(new BigInteger("99999999999999999999"), 2.5f, 1L, new BigDecimal("0.50"), 1), "f", true));
+    }
+}
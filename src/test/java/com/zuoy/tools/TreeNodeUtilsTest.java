@@ -0,0 +1,202 @@
+package com.zuoy.tools;
+
+import com.zuoy.tools.tree.TreeNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link TreeNodeUtils#transformToTreeParallel(List, Comparator)}与{@link TreeNodeUtils#transformToTree(List, Comparator)}的结果对比
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class TreeNodeUtilsTest {
+
+    /**
+     * 超过并行构建的阈值
+     */
+    private static final int SIZE = 20_000;
+
+    private static final Comparator<Node> COMPARATOR = Comparator.comparingInt(node -> node.key);
+
+    @Test
+    public void parallelMatchesSerial() {
+        for (int seed = 0; seed < 4; seed++) {
+            assertSameTree(seed, null);
+        }
+    }
+
+    @Test
+    public void parallelMatchesSerialWithComparator() {
+        for (int seed = 0; seed < 4; seed++) {
+            assertSameTree(seed, COMPARATOR);
+        }
+    }
+
+    @Test
+    public void parallelAcceptsLinkedList() {
+        List<Node> serial = generate(new Random(7));
+        List<Node> parallel = copy(serial);
+        List<Node> serialRoots = TreeNodeUtils.transformToTree(new LinkedList<>(serial), COMPARATOR);
+        List<Node> parallelRoots = TreeNodeUtils.transformToTreeParallel(new LinkedList<>(parallel), COMPARATOR);
+        assertSameStructure("linked", serial, serialRoots, parallel, parallelRoots);
+    }
+
+    private static void assertSameTree(int seed, Comparator<Node> comparator) {
+        List<Node> serial = generate(new Random(seed));
+        List<Node> parallel = copy(serial);
+        List<Node> serialRoots = TreeNodeUtils.transformToTree(serial, comparator);
+        List<Node> parallelRoots = TreeNodeUtils.transformToTreeParallel(parallel, comparator);
+        assertSameStructure("seed " + seed, serial, serialRoots, parallel, parallelRoots);
+    }
+
+    /**
+     * 顶级节点以及每个节点的孩子节点按顺序一致，包括ID重复和父子关系成环而不在树中的节点
+     */
+    private static void assertSameStructure(String message, List<Node> serial, List<Node> serialRoots,
+                                            List<Node> parallel, List<Node> parallelRoots) {
+        Assert.assertEquals(message, sequences(serialRoots), sequences(parallelRoots));
+        for (int i = 0; i < serial.size(); i++) {
+            List<Node> expected = serial.get(i).children;
+            List<Node> actual = parallel.get(i).children;
+            Assert.assertEquals(message + " " + serial.get(i).id, expected == null, actual == null);
+            if (expected != null) {
+                Assert.assertEquals(message + " " + serial.get(i).id, sequences(expected), sequences(actual));
+            }
+        }
+    }
+
+    /**
+     * 先生成一棵全路径与父ID一致的树，再制造父节点缺失、父ID为空、父ID为自身、ID重复和父子关系成环的节点
+     */
+    private static List<Node> generate(Random random) {
+        List<String> ids = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            int parent = i < 10 || random.nextInt(20) == 0 ? -1 : random.nextInt(i);
+            String id = i > 100 && random.nextInt(50) == 0 ? ids.get(random.nextInt(i)) : "n" + i;
+            String path = parent < 0 ? id : paths.get(parent) + "/" + id;
+            ids.add(id);
+            paths.add(path);
+            String parentId = parent < 0 ? null : ids.get(parent);
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                //父节点不在集合中，按全路径挂载到最近的祖先节点
+                parentId = "missing" + i;
+            } else if (kind == 1) {
+                parentId = null;
+            } else if (kind == 2) {
+                parentId = id;
+            } else if (kind == 3) {
+                //任意节点作为父节点，包括之后的节点，可能成环
+                parentId = "n" + random.nextInt(SIZE);
+            }
+            Node node = new Node(i, id, parentId, path, random.nextInt(8));
+            //部分节点不在集合中，子孙节点的全路径中出现空缺
+            if (random.nextInt(10) != 0) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private static List<Node> copy(List<Node> nodes) {
+        List<Node> copies = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            copies.add(new Node(node.seq, node.id, node.parentId, node.path, node.key));
+        }
+        return copies;
+    }
+
+    private static List<Integer> sequences(List<Node> nodes) {
+        List<Integer> sequences = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            sequences.add(node.seq);
+        }
+        return sequences;
+    }
+
+    private static final class Node implements TreeNode<Node> {
+
+        private final int seq;
+
+        private final String id;
+
+        private final String parentId;
+
+        private final String path;
+
+        private final int key;
+
+        private List<Node> children;
+
+        private Integer level;
+
+        private Boolean leaf;
+
+        private Node(int seq, String id, String parentId, String path, int key) {
+            this.seq = seq;
+            this.id = id;
+            this.parentId = parentId;
+            this.path = path;
+            this.key = key;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public void setChildren(List<Node> children) {
+            this.children = children;
+        }
+
+        @Override
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        @Override
+        public void setLevel(Integer level) {
+            this.level = level;
+        }
+
+        @Override
+        public Integer getLevel() {
+            return level;
+        }
+
+        @Override
+        public void setIsLeaf(Boolean isLeaf) {
+            this.leaf = isLeaf;
+        }
+
+        @Override
+        public Boolean getIsLeaf() {
+            return leaf;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getSplit() {
+            return "/";
+        }
+    }
+}
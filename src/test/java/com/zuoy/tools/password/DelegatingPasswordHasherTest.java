@@ -0,0 +1,48 @@
+package com.zuoy.tools.password;
+
+import com.zuoy.tools.IrreversibleCypherUtil;
+import com.zuoy.tools.PasswordUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 旧散列和迭代次数较低的PBKDF2散列在登录时升级
+ *
+ * @author zuoy
+ * @since 2026-10-18
+ */
+public class DelegatingPasswordHasherTest {
+
+    private static final String PASSWORD = "P@ssw0rd-2026";
+
+    @Test
+    public void legacyHashAlwaysNeedsRehash() {
+        LegacyPasswordHasher legacy = PasswordUtils.legacy();
+        String hashed = IrreversibleCypherUtil.encodeToString(PASSWORD);
+        Assert.assertTrue(legacy.supports(hashed));
+        Assert.assertTrue(legacy.matches(PASSWORD, hashed));
+        Assert.assertTrue(legacy.needsRehash(hashed));
+        Assert.assertTrue(legacy.needsRehash(IrreversibleCypherUtil.encodeToString("ab")));
+    }
+
+    @Test
+    public void verifyAndRehashUpgradesLegacyHash() {
+        DelegatingPasswordHasher hasher = PasswordUtils.pbkdf2WithLegacy(Pbkdf2PasswordHasher.MIN_ITERATIONS);
+        AtomicReference<String> rehashed = new AtomicReference<>();
+        Assert.assertTrue(hasher.verifyAndRehash(PASSWORD, IrreversibleCypherUtil.encodeToString(PASSWORD), rehashed::set));
+        Assert.assertTrue(rehashed.get().startsWith(Pbkdf2PasswordHasher.PREFIX));
+        Assert.assertTrue(hasher.matches(PASSWORD, rehashed.get()));
+        Assert.assertFalse(hasher.needsRehash(rehashed.get()));
+        Assert.assertFalse(hasher.verifyAndRehash("wrong", rehashed.get(), value -> Assert.fail()));
+    }
+
+    @Test
+    public void lowerIterationsNeedRehash() {
+        String hashed = PasswordUtils.pbkdf2(Pbkdf2PasswordHasher.MIN_ITERATIONS).hash(PASSWORD);
+        DelegatingPasswordHasher hasher = PasswordUtils.pbkdf2WithLegacy(Pbkdf2PasswordHasher.MIN_ITERATIONS * 2);
+        Assert.assertTrue(hasher.matches(PASSWORD, hashed));
+        Assert.assertTrue(hasher.needsRehash(hashed));
+    }
+}